@@ -0,0 +1,229 @@
+package cn.dengdz.hbaseclient.load;
+
+import cn.dengdz.hbaseclient.HBaseClientApplication;
+import cn.dengdz.hbaseclient.benchmark.BenchmarkData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.HBaseTestingUtility;
+import org.apache.hadoop.hbase.StartMiniClusterOption;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.ColumnFamilyDescriptorBuilder;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.TableDescriptorBuilder;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 端到端压测：启动进程内 HBase mini-cluster，预置数据，启动应用后按配比并发调用 REST 接口，
+ * 输出各接口吞吐和 p50/p99/p999 延迟。
+ *
+ * 指定 rate 时按固定间隔发送请求（开环），延迟从计划发送时间算起，避免服务变慢时压测端同步降速而低估尾延迟。
+ */
+public final class LoadHarness {
+
+    static final String DATA_SOURCE = "load";
+    private static final long SEED = 20211001L;
+
+    private LoadHarness() {
+    }
+
+    static String tableName(int index) {
+        return "load_" + index;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        // HttpURLConnection 默认每个地址只保留 5 个空闲连接
+        System.setProperty("http.maxConnections", String.valueOf(options.concurrency));
+
+        HBaseTestingUtility cluster = startCluster(options);
+        ConfigurableApplicationContext application = null;
+        try {
+            seed(cluster, options);
+            application = startApplication(cluster);
+            String baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+            connect(baseUrl, cluster, options);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("options", options.toMap());
+            result.put("operations", run(new Workload(baseUrl, options), options));
+            print(result);
+            ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            File output = new File(options.output);
+            if (output.getParentFile() != null) {
+                output.getParentFile().mkdirs();
+            }
+            objectMapper.writeValue(output, result);
+            System.out.println("结果已写入 " + output.getAbsolutePath());
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+            cluster.shutdownMiniCluster();
+        }
+    }
+
+    /**
+     * 只启动 ZooKeeper 和 HBase，根目录放在本地文件系统，不启动 HDFS。
+     */
+    private static HBaseTestingUtility startCluster(LoadOptions options) throws Exception {
+        HBaseTestingUtility cluster = new HBaseTestingUtility();
+        Configuration conf = cluster.getConfiguration();
+        conf.setInt("hbase.master.info.port", -1);
+        conf.setInt("hbase.regionserver.info.port", -1);
+        conf.setBoolean("hbase.unsafe.stream.capability.enforce", false);
+        conf.set("hbase.wal.provider", "filesystem");
+        cluster.startMiniZKCluster();
+        cluster.startMiniHBaseCluster(StartMiniClusterOption.builder()
+                .numRegionServers(options.regionServers)
+                .createRootDir(true)
+                .build());
+        return cluster;
+    }
+
+    private static void seed(HBaseTestingUtility cluster, LoadOptions options) throws Exception {
+        byte[][] splits = new byte[Math.max(0, options.regions - 1)][];
+        for (int i = 0; i < splits.length; i++) {
+            splits[i] = Bytes.toBytes(BenchmarkData.rowKey((int) ((long) options.rows * (i + 1) / options.regions)));
+        }
+        Random random = new Random(SEED);
+        for (int t = 0; t < options.tables; t++) {
+            TableName tableName = TableName.valueOf(tableName(t));
+            cluster.getAdmin().createTable(TableDescriptorBuilder.newBuilder(tableName)
+                    .setColumnFamily(ColumnFamilyDescriptorBuilder.of(BenchmarkData.FAMILY))
+                    .build(), splits);
+            try (BufferedMutator mutator = cluster.getConnection().getBufferedMutator(tableName)) {
+                for (int i = 0; i < options.rows; i++) {
+                    String rowKey = BenchmarkData.rowKey(i);
+                    Result row = BenchmarkData.row(rowKey, options.columns, options.valueBytes, random);
+                    Put put = new Put(row.getRow());
+                    for (Cell cell : row.rawCells()) {
+                        put.add(cell);
+                    }
+                    mutator.mutate(put);
+                }
+            }
+            System.out.printf("表 %s 已写入 %d 行%n", tableName, options.rows);
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(HBaseTestingUtility cluster) throws Exception {
+        Path configPath = Files.createTempDirectory("hbase-client-load");
+        Path dir = Files.createDirectories(configPath.resolve(DATA_SOURCE));
+        Files.write(dir.resolve("core-site.xml"), "<configuration/>\n".getBytes(StandardCharsets.UTF_8));
+        try (OutputStream out = Files.newOutputStream(dir.resolve("hbase-site.xml"))) {
+            cluster.getConfiguration().writeXml(out);
+        }
+        return new SpringApplicationBuilder(HBaseClientApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run("--server.port=0",
+                        "--storage.config-path=" + configPath,
+                        "--logging.level.root=WARN");
+    }
+
+    private static void connect(String baseUrl, HBaseTestingUtility cluster, LoadOptions options) throws Exception {
+        String host = "localhost:" + cluster.getZkCluster().getClientPort();
+        byte[] body = ("{\"host\":\"" + host + "\"}").getBytes(StandardCharsets.UTF_8);
+        int status = new Workload(baseUrl, options)
+                .send("POST", "/api/datasource/" + DATA_SOURCE + "/connect", body);
+        if (status != 200) {
+            throw new IllegalStateException("应用连接 mini-cluster 失败，HTTP " + status);
+        }
+    }
+
+    private static Map<String, Object> run(Workload workload, LoadOptions options) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = measureStart + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        // 开环模式下每个线程的发送间隔
+        long intervalNanos = options.rate > 0
+                ? TimeUnit.SECONDS.toNanos(1) * options.concurrency / options.rate : 0;
+
+        List<LoadReport> reports = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(options.concurrency);
+        for (int w = 0; w < options.concurrency; w++) {
+            LoadReport report = new LoadReport();
+            reports.add(report);
+            Random random = new Random(SEED + w);
+            // 错开各线程的首次发送时间，避免开环模式下请求成批到达
+            long offset = intervalNanos * w / options.concurrency;
+            Thread worker = new Thread(() -> {
+                try {
+                    long intended = start + offset;
+                    while (true) {
+                        if (intervalNanos > 0) {
+                            long wait = intended - System.nanoTime();
+                            if (wait > 0) {
+                                LockSupport.parkNanos(wait);
+                            }
+                        } else {
+                            intended = System.nanoTime();
+                        }
+                        if (intended >= end) {
+                            break;
+                        }
+                        Operation operation = workload.pick(random);
+                        boolean success;
+                        try {
+                            int status = workload.execute(operation, random);
+                            success = status >= 200 && status < 300;
+                        } catch (Exception e) {
+                            success = false;
+                        }
+                        if (intended >= measureStart) {
+                            report.record(operation, System.nanoTime() - intended, success);
+                        }
+                        intended += intervalNanos;
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-worker-" + w);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        System.out.printf("预热 %d 秒，测量 %d 秒，并发 %d%s%n", options.warmupSeconds, options.durationSeconds,
+                options.concurrency, options.rate > 0 ? "，目标 " + options.rate + " 请求/秒" : "");
+        done.await();
+
+        LoadReport total = new LoadReport();
+        reports.forEach(total::merge);
+        return total.summarize(options.durationSeconds);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> result) {
+        Map<String, Object> operations = (Map<String, Object>) result.get("operations");
+        System.out.printf("%n%-12s %10s %8s %12s %10s %10s %10s %10s%n",
+                "operation", "count", "errors", "ops/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        operations.forEach((name, value) -> {
+            Map<String, Object> stats = (Map<String, Object>) value;
+            System.out.printf("%-12s %10d %8d %12.1f %10.3f %10.3f %10.3f %10.3f%n", name,
+                    stats.get("count"), stats.get("errors"), stats.get("throughput"),
+                    stats.get("p50Ms"), stats.get("p99Ms"), stats.get("p999Ms"), stats.get("maxMs"));
+        });
+    }
+}
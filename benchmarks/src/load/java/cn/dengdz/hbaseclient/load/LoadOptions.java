@@ -0,0 +1,113 @@
+package cn.dengdz.hbaseclient.load;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 压测参数，命令行以 key=value 形式传入，例如 concurrency=64 duration=120 mix=query:80,add-data:20。
+ */
+final class LoadOptions {
+
+    int tables = 1;
+    int rows = 10000;
+    int columns = 10;
+    int valueBytes = 64;
+    int regions = 4;
+    int regionServers = 1;
+    int concurrency = 16;
+    int warmupSeconds = 10;
+    int durationSeconds = 60;
+    // 目标总吞吐（请求/秒），0 表示每个并发连接收到响应后立即发下一个请求
+    int rate = 0;
+    int listLimit = 100;
+    String output = "target/load-result.json";
+    Map<Operation, Integer> mix = parseMix("query:70,list-rows:10,add-data:15,delete-data:5");
+
+    static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("参数格式应为 key=value: " + arg);
+            }
+            String key = arg.substring(0, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "tables":
+                    options.tables = Integer.parseInt(value);
+                    break;
+                case "rows":
+                    options.rows = Integer.parseInt(value);
+                    break;
+                case "columns":
+                    options.columns = Integer.parseInt(value);
+                    break;
+                case "valueBytes":
+                    options.valueBytes = Integer.parseInt(value);
+                    break;
+                case "regions":
+                    options.regions = Integer.parseInt(value);
+                    break;
+                case "regionServers":
+                    options.regionServers = Integer.parseInt(value);
+                    break;
+                case "concurrency":
+                    options.concurrency = Integer.parseInt(value);
+                    break;
+                case "warmup":
+                    options.warmupSeconds = Integer.parseInt(value);
+                    break;
+                case "duration":
+                    options.durationSeconds = Integer.parseInt(value);
+                    break;
+                case "rate":
+                    options.rate = Integer.parseInt(value);
+                    break;
+                case "listLimit":
+                    options.listLimit = Integer.parseInt(value);
+                    break;
+                case "output":
+                    options.output = value;
+                    break;
+                case "mix":
+                    options.mix = parseMix(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("未知参数: " + key);
+            }
+        }
+        return options;
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("负载配比格式应为 操作:权重: " + part);
+            }
+            mix.put(Operation.of(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("tables", tables);
+        map.put("rows", rows);
+        map.put("columns", columns);
+        map.put("valueBytes", valueBytes);
+        map.put("regions", regions);
+        map.put("regionServers", regionServers);
+        map.put("concurrency", concurrency);
+        map.put("warmupSeconds", warmupSeconds);
+        map.put("durationSeconds", durationSeconds);
+        map.put("rate", rate);
+        map.put("listLimit", listLimit);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.forEach((operation, weight) -> weights.put(operation.getName(), weight));
+        map.put("mix", weights);
+        return map;
+    }
+}
@@ -0,0 +1,67 @@
+package cn.dengdz.hbaseclient.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 每个压测线程独立记录延迟，结束后合并，避免记录时的锁竞争。延迟以微秒记录。
+ */
+final class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+    void record(Operation operation, long latencyNanos, boolean success) {
+        long micros = Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        latencies.computeIfAbsent(operation, op -> new Histogram(HIGHEST_TRACKABLE_MICROS, 3)).recordValue(micros);
+        if (!success) {
+            errors.merge(operation, 1L, Long::sum);
+        }
+    }
+
+    void merge(LoadReport other) {
+        other.latencies.forEach((operation, histogram) ->
+                latencies.computeIfAbsent(operation, op -> new Histogram(HIGHEST_TRACKABLE_MICROS, 3)).add(histogram));
+        other.errors.forEach((operation, count) -> errors.merge(operation, count, Long::sum));
+    }
+
+    Map<String, Object> summarize(double seconds) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<Operation, Histogram> entry : latencies.entrySet()) {
+            long errorCount = errors.getOrDefault(entry.getKey(), 0L);
+            result.put(entry.getKey().getName(), stats(entry.getValue(), errorCount, seconds));
+            total.add(entry.getValue());
+            totalErrors += errorCount;
+        }
+        result.put("total", stats(total, totalErrors, seconds));
+        return result;
+    }
+
+    private static Map<String, Object> stats(Histogram histogram, long errorCount, double seconds) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", histogram.getTotalCount());
+        stats.put("errors", errorCount);
+        stats.put("throughput", round(histogram.getTotalCount() / seconds));
+        stats.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+        stats.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+        stats.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+        stats.put("maxMs", millis(histogram.getMaxValue()));
+        return stats;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
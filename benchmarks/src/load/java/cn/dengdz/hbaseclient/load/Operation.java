@@ -0,0 +1,31 @@
+package cn.dengdz.hbaseclient.load;
+
+/**
+ * 压测覆盖的接口，name 为负载配比参数中使用的名称。
+ */
+enum Operation {
+    QUERY("query"),
+    LIST_ROWS("list-rows"),
+    ADD_DATA("add-data"),
+    DELETE_DATA("delete-data"),
+    SNAPSHOT_SCAN("snapshot-scan");
+
+    private final String name;
+
+    Operation(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    static Operation of(String name) {
+        for (Operation operation : values()) {
+            if (operation.name.equals(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("不支持的操作: " + name);
+    }
+}
@@ -0,0 +1,159 @@
+package cn.dengdz.hbaseclient.load;
+
+import cn.dengdz.hbaseclient.benchmark.BenchmarkData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按配比随机选择操作并调用对应 REST 接口。
+ * 写入使用独立的 RowKey 前缀，删除优先删除压测期间写入的行，不影响查询命中的预置数据。
+ */
+final class Workload {
+
+    private static final String WRITE_PREFIX = "load-";
+
+    private final String baseUrl;
+    private final LoadOptions options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Queue<String[]> writtenRows = new ConcurrentLinkedQueue<>();
+    private final AtomicLong writeSequence = new AtomicLong();
+
+    Workload(String baseUrl, LoadOptions options) {
+        this.baseUrl = baseUrl;
+        this.options = options;
+        this.operations = options.mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += options.mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("负载配比的权重之和必须大于0");
+        }
+    }
+
+    Operation pick(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * 执行一次请求，返回 HTTP 状态码。
+     */
+    int execute(Operation operation, Random random) throws IOException {
+        String table = LoadHarness.tableName(random.nextInt(options.tables));
+        switch (operation) {
+            case QUERY:
+                return send("GET", path("query") + "?table=" + table
+                        + "&rowkey=" + encode(BenchmarkData.rowKey(random.nextInt(options.rows))), null);
+            case LIST_ROWS:
+                return send("GET", path("list-rows") + "?table=" + table + "&limit=" + options.listLimit, null);
+            case ADD_DATA: {
+                String rowKey = WRITE_PREFIX + writeSequence.incrementAndGet();
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("table", table);
+                body.put("rowKey", rowKey);
+                body.put("columnFamily", BenchmarkData.FAMILY);
+                body.put("column", BenchmarkData.qualifier(random.nextInt(options.columns)));
+                body.put("value", BenchmarkData.value(random, options.valueBytes));
+                int status = send("POST", path("add-data"), objectMapper.writeValueAsBytes(body));
+                writtenRows.offer(new String[]{table, rowKey});
+                return status;
+            }
+            case DELETE_DATA: {
+                String[] row = writtenRows.poll();
+                Map<String, Object> body = new LinkedHashMap<>();
+                body.put("table", row != null ? row[0] : table);
+                body.put("rowKey", row != null ? row[1] : WRITE_PREFIX + random.nextInt(Integer.MAX_VALUE));
+                return send("DELETE", path("delete-data"), objectMapper.writeValueAsBytes(body));
+            }
+            case SNAPSHOT_SCAN:
+                // 临时快照的创建、恢复和删除都计入延迟，衡量快照扫描的固定开销及其对在线读写的影响
+                return scan(path("scan") + "?table=" + table + "&snapshot=true&parallel=true&ordered=false"
+                        + "&keysOnly=true&limit=" + options.listLimit);
+            default:
+                throw new IllegalStateException("未处理的操作: " + operation);
+        }
+    }
+
+    private String path(String endpoint) {
+        return "/api/datasource/" + LoadHarness.DATA_SOURCE + "/" + endpoint;
+    }
+
+    int send(String method, String path, byte[] body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setConnectTimeout(10000);
+        connection.setReadTimeout(60000);
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body);
+            }
+        }
+        int status = connection.getResponseCode();
+        // 读完响应体，连接才能放回 keep-alive 连接池复用
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        if (in != null) {
+            try (InputStream stream = in) {
+                byte[] buffer = new byte[8192];
+                while (stream.read(buffer) != -1) {
+                    // 丢弃
+                }
+            }
+        }
+        return status;
+    }
+
+    /**
+     * 流式扫描在响应开始后出错时状态码仍为 200，以最后一条记录是否为 error 判断成败。
+     */
+    private int scan(String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setConnectTimeout(10000);
+        connection.setReadTimeout(60000);
+        connection.setRequestProperty("Accept", "application/x-ndjson");
+        int status = connection.getResponseCode();
+        if (status >= 400) {
+            connection.getErrorStream().close();
+            return status;
+        }
+        String last = null;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                last = line;
+            }
+        }
+        return last != null && last.startsWith("{\"error\"") ? 500 : status;
+    }
+
+    private static String encode(String value) throws IOException {
+        return URLEncoder.encode(value, "UTF-8");
+    }
+}
@@ -0,0 +1,71 @@
+package cn.dengdz.hbaseclient.benchmark;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.NavigableMap;
+import java.util.Random;
+
+/**
+ * 固定种子生成测试数据，保证不同提交之间的运行结果可比。
+ */
+public final class BenchmarkData {
+
+    public static final String FAMILY = "cf";
+    private static final byte[] FAMILY_BYTES = Bytes.toBytes(FAMILY);
+    private static final long SEED = 20211001L;
+    private static final long TIMESTAMP = 1633046400000L;
+
+    private BenchmarkData() {
+    }
+
+    public static String rowKey(int index) {
+        return String.format("row-%08d", index);
+    }
+
+    public static String qualifier(int index) {
+        return String.format("q%05d", index);
+    }
+
+    /**
+     * 由可打印 ASCII 字符组成的值，按 UTF-8 解码时与典型业务数据相近。
+     */
+    public static String value(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (' ' + 1 + random.nextInt(94));
+        }
+        return new String(chars);
+    }
+
+    public static Result row(String rowKey, int columns, int valueBytes, Random random) {
+        byte[] row = Bytes.toBytes(rowKey);
+        Cell[] cells = new Cell[columns];
+        // 列名定长补零，生成顺序即排序顺序
+        for (int i = 0; i < columns; i++) {
+            cells[i] = new KeyValue(row, FAMILY_BYTES, Bytes.toBytes(qualifier(i)), TIMESTAMP,
+                    Bytes.toBytes(value(random, valueBytes)));
+        }
+        return Result.create(cells);
+    }
+
+    public static Result row(String rowKey, int columns, int valueBytes) {
+        return row(rowKey, columns, valueBytes, new Random(SEED));
+    }
+
+    /**
+     * 向内存表写入 rows 行，每行 columns 列。
+     */
+    public static void load(String table, int rows, int columns, int valueBytes) {
+        NavigableMap<byte[], Result> store = InMemoryStore.table(TableName.valueOf(table));
+        store.clear();
+        Random random = new Random(SEED);
+        for (int i = 0; i < rows; i++) {
+            String rowKey = rowKey(i);
+            store.put(Bytes.toBytes(rowKey), row(rowKey, columns, valueBytes, random));
+        }
+    }
+}
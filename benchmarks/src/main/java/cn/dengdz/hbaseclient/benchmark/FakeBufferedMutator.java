@@ -0,0 +1,82 @@
+package cn.dengdz.hbaseclient.benchmark;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 缓冲写入，flush 时计一次 RPC 并写入内存表。
+ */
+class FakeBufferedMutator implements BufferedMutator {
+
+    private final FakeConnection connection;
+    private final TableName tableName;
+    private final long writeBufferSize;
+    private final List<Mutation> buffer = new ArrayList<>();
+
+    FakeBufferedMutator(FakeConnection connection, TableName tableName, long writeBufferSize) {
+        this.connection = connection;
+        this.tableName = tableName;
+        this.writeBufferSize = writeBufferSize;
+    }
+
+    @Override
+    public TableName getName() {
+        return tableName;
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        return connection.getConfiguration();
+    }
+
+    @Override
+    public synchronized void mutate(Mutation mutation) {
+        buffer.add(mutation);
+    }
+
+    @Override
+    public synchronized void mutate(List<? extends Mutation> mutations) {
+        buffer.addAll(mutations);
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        connection.rpc();
+        for (Mutation mutation : buffer) {
+            if (mutation instanceof Put) {
+                InMemoryStore.apply(tableName, (Put) mutation);
+            } else if (mutation instanceof Delete) {
+                InMemoryStore.table(tableName).remove(mutation.getRow());
+            }
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    @Override
+    public long getWriteBufferSize() {
+        return writeBufferSize;
+    }
+
+    @Override
+    public void setRpcTimeout(int timeout) {
+    }
+
+    @Override
+    public void setOperationTimeout(int timeout) {
+    }
+}
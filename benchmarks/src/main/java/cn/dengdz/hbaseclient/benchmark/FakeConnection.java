@@ -0,0 +1,121 @@
+package cn.dengdz.hbaseclient.benchmark;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.client.TableBuilder;
+import org.apache.hadoop.hbase.security.User;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 基于 InMemoryStore 的 Connection 实现，通过 hbase.client.connection.impl 配置由 ConnectionFactory 创建，
+ * 使基准测试经过与线上相同的连接注册、Mapper 和切面逻辑，只是不访问真实集群。
+ * 每次模拟的 RPC 按 benchmark.fake.rpc-latency-micros 休眠，用于观察批量写入、扫描缓存等对往返次数的影响。
+ */
+public class FakeConnection implements Connection {
+
+    public static final String RPC_LATENCY_KEY = "benchmark.fake.rpc-latency-micros";
+
+    private final Configuration configuration;
+    private final long rpcLatencyNanos;
+    private volatile boolean closed;
+
+    // ConnectionFactory 通过反射调用该构造方法
+    FakeConnection(Configuration configuration, ExecutorService pool, User user) {
+        this.configuration = configuration;
+        this.rpcLatencyNanos = TimeUnit.MICROSECONDS.toNanos(configuration.getLong(RPC_LATENCY_KEY, 0));
+    }
+
+    void rpc() {
+        if (rpcLatencyNanos > 0) {
+            LockSupport.parkNanos(rpcLatencyNanos);
+        }
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    @Override
+    public TableBuilder getTableBuilder(TableName tableName, ExecutorService pool) {
+        return new TableBuilder() {
+            @Override
+            public TableBuilder setOperationTimeout(int timeout) {
+                return this;
+            }
+
+            @Override
+            public TableBuilder setRpcTimeout(int timeout) {
+                return this;
+            }
+
+            @Override
+            public TableBuilder setReadRpcTimeout(int timeout) {
+                return this;
+            }
+
+            @Override
+            public TableBuilder setWriteRpcTimeout(int timeout) {
+                return this;
+            }
+
+            @Override
+            public Table build() {
+                return new FakeTable(FakeConnection.this, tableName);
+            }
+        };
+    }
+
+    @Override
+    public BufferedMutator getBufferedMutator(TableName tableName) {
+        return getBufferedMutator(new BufferedMutatorParams(tableName));
+    }
+
+    @Override
+    public BufferedMutator getBufferedMutator(BufferedMutatorParams params) {
+        return new FakeBufferedMutator(this, params.getTableName(), params.getWriteBufferSize());
+    }
+
+    @Override
+    public RegionLocator getRegionLocator(TableName tableName) {
+        throw new UnsupportedOperationException("内存表不支持 RegionLocator");
+    }
+
+    @Override
+    public void clearRegionLocationCache() {
+    }
+
+    @Override
+    public Admin getAdmin() {
+        throw new UnsupportedOperationException("内存表不支持 Admin");
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void abort(String why, Throwable e) {
+        closed = true;
+    }
+
+    @Override
+    public boolean isAborted() {
+        return closed;
+    }
+}
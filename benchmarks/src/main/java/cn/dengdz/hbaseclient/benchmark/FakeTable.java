@@ -0,0 +1,160 @@
+package cn.dengdz.hbaseclient.benchmark;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.client.TableDescriptor;
+import org.apache.hadoop.hbase.client.TableDescriptorBuilder;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * 内存表。Get 和 Scan 不解析投影与过滤器，直接返回整行；每批 Get、每批扫描结果、每次写入各计一次 RPC。
+ */
+class FakeTable implements Table {
+
+    private static final int DEFAULT_CACHING = 100;
+
+    private final FakeConnection connection;
+    private final TableName tableName;
+    private final NavigableMap<byte[], Result> rows;
+
+    FakeTable(FakeConnection connection, TableName tableName) {
+        this.connection = connection;
+        this.tableName = tableName;
+        this.rows = InMemoryStore.table(tableName);
+    }
+
+    @Override
+    public TableName getName() {
+        return tableName;
+    }
+
+    @Override
+    public Configuration getConfiguration() {
+        return connection.getConfiguration();
+    }
+
+    @Override
+    public TableDescriptor getDescriptor() {
+        return TableDescriptorBuilder.newBuilder(tableName).build();
+    }
+
+    @Override
+    public RegionLocator getRegionLocator() {
+        throw new UnsupportedOperationException("内存表不支持 RegionLocator");
+    }
+
+    @Override
+    public Result get(Get get) {
+        connection.rpc();
+        return lookup(get);
+    }
+
+    @Override
+    public Result[] get(List<Get> gets) {
+        connection.rpc();
+        Result[] results = new Result[gets.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = lookup(gets.get(i));
+        }
+        return results;
+    }
+
+    @Override
+    public ResultScanner getScanner(Scan scan) {
+        NavigableMap<byte[], Result> range = rows;
+        byte[] start = scan.getStartRow();
+        byte[] stop = scan.getStopRow();
+        if (scan.isReversed()) {
+            range = range.descendingMap();
+        }
+        if (start.length > 0) {
+            range = range.tailMap(start, scan.includeStartRow());
+        }
+        if (stop.length > 0) {
+            range = range.headMap(stop, scan.includeStopRow());
+        }
+        int caching = scan.getCaching() > 0 ? scan.getCaching() : DEFAULT_CACHING;
+        return new FakeScanner(range.values().iterator(), scan.getLimit(), caching);
+    }
+
+    @Override
+    public void put(Put put) {
+        connection.rpc();
+        InMemoryStore.apply(tableName, put);
+    }
+
+    @Override
+    public void put(List<Put> puts) {
+        connection.rpc();
+        for (Put put : puts) {
+            InMemoryStore.apply(tableName, put);
+        }
+    }
+
+    @Override
+    public void delete(Delete delete) {
+        connection.rpc();
+        rows.remove(delete.getRow());
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private Result lookup(Get get) {
+        Result result = rows.get(get.getRow());
+        return result != null ? result : Result.EMPTY_RESULT;
+    }
+
+    private final class FakeScanner implements ResultScanner {
+        private final Iterator<Result> iterator;
+        private final int limit;
+        private final int caching;
+        private int returned;
+
+        FakeScanner(Iterator<Result> iterator, int limit, int caching) {
+            this.iterator = iterator;
+            this.limit = limit;
+            this.caching = caching;
+        }
+
+        @Override
+        public Result next() {
+            if ((limit > 0 && returned >= limit) || !iterator.hasNext()) {
+                return null;
+            }
+            if (returned % caching == 0) {
+                connection.rpc();
+            }
+            returned++;
+            return iterator.next();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public boolean renewLease() {
+            return true;
+        }
+
+        @Override
+        public ScanMetrics getScanMetrics() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package cn.dengdz.hbaseclient.benchmark;
+
+import cn.dengdz.hbaseclient.model.HBaseData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单行查询：Get 构造、Result 转换为 HBaseData、指标切面，行缓存保持默认关闭。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GetRowBenchmark {
+
+    private static final String TABLE = "get_row";
+    private static final int ROWS = 1024;
+
+    @Param({"10", "100", "1000"})
+    public int columns;
+
+    @Param({"16", "256"})
+    public int valueBytes;
+
+    private MapperFixture fixture;
+    private String[] rowKeys;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkData.load(TABLE, ROWS, columns, valueBytes);
+        fixture = new MapperFixture(0);
+        fixture.bindCurrentThread();
+        rowKeys = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            rowKeys[i] = BenchmarkData.rowKey(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public HBaseData getRow() throws Exception {
+        String rowKey = rowKeys[next];
+        next = (next + 1) % ROWS;
+        return fixture.mapper().getRow(TABLE, rowKey);
+    }
+}
@@ -0,0 +1,38 @@
+package cn.dengdz.hbaseclient.benchmark;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellComparator;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 基准测试用的内存表，按表名保存在进程内，FakeConnection 的所有实例共享。
+ * 写入整行覆盖，不保留多版本。
+ */
+public final class InMemoryStore {
+
+    private static final Map<TableName, NavigableMap<byte[], Result>> TABLES = new ConcurrentHashMap<>();
+
+    private InMemoryStore() {
+    }
+
+    public static NavigableMap<byte[], Result> table(TableName tableName) {
+        return TABLES.computeIfAbsent(tableName, name -> new ConcurrentSkipListMap<>(Bytes.BYTES_COMPARATOR));
+    }
+
+    static void apply(TableName tableName, Put put) {
+        List<Cell> cells = new ArrayList<>();
+        put.getFamilyCellMap().values().forEach(cells::addAll);
+        cells.sort(CellComparator.getInstance());
+        table(tableName).put(put.getRow(), Result.create(cells));
+    }
+}
@@ -0,0 +1,46 @@
+package cn.dengdz.hbaseclient.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RowKey 列表：扫描和结果转换，可通过 rpcLatencyMicros 模拟每批扫描结果的网络往返。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class KeyListingBenchmark {
+
+    private static final String TABLE = "key_listing";
+    private static final int ROWS = 10000;
+
+    @Param({"100", "1000", "10000"})
+    public int limit;
+
+    @Param({"0", "200"})
+    public long rpcLatencyMicros;
+
+    private MapperFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchmarkData.load(TABLE, ROWS, 5, 32);
+        fixture = new MapperFixture(rpcLatencyMicros);
+        fixture.bindCurrentThread();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<String> listRows() throws Exception {
+        return fixture.mapper().listRows(TABLE, limit);
+    }
+}
@@ -0,0 +1,83 @@
+package cn.dengdz.hbaseclient.benchmark;
+
+import cn.dengdz.hbaseclient.HBaseClientApplication;
+import cn.dengdz.hbaseclient.mapper.AsyncHBaseMapper;
+import cn.dengdz.hbaseclient.mapper.HBaseMapper;
+import cn.dengdz.hbaseclient.util.DataSourceContext;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 以非 Web 模式启动完整的应用上下文，并注册一个指向 FakeConnection 的数据源，
+ * 使基准测试覆盖连接注册、切面、行缓存等线上路径。
+ * 异步连接由 ConnectionFactory 直接连接 ZooKeeper，无法替换为内存实现，异步 Mapper 只能用于经过 WriteBatcher 的写入。
+ */
+public class MapperFixture implements AutoCloseable {
+
+    public static final String DATA_SOURCE = "benchmark";
+
+    private final ConfigurableApplicationContext context;
+    private final HBaseMapper mapper;
+    private final AsyncHBaseMapper asyncMapper;
+
+    public MapperFixture(long rpcLatencyMicros, String... properties) throws Exception {
+        Path configPath = Files.createTempDirectory("hbase-client-benchmark");
+        writeSiteFiles(configPath.resolve(DATA_SOURCE), rpcLatencyMicros);
+
+        String[] args = new String[properties.length + 2];
+        args[0] = "--storage.config-path=" + configPath;
+        args[1] = "--logging.level.root=WARN";
+        System.arraycopy(properties, 0, args, 2, properties.length);
+        this.context = new SpringApplicationBuilder(HBaseClientApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(args);
+        this.mapper = context.getBean(HBaseMapper.class);
+        this.asyncMapper = context.getBean(AsyncHBaseMapper.class);
+        mapper.reconnect(DATA_SOURCE, "localhost:2181");
+    }
+
+    /**
+     * 在执行基准方法的线程上调用，Mapper 按线程读取数据源ID。
+     */
+    public void bindCurrentThread() {
+        DataSourceContext.setCurrentDataSourceId(DATA_SOURCE);
+    }
+
+    public HBaseMapper mapper() {
+        return mapper;
+    }
+
+    public AsyncHBaseMapper asyncMapper() {
+        return asyncMapper;
+    }
+
+    @Override
+    public void close() {
+        DataSourceContext.clear();
+        context.close();
+    }
+
+    private static void writeSiteFiles(Path dir, long rpcLatencyMicros) throws IOException {
+        Files.createDirectories(dir);
+        Files.write(dir.resolve("core-site.xml"),
+                "<configuration/>\n".getBytes(StandardCharsets.UTF_8));
+        String hbaseSite = "<configuration>\n"
+                + property("hbase.client.connection.impl", FakeConnection.class.getName())
+                + property(FakeConnection.RPC_LATENCY_KEY, String.valueOf(rpcLatencyMicros))
+                + "</configuration>\n";
+        Files.write(dir.resolve("hbase-site.xml"), hbaseSite.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String property(String name, String value) {
+        return "  <property><name>" + name + "</name><value>" + value + "</value></property>\n";
+    }
+}
@@ -0,0 +1,100 @@
+package cn.dengdz.hbaseclient.benchmark;
+
+import cn.dengdz.hbaseclient.model.CellData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 写入 100 行：逐行同步写入、一次批量写入、并发提交单行写入由 WriteBatcher 合并。
+ * 每次调用计为 100 次操作，得分即每行耗时，三种方式直接可比。
+ * addData 总是经过 WriteBatcher，逐行写入和一次批量写入使用 flush-size=1 的上下文，每次提交立即刷新，
+ * 分别对应不合并的逐行 RPC 和单次批量 RPC；并发写入使用默认配置，包含等待 flush-interval-ms 凑批的时间。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PutBenchmark {
+
+    private static final String TABLE = "put";
+    private static final int BATCH = 100;
+
+    @Param({"0", "500"})
+    public long rpcLatencyMicros;
+
+    private MapperFixture fixture;
+    private List<CellData> cells;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        fixture = new MapperFixture(rpcLatencyMicros);
+        fixture.bindCurrentThread();
+        Random random = new Random(BATCH);
+        cells = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            cells.add(new CellData(BenchmarkData.rowKey(i), BenchmarkData.FAMILY, BenchmarkData.qualifier(0),
+                    BenchmarkData.value(random, 64)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void singlePuts(ImmediateFlush immediate) throws Exception {
+        for (CellData cell : cells) {
+            immediate.fixture.mapper().addData(TABLE, Collections.singletonList(cell));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void batchedPut(ImmediateFlush immediate) throws Exception {
+        immediate.fixture.mapper().addData(TABLE, cells);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void concurrentSinglePuts() throws Exception {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            futures[i] = fixture.asyncMapper().addData(TABLE, Collections.singletonList(cells.get(i)));
+        }
+        CompletableFuture.allOf(futures).get();
+    }
+
+    /**
+     * 每次提交立即刷新的上下文，与外层共用 rpcLatencyMicros 参数。
+     */
+    @State(Scope.Thread)
+    public static class ImmediateFlush {
+
+        @Param({"0", "500"})
+        public long rpcLatencyMicros;
+
+        private MapperFixture fixture;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            fixture = new MapperFixture(rpcLatencyMicros,
+                    "--hbase-client.write.flush-size=1", "--hbase-client.write.flush-interval-ms=0");
+            fixture.bindCurrentThread();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            fixture.close();
+        }
+    }
+}
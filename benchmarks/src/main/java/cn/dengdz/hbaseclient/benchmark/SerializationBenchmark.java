@@ -0,0 +1,90 @@
+package cn.dengdz.hbaseclient.benchmark;
+
+import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.ValueEncoding;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 接口返回的 JSON 序列化：单个大行和一页多行，使用与 Spring MVC 相同方式构建的 ObjectMapper。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int PAGE_ROWS = 100;
+
+    @Param({"10", "1000"})
+    public int columns;
+
+    @Param({"16", "1024"})
+    public int valueBytes;
+
+    @Param({"utf8", "hex", "base64"})
+    public String encoding;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final CountingOutputStream out = new CountingOutputStream();
+    private HBaseData row;
+    private List<HBaseData> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ValueEncoding valueEncoding = ValueEncoding.of(encoding);
+        String rowKey = BenchmarkData.rowKey(0);
+        row = new HBaseData(rowKey, BenchmarkData.row(rowKey, columns, valueBytes).rawCells())
+                .withEncoding(valueEncoding);
+        page = new ArrayList<>(PAGE_ROWS);
+        for (int i = 0; i < PAGE_ROWS; i++) {
+            String key = BenchmarkData.rowKey(i);
+            page.add(new HBaseData(key, BenchmarkData.row(key, Math.min(columns, 10), valueBytes).rawCells())
+                    .withEncoding(valueEncoding));
+        }
+    }
+
+    @Benchmark
+    public long largeRow() throws IOException {
+        out.count = 0;
+        objectMapper.writeValue(out, row);
+        return out.count;
+    }
+
+    @Benchmark
+    public long page() throws IOException {
+        out.count = 0;
+        objectMapper.writeValue(out, page);
+        return out.count;
+    }
+
+    /**
+     * 只计数不保存，避免把内存拷贝计入序列化耗时。
+     */
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
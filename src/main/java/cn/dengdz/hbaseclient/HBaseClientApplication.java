@@ -2,8 +2,10 @@ package cn.dengdz.hbaseclient;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class HBaseClientApplication {
     public static void main(String[] args) {
         SpringApplication.run(HBaseClientApplication.class, args);
@@ -0,0 +1,209 @@
+package cn.dengdz.hbaseclient.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 客户端超时、重试和对冲读策略，按读、写、管理操作分别配置。
+ * defaults 为全局默认值，datasources 下按数据源ID覆盖，也可以通过接口在运行时修改。
+ */
+@Component
+@ConfigurationProperties(prefix = "hbase-client.policy")
+public class ClientPolicyProperties {
+    private Policy defaults = Policy.initial();
+    private Map<String, Policy> datasources = new ConcurrentHashMap<>();
+
+    public Policy getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Policy defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Policy> getDatasources() {
+        return datasources;
+    }
+
+    public void setDatasources(Map<String, Policy> datasources) {
+        this.datasources = new ConcurrentHashMap<>(datasources);
+    }
+
+    /**
+     * 获取数据源生效的策略，未单独配置的项沿用默认值。
+     */
+    public Policy resolve(String dataSourceId) {
+        Policy override = datasources.get(dataSourceId);
+        if (override == null) {
+            return defaults;
+        }
+        Policy policy = new Policy();
+        policy.setRead(OperationPolicy.merge(override.getRead(), defaults.getRead()));
+        policy.setWrite(OperationPolicy.merge(override.getWrite(), defaults.getWrite()));
+        policy.setAdmin(OperationPolicy.merge(override.getAdmin(), defaults.getAdmin()));
+        return policy;
+    }
+
+    public static class Policy {
+        private OperationPolicy read;
+        private OperationPolicy write;
+        // 建表、修改表结构及读取表名、表结构等元数据操作
+        private OperationPolicy admin;
+
+        static Policy initial() {
+            Policy policy = new Policy();
+            policy.setRead(OperationPolicy.of(10000, 20000, 3, 100L));
+            policy.getRead().setScanTimeoutMs(60000);
+            policy.getRead().setHedged(false);
+            policy.getRead().setHedgeDelayMs(10L);
+            policy.setWrite(OperationPolicy.of(15000, 30000, 5, 100L));
+            policy.setAdmin(OperationPolicy.of(30000, 60000, 5, 200L));
+            return policy;
+        }
+
+        /**
+         * 检查合并后的策略，超时和重试间隔必须为正数，重试次数不能为负数。
+         */
+        public void validate() {
+            read.validate("read");
+            write.validate("write");
+            admin.validate("admin");
+            if (read.getScanTimeoutMs() == null || read.getScanTimeoutMs() <= 0
+                    || read.getHedgeDelayMs() == null || read.getHedgeDelayMs() <= 0) {
+                throw new IllegalArgumentException("read 的 scanTimeoutMs 和 hedgeDelayMs 必须大于0");
+            }
+        }
+
+        public OperationPolicy getRead() {
+            return read;
+        }
+
+        public void setRead(OperationPolicy read) {
+            this.read = read;
+        }
+
+        public OperationPolicy getWrite() {
+            return write;
+        }
+
+        public void setWrite(OperationPolicy write) {
+            this.write = write;
+        }
+
+        public OperationPolicy getAdmin() {
+            return admin;
+        }
+
+        public void setAdmin(OperationPolicy admin) {
+            this.admin = admin;
+        }
+    }
+
+    public static class OperationPolicy {
+        // 单次 RPC 超时
+        private Integer rpcTimeoutMs;
+        // 整个操作（含重试）的超时
+        private Integer operationTimeoutMs;
+        private Integer retries;
+        // 重试间隔基数，客户端按重试次数指数退避
+        private Long pauseMs;
+        // 以下仅对读操作生效：Scanner 两次 next 之间的最长间隔
+        private Integer scanTimeoutMs;
+        // 以 TIMELINE 一致性读取，主副本超过 hedgeDelayMs 未返回时同时请求从副本，取先返回的结果
+        private Boolean hedged;
+        private Long hedgeDelayMs;
+
+        static OperationPolicy of(int rpcTimeoutMs, int operationTimeoutMs, int retries, long pauseMs) {
+            OperationPolicy policy = new OperationPolicy();
+            policy.setRpcTimeoutMs(rpcTimeoutMs);
+            policy.setOperationTimeoutMs(operationTimeoutMs);
+            policy.setRetries(retries);
+            policy.setPauseMs(pauseMs);
+            return policy;
+        }
+
+        static OperationPolicy merge(OperationPolicy override, OperationPolicy defaults) {
+            if (override == null) {
+                return defaults;
+            }
+            OperationPolicy policy = new OperationPolicy();
+            policy.setRpcTimeoutMs(override.getRpcTimeoutMs() != null ? override.getRpcTimeoutMs() : defaults.getRpcTimeoutMs());
+            policy.setOperationTimeoutMs(override.getOperationTimeoutMs() != null ? override.getOperationTimeoutMs() : defaults.getOperationTimeoutMs());
+            policy.setRetries(override.getRetries() != null ? override.getRetries() : defaults.getRetries());
+            policy.setPauseMs(override.getPauseMs() != null ? override.getPauseMs() : defaults.getPauseMs());
+            policy.setScanTimeoutMs(override.getScanTimeoutMs() != null ? override.getScanTimeoutMs() : defaults.getScanTimeoutMs());
+            policy.setHedged(override.getHedged() != null ? override.getHedged() : defaults.getHedged());
+            policy.setHedgeDelayMs(override.getHedgeDelayMs() != null ? override.getHedgeDelayMs() : defaults.getHedgeDelayMs());
+            return policy;
+        }
+
+        void validate(String name) {
+            if (rpcTimeoutMs == null || rpcTimeoutMs <= 0 || operationTimeoutMs == null || operationTimeoutMs <= 0
+                    || pauseMs == null || pauseMs <= 0) {
+                throw new IllegalArgumentException(name + " 的超时和重试间隔必须大于0");
+            }
+            if (retries == null || retries < 0) {
+                throw new IllegalArgumentException(name + " 的重试次数不能小于0");
+            }
+        }
+
+        public Integer getRpcTimeoutMs() {
+            return rpcTimeoutMs;
+        }
+
+        public void setRpcTimeoutMs(Integer rpcTimeoutMs) {
+            this.rpcTimeoutMs = rpcTimeoutMs;
+        }
+
+        public Integer getOperationTimeoutMs() {
+            return operationTimeoutMs;
+        }
+
+        public void setOperationTimeoutMs(Integer operationTimeoutMs) {
+            this.operationTimeoutMs = operationTimeoutMs;
+        }
+
+        public Integer getRetries() {
+            return retries;
+        }
+
+        public void setRetries(Integer retries) {
+            this.retries = retries;
+        }
+
+        public Long getPauseMs() {
+            return pauseMs;
+        }
+
+        public void setPauseMs(Long pauseMs) {
+            this.pauseMs = pauseMs;
+        }
+
+        public Integer getScanTimeoutMs() {
+            return scanTimeoutMs;
+        }
+
+        public void setScanTimeoutMs(Integer scanTimeoutMs) {
+            this.scanTimeoutMs = scanTimeoutMs;
+        }
+
+        public Boolean getHedged() {
+            return hedged;
+        }
+
+        public void setHedged(Boolean hedged) {
+            this.hedged = hedged;
+        }
+
+        public Long getHedgeDelayMs() {
+            return hedgeDelayMs;
+        }
+
+        public void setHedgeDelayMs(Long hedgeDelayMs) {
+            this.hedgeDelayMs = hedgeDelayMs;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package cn.dengdz.hbaseclient.config;
+
+import cn.dengdz.hbaseclient.model.DataSourceDefinition;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 数据源定义的持久化，保存在各数据源配置目录下的 datasource.json 中。
+ * 连接信息和策略修改后立即写盘；最近访问的表只在内存中更新，定期写盘。
+ */
+@Component
+public class DataSourceStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceStore.class);
+
+    private static final String FILE_NAME = "datasource.json";
+
+    private final StorageConfig storageConfig;
+    private final ObjectMapper objectMapper;
+    private final int recentTableLimit;
+    private final Map<String, DataSourceDefinition> definitions = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public DataSourceStore(StorageConfig storageConfig, ObjectMapper objectMapper,
+                           @Value("${hbase-client.startup.recent-tables:20}") int recentTableLimit) {
+        this.storageConfig = storageConfig;
+        this.objectMapper = objectMapper;
+        this.recentTableLimit = recentTableLimit;
+        load();
+    }
+
+    /**
+     * 已保存的数据源，按最近连接时间倒序。
+     */
+    public List<DataSourceDefinition> list() {
+        List<DataSourceDefinition> result = new ArrayList<>();
+        for (DataSourceDefinition definition : definitions.values()) {
+            synchronized (definition) {
+                result.add(copy(definition));
+            }
+        }
+        result.sort(Comparator.comparingLong(DataSourceDefinition::getLastConnectedAt).reversed());
+        return result;
+    }
+
+    /**
+     * 连接成功后保存 ZooKeeper 地址。
+     */
+    public void saveConnection(String dataSourceId, String zkQuorum) {
+        DataSourceDefinition definition = definitions.computeIfAbsent(dataSourceId, DataSourceStore::create);
+        synchronized (definition) {
+            definition.setZkQuorum(zkQuorum);
+            definition.setLastConnectedAt(System.currentTimeMillis());
+        }
+        write(definition);
+    }
+
+    public void savePolicy(String dataSourceId, ClientPolicyProperties.Policy policy) {
+        DataSourceDefinition definition = definitions.computeIfAbsent(dataSourceId, DataSourceStore::create);
+        synchronized (definition) {
+            definition.setPolicy(policy);
+        }
+        write(definition);
+    }
+
+    /**
+     * 记录表访问，只更新内存，由 flush 定期写盘。
+     */
+    public void recordTableAccess(String dataSourceId, String table) {
+        DataSourceDefinition definition = definitions.get(dataSourceId);
+        if (definition == null) {
+            return;
+        }
+        synchronized (definition) {
+            List<String> tables = definition.getRecentTables();
+            if (!tables.isEmpty() && tables.get(0).equals(table)) {
+                return;
+            }
+            tables.remove(table);
+            tables.add(0, table);
+            while (tables.size() > recentTableLimit) {
+                tables.remove(tables.size() - 1);
+            }
+        }
+        dirty.add(dataSourceId);
+    }
+
+    public void remove(String dataSourceId) {
+        definitions.remove(dataSourceId);
+        dirty.remove(dataSourceId);
+    }
+
+    @Scheduled(fixedDelayString = "${hbase-client.startup.flush-interval-ms:60000}")
+    public void flush() {
+        for (String dataSourceId : dirty) {
+            dirty.remove(dataSourceId);
+            DataSourceDefinition definition = definitions.get(dataSourceId);
+            if (definition != null) {
+                write(definition);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void load() {
+        Path basePath = Paths.get(storageConfig.getConfigBasePath());
+        if (!Files.isDirectory(basePath)) {
+            return;
+        }
+        try (DirectoryStream<Path> dirs = Files.newDirectoryStream(basePath, Files::isDirectory)) {
+            for (Path dir : dirs) {
+                Path file = dir.resolve(FILE_NAME);
+                if (!Files.exists(file)) {
+                    continue;
+                }
+                try {
+                    DataSourceDefinition definition = objectMapper.readValue(file.toFile(), DataSourceDefinition.class);
+                    definition.setId(dir.getFileName().toString());
+                    definitions.put(definition.getId(), definition);
+                } catch (IOException e) {
+                    log.warn("读取数据源定义 {} 失败：{}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("读取数据源目录 {} 失败：{}", basePath, e.getMessage());
+        }
+        log.info("已加载 {} 个数据源定义", definitions.size());
+    }
+
+    /**
+     * 先写临时文件再替换，避免进程退出时留下不完整的文件。配置目录已被删除时不再写入。
+     */
+    private void write(DataSourceDefinition definition) {
+        Path dir = Paths.get(storageConfig.getConfigPath(definition.getId()));
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try {
+            byte[] content;
+            synchronized (definition) {
+                content = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(definition);
+            }
+            Path tmp = dir.resolve(FILE_NAME + ".tmp");
+            Files.write(tmp, content);
+            Files.move(tmp, dir.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("保存数据源 {} 的定义失败：{}", definition.getId(), e.getMessage());
+        }
+    }
+
+    private static DataSourceDefinition create(String dataSourceId) {
+        DataSourceDefinition definition = new DataSourceDefinition();
+        definition.setId(dataSourceId);
+        return definition;
+    }
+
+    private static DataSourceDefinition copy(DataSourceDefinition definition) {
+        DataSourceDefinition copy = new DataSourceDefinition();
+        copy.setId(definition.getId());
+        copy.setZkQuorum(definition.getZkQuorum());
+        copy.setPolicy(definition.getPolicy());
+        copy.setRecentTables(new ArrayList<>(definition.getRecentTables()));
+        copy.setLastConnectedAt(definition.getLastConnectedAt());
+        return copy;
+    }
+}
@@ -0,0 +1,450 @@
+package cn.dengdz.hbaseclient.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.AsyncConnection;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.ConnectionFactory;
+import org.apache.hadoop.hbase.client.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按数据源ID维护长连接，每个集群一个 Connection，按需创建、空闲回收。
+ * 使用连接的操作先租用、结束后归还，被回收或替换的连接等所有租约归还后才关闭。
+ */
+@Component
+public class HBaseConnectionRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(HBaseConnectionRegistry.class);
+
+    private final Map<String, ConnectionHolder> holders = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ClientPolicyProperties policyProperties;
+
+    @Value("${hbase-client.connection.idle-timeout-ms:1800000}")
+    private long idleTimeoutMs;
+
+    @Value("${hbase-client.write.buffer-size:2097152}")
+    private long writeBufferSize;
+
+    private final ThreadPoolExecutor batchPool;
+
+    /**
+     * 通过 TableBuilder 获取的表不使用连接内置的线程池，批量请求改用所有数据源共用的线程池，
+     * 避免每次获取表都创建新线程池。
+     */
+    public HBaseConnectionRegistry(@Value("${hbase-client.connection.batch-threads:256}") int batchThreads) {
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.batchPool = new ThreadPoolExecutor(batchThreads, batchThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "hbase-batch-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.batchPool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 注册数据源配置。配置未变化时复用已有连接，否则换用新连接，旧连接在已借出的租约全部归还后关闭。
+     */
+    public void register(String dataSourceId, Configuration configuration, boolean forceNew) throws IOException {
+        ConnectionHolder holder = holders.computeIfAbsent(dataSourceId,
+                id -> new ConnectionHolder(id, meterRegistry));
+        // 立即建立连接以便校验配置
+        try (ConnectionLease lease = holder.update(configuration, forceNew)) {
+            lease.getConnection();
+        }
+    }
+
+    /**
+     * 租用数据源对应的连接，连接被回收后会按已注册的配置重新创建。
+     * 租约归还前连接不会因空闲回收、重新连接或修改策略而关闭，使用完毕后必须关闭租约。
+     */
+    public ConnectionLease acquire(String dataSourceId) throws IOException {
+        ConnectionHolder holder = holders.get(dataSourceId);
+        if (holder == null) {
+            throw new IllegalStateException("数据源未连接: " + dataSourceId);
+        }
+        return holder.acquire();
+    }
+
+    /**
+     * 按操作类型的超时获取表，表关闭时归还连接租约。
+     */
+    public Table getTable(String dataSourceId, TableName tableName,
+                          ClientPolicyProperties.OperationPolicy policy) throws IOException {
+        ConnectionLease lease = acquire(dataSourceId);
+        Table table;
+        try {
+            table = lease.getConnection().getTableBuilder(tableName, batchPool)
+                    .setOperationTimeout(policy.getOperationTimeoutMs())
+                    .setRpcTimeout(policy.getRpcTimeoutMs())
+                    .setReadRpcTimeout(policy.getRpcTimeoutMs())
+                    .setWriteRpcTimeout(policy.getRpcTimeoutMs())
+                    .build();
+        } catch (IOException | RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+        return (Table) Proxy.newProxyInstance(Table.class.getClassLoader(), new Class<?>[]{Table.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            table.close();
+                        } finally {
+                            lease.close();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(table, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * 数据源当前生效的连接配置副本，未连接时返回 null。
+     */
+    public Configuration getConfiguration(String dataSourceId) {
+        ConnectionHolder holder = holders.get(dataSourceId);
+        return holder == null ? null : holder.copyConfiguration();
+    }
+
+    /**
+     * 获取表的 BufferedMutator，同一连接下按表缓存，连接关闭时一并关闭。
+     */
+    public BufferedMutator getBufferedMutator(ConnectionLease lease, TableName tableName) throws IOException {
+        ClientPolicyProperties.OperationPolicy write = policyProperties.resolve(lease.dataSourceId).getWrite();
+        return lease.generation.getBufferedMutator(new BufferedMutatorParams(tableName)
+                .writeBufferSize(writeBufferSize)
+                .operationTimeout(write.getOperationTimeoutMs())
+                .rpcTimeout(write.getRpcTimeoutMs()));
+    }
+
+    /**
+     * 当前已建立的同步连接，不会触发连接创建，也不刷新空闲时间。
+     */
+    public Map<String, Connection> getOpenConnections() {
+        Map<String, Connection> connections = new LinkedHashMap<>();
+        holders.forEach((id, holder) -> {
+            Generation generation = holder.current;
+            Connection connection = generation == null ? null : generation.connection;
+            if (connection != null && !connection.isClosed()) {
+                connections.put(id, connection);
+            }
+        });
+        return connections;
+    }
+
+    public boolean isRegistered(String dataSourceId) {
+        return holders.containsKey(dataSourceId);
+    }
+
+    /**
+     * 移除数据源，连接在已借出的租约全部归还后关闭。
+     */
+    public void remove(String dataSourceId) {
+        ConnectionHolder holder = holders.remove(dataSourceId);
+        if (holder != null) {
+            holder.retire();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hbase-client.connection.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        for (ConnectionHolder holder : holders.values()) {
+            if (holder.evictIfIdle(now, idleTimeoutMs)) {
+                log.info("数据源 {} 的连接空闲超过 {} ms，释放连接", holder.dataSourceId, idleTimeoutMs);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        holders.values().forEach(ConnectionHolder::close);
+        holders.clear();
+        batchPool.shutdownNow();
+    }
+
+    /**
+     * 连接租约，关闭时归还；同一租约内获取的同步、异步连接属于同一代连接。
+     */
+    public static final class ConnectionLease implements Closeable {
+        private final String dataSourceId;
+        private final Generation generation;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ConnectionLease(String dataSourceId, Generation generation) {
+            this.dataSourceId = dataSourceId;
+            this.generation = generation;
+        }
+
+        public Connection getConnection() throws IOException {
+            return generation.get();
+        }
+
+        public AsyncConnection getAsyncConnection() throws IOException {
+            return generation.getAsync();
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                generation.release();
+            }
+        }
+    }
+
+    private static final class ConnectionHolder {
+        private final String dataSourceId;
+        private final MeterRegistry meterRegistry;
+        private Configuration configuration;
+        // 当前一代连接，空闲回收或配置变化后置空，下次租用时按配置重新创建
+        private volatile Generation current;
+
+        ConnectionHolder(String dataSourceId, MeterRegistry meterRegistry) {
+            this.dataSourceId = dataSourceId;
+            this.meterRegistry = meterRegistry;
+        }
+
+        synchronized ConnectionLease update(Configuration newConfiguration, boolean forceNew) {
+            boolean sameConfig = configuration != null && sameConfiguration(configuration, newConfiguration);
+            if (!forceNew && sameConfig && current != null) {
+                log.info("数据源 {} 的配置未变化，复用已有连接", dataSourceId);
+                return acquire();
+            }
+            retire();
+            configuration = newConfiguration;
+            return acquire();
+        }
+
+        synchronized Configuration copyConfiguration() {
+            return configuration == null ? null : new Configuration(configuration);
+        }
+
+        synchronized ConnectionLease acquire() {
+            if (configuration == null) {
+                throw new IllegalStateException("数据源未连接: " + dataSourceId);
+            }
+            if (current == null) {
+                current = new Generation(dataSourceId, configuration, meterRegistry);
+            }
+            current.lease();
+            return new ConnectionLease(dataSourceId, current);
+        }
+
+        synchronized boolean evictIfIdle(long now, long idleTimeoutMs) {
+            if (current == null || !current.isIdle(now, idleTimeoutMs)) {
+                return false;
+            }
+            retire();
+            return true;
+        }
+
+        /**
+         * 停止借出当前连接，已借出的租约全部归还后关闭。
+         */
+        synchronized void retire() {
+            if (current != null) {
+                current.retire();
+                current = null;
+            }
+        }
+
+        synchronized void close() {
+            if (current != null) {
+                current.closeQuietly();
+                current = null;
+            }
+        }
+
+        private static boolean sameConfiguration(Configuration a, Configuration b) {
+            for (Map.Entry<String, String> entry : b) {
+                if (!entry.getValue().equals(a.getRaw(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return a.size() == b.size();
+        }
+    }
+
+    /**
+     * 同一配置下的一代连接：同步连接、异步连接及共用的 BufferedMutator，按租约计数。
+     * 退役后不再借出，最后一个租约归还时关闭。
+     */
+    private static final class Generation {
+        private final String dataSourceId;
+        private final Configuration configuration;
+        private final MeterRegistry meterRegistry;
+        private volatile Connection connection;
+        private volatile AsyncConnection asyncConnection;
+        private final Map<TableName, BufferedMutator> mutators = new ConcurrentHashMap<>();
+        private final Object connectLock = new Object();
+        private int leases;
+        private boolean retired;
+        private long lastAccess = System.currentTimeMillis();
+
+        Generation(String dataSourceId, Configuration configuration, MeterRegistry meterRegistry) {
+            this.dataSourceId = dataSourceId;
+            this.configuration = configuration;
+            this.meterRegistry = meterRegistry;
+        }
+
+        synchronized void lease() {
+            leases++;
+            lastAccess = System.currentTimeMillis();
+        }
+
+        void release() {
+            boolean close;
+            synchronized (this) {
+                leases--;
+                lastAccess = System.currentTimeMillis();
+                close = retired && leases == 0;
+            }
+            if (close) {
+                closeQuietly();
+            }
+        }
+
+        void retire() {
+            int remaining;
+            synchronized (this) {
+                retired = true;
+                remaining = leases;
+            }
+            if (remaining == 0) {
+                closeQuietly();
+            } else {
+                log.info("数据源 {} 的旧连接仍有 {} 个操作在使用，全部结束后关闭", dataSourceId, remaining);
+            }
+        }
+
+        synchronized boolean isIdle(long now, long idleTimeoutMs) {
+            return leases == 0 && (connection != null || asyncConnection != null) && now - lastAccess > idleTimeoutMs;
+        }
+
+        Connection get() throws IOException {
+            Connection current = connection;
+            if (current != null && !current.isClosed()) {
+                return current;
+            }
+            synchronized (connectLock) {
+                if (connection == null || connection.isClosed()) {
+                    log.info("正在为数据源 {} 创建 HBase 连接...", dataSourceId);
+                    Timer.Sample sample = Timer.start(meterRegistry);
+                    connection = ConnectionFactory.createConnection(configuration);
+                    sample.stop(createTimer("sync"));
+                    log.info("数据源 {} 的 HBase 连接创建成功", dataSourceId);
+                }
+                return connection;
+            }
+        }
+
+        AsyncConnection getAsync() throws IOException {
+            AsyncConnection current = asyncConnection;
+            if (current != null && !current.isClosed()) {
+                return current;
+            }
+            synchronized (connectLock) {
+                if (asyncConnection == null || asyncConnection.isClosed()) {
+                    log.info("正在为数据源 {} 创建 HBase 异步连接...", dataSourceId);
+                    try {
+                        Timer.Sample sample = Timer.start(meterRegistry);
+                        asyncConnection = ConnectionFactory.createAsyncConnection(configuration).get();
+                        sample.stop(createTimer("async"));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("创建异步连接被中断", e);
+                    } catch (ExecutionException e) {
+                        throw new IOException(e.getCause().getMessage(), e.getCause());
+                    }
+                    log.info("数据源 {} 的 HBase 异步连接创建成功", dataSourceId);
+                }
+                return asyncConnection;
+            }
+        }
+
+        private Timer createTimer(String type) {
+            return Timer.builder("hbase.client.connection.create")
+                    .description("创建 HBase 连接的耗时")
+                    .tag("datasource", dataSourceId)
+                    .tag("type", type)
+                    .register(meterRegistry);
+        }
+
+        BufferedMutator getBufferedMutator(BufferedMutatorParams params) throws IOException {
+            Connection current = get();
+            synchronized (connectLock) {
+                BufferedMutator mutator = mutators.get(params.getTableName());
+                if (mutator == null) {
+                    mutator = current.getBufferedMutator(params);
+                    mutators.put(params.getTableName(), mutator);
+                }
+                return mutator;
+            }
+        }
+
+        void closeQuietly() {
+            synchronized (connectLock) {
+                for (BufferedMutator mutator : mutators.values()) {
+                    try {
+                        mutator.close();
+                    } catch (IOException e) {
+                        log.warn("关闭表 {} 的 BufferedMutator 失败：{}", mutator.getName(), e.getMessage());
+                    }
+                }
+                mutators.clear();
+                if (connection != null) {
+                    try {
+                        if (!connection.isClosed()) {
+                            connection.close();
+                        }
+                    } catch (IOException e) {
+                        log.warn("关闭数据源 {} 的连接失败：{}", dataSourceId, e.getMessage());
+                    }
+                    connection = null;
+                }
+                if (asyncConnection != null) {
+                    try {
+                        asyncConnection.close();
+                    } catch (IOException e) {
+                        log.warn("关闭数据源 {} 的异步连接失败：{}", dataSourceId, e.getMessage());
+                    }
+                    asyncConnection = null;
+                }
+            }
+        }
+    }
+}
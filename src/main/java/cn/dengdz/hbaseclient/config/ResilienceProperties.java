@@ -0,0 +1,205 @@
+package cn.dengdz.hbaseclient.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 按数据源隔离的并发限制与熔断配置，defaults 为全局默认值，datasources 下按数据源ID覆盖。
+ */
+@Component
+@ConfigurationProperties(prefix = "hbase-client.resilience")
+public class ResilienceProperties {
+    private Settings defaults = Settings.initial();
+    private Map<String, Settings> datasources = new HashMap<>();
+
+    public Settings getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Settings defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Settings> getDatasources() {
+        return datasources;
+    }
+
+    public void setDatasources(Map<String, Settings> datasources) {
+        this.datasources = datasources;
+    }
+
+    /**
+     * 获取数据源生效的配置，未单独配置的项沿用默认值。
+     */
+    public Settings resolve(String dataSourceId) {
+        Settings override = datasources.get(dataSourceId);
+        if (override == null) {
+            return defaults;
+        }
+        Settings settings = new Settings();
+        settings.setEnabled(pick(override.getEnabled(), defaults.getEnabled()));
+        settings.setReadConcurrency(pick(override.getReadConcurrency(), defaults.getReadConcurrency()));
+        settings.setWriteConcurrency(pick(override.getWriteConcurrency(), defaults.getWriteConcurrency()));
+        settings.setAdminConcurrency(pick(override.getAdminConcurrency(), defaults.getAdminConcurrency()));
+        settings.setMaxQueue(pick(override.getMaxQueue(), defaults.getMaxQueue()));
+        settings.setMaxWaitMs(pick(override.getMaxWaitMs(), defaults.getMaxWaitMs()));
+        settings.setWindowSize(pick(override.getWindowSize(), defaults.getWindowSize()));
+        settings.setMinimumCalls(pick(override.getMinimumCalls(), defaults.getMinimumCalls()));
+        settings.setFailureRateThreshold(pick(override.getFailureRateThreshold(), defaults.getFailureRateThreshold()));
+        settings.setSlowCallThresholdMs(pick(override.getSlowCallThresholdMs(), defaults.getSlowCallThresholdMs()));
+        settings.setSlowCallRateThreshold(pick(override.getSlowCallRateThreshold(), defaults.getSlowCallRateThreshold()));
+        settings.setOpenDurationMs(pick(override.getOpenDurationMs(), defaults.getOpenDurationMs()));
+        settings.setHalfOpenCalls(pick(override.getHalfOpenCalls(), defaults.getHalfOpenCalls()));
+        return settings;
+    }
+
+    private static <T> T pick(T value, T fallback) {
+        return value != null ? value : fallback;
+    }
+
+    public static class Settings {
+        private Boolean enabled;
+        // 读、写、管理操作各自的最大并发数
+        private Integer readConcurrency;
+        private Integer writeConcurrency;
+        private Integer adminConcurrency;
+        // 并发已满时每类操作最多排队的请求数及最长等待时间，超出后直接拒绝
+        private Integer maxQueue;
+        private Long maxWaitMs;
+        // 熔断按最近 windowSize 次调用统计，调用数不足 minimumCalls 时不熔断
+        private Integer windowSize;
+        private Integer minimumCalls;
+        // 失败率或慢调用率（百分比）达到阈值时熔断
+        private Integer failureRateThreshold;
+        private Long slowCallThresholdMs;
+        private Integer slowCallRateThreshold;
+        // 熔断持续时间，之后放行 halfOpenCalls 次试探调用，全部成功才恢复
+        private Long openDurationMs;
+        private Integer halfOpenCalls;
+
+        static Settings initial() {
+            Settings settings = new Settings();
+            settings.setEnabled(true);
+            settings.setReadConcurrency(64);
+            settings.setWriteConcurrency(32);
+            settings.setAdminConcurrency(8);
+            settings.setMaxQueue(100);
+            settings.setMaxWaitMs(1000L);
+            settings.setWindowSize(50);
+            settings.setMinimumCalls(20);
+            settings.setFailureRateThreshold(50);
+            settings.setSlowCallThresholdMs(10000L);
+            settings.setSlowCallRateThreshold(80);
+            settings.setOpenDurationMs(30000L);
+            settings.setHalfOpenCalls(3);
+            return settings;
+        }
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Integer getReadConcurrency() {
+            return readConcurrency;
+        }
+
+        public void setReadConcurrency(Integer readConcurrency) {
+            this.readConcurrency = readConcurrency;
+        }
+
+        public Integer getWriteConcurrency() {
+            return writeConcurrency;
+        }
+
+        public void setWriteConcurrency(Integer writeConcurrency) {
+            this.writeConcurrency = writeConcurrency;
+        }
+
+        public Integer getAdminConcurrency() {
+            return adminConcurrency;
+        }
+
+        public void setAdminConcurrency(Integer adminConcurrency) {
+            this.adminConcurrency = adminConcurrency;
+        }
+
+        public Integer getMaxQueue() {
+            return maxQueue;
+        }
+
+        public void setMaxQueue(Integer maxQueue) {
+            this.maxQueue = maxQueue;
+        }
+
+        public Long getMaxWaitMs() {
+            return maxWaitMs;
+        }
+
+        public void setMaxWaitMs(Long maxWaitMs) {
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        public Integer getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(Integer windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public Integer getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(Integer minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public Integer getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(Integer failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public Long getSlowCallThresholdMs() {
+            return slowCallThresholdMs;
+        }
+
+        public void setSlowCallThresholdMs(Long slowCallThresholdMs) {
+            this.slowCallThresholdMs = slowCallThresholdMs;
+        }
+
+        public Integer getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(Integer slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public Long getOpenDurationMs() {
+            return openDurationMs;
+        }
+
+        public void setOpenDurationMs(Long openDurationMs) {
+            this.openDurationMs = openDurationMs;
+        }
+
+        public Integer getHalfOpenCalls() {
+            return halfOpenCalls;
+        }
+
+        public void setHalfOpenCalls(Integer halfOpenCalls) {
+            this.halfOpenCalls = halfOpenCalls;
+        }
+    }
+}
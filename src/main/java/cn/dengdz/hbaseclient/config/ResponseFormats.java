@@ -0,0 +1,126 @@
+package cn.dengdz.hbaseclient.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * JSON、CBOR、MessagePack 三种响应格式共用 spring.jackson 的配置。
+ * 普通响应由对应的 HttpMessageConverter 按 Accept 头协商；流式扫描逐条输出、详细跟踪时自行序列化响应，按同样的协商结果选择格式。
+ */
+@Component
+public class ResponseFormats {
+
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    public static final MediaType CBOR_SEQ = MediaType.parseMediaType("application/cbor-seq");
+
+    private final Format json;
+    private final Format cbor;
+    private final Format ndjson;
+    private final Format cborSeq;
+    private final Format msgpack;
+
+    /**
+     * Jackson2ObjectMapperBuilder 为原型作用域，每个参数各自得到一个新的构建器。
+     */
+    @Autowired
+    public ResponseFormats(ObjectMapper objectMapper,
+                           Jackson2ObjectMapperBuilder cborBuilder,
+                           Jackson2ObjectMapperBuilder msgpackBuilder) {
+        ObjectMapper cborMapper = cborBuilder.factory(new CBORFactory()).build();
+        this.json = new Format(MediaType.APPLICATION_JSON, objectMapper, false);
+        this.cbor = new Format(MediaType.APPLICATION_CBOR, cborMapper, false);
+        this.ndjson = new Format(NDJSON, objectMapper, true);
+        this.cborSeq = new Format(CBOR_SEQ, cborMapper, false);
+        this.msgpack = new Format(MessagePackHttpMessageConverter.APPLICATION_MSGPACK,
+                msgpackBuilder.factory(new MessagePackFactory()).build(), false);
+    }
+
+    public ObjectMapper getCborMapper() {
+        return cborSeq.mapper;
+    }
+
+    public ObjectMapper getMessagePackMapper() {
+        return msgpack.mapper;
+    }
+
+    /**
+     * 按客户端可接受的类型（已按优先级排序）选择普通响应的格式，与消息转换器的顺序一致，都不支持时返回 JSON。
+     */
+    public Format negotiate(List<MediaType> accepted) {
+        for (MediaType mediaType : accepted) {
+            if (mediaType.isWildcardType()) {
+                return json;
+            }
+            String subtype = mediaType.getSubtype();
+            if ("cbor".equals(subtype)) {
+                return cbor;
+            }
+            if ("x-msgpack".equals(subtype) || "msgpack".equals(subtype)) {
+                return msgpack;
+            }
+            if ("json".equals(subtype)) {
+                return json;
+            }
+        }
+        return json;
+    }
+
+    /**
+     * 按客户端可接受的类型（已按优先级排序）选择流式输出格式，都不支持时输出 NDJSON。
+     * 二进制格式的每条记录自带长度，直接首尾相接；NDJSON 每条一行。
+     */
+    public Format negotiateStream(List<MediaType> accepted) {
+        for (MediaType mediaType : accepted) {
+            if (mediaType.isWildcardType()) {
+                return ndjson;
+            }
+            String subtype = mediaType.getSubtype();
+            if ("cbor".equals(subtype) || "cbor-seq".equals(subtype)) {
+                return cborSeq;
+            }
+            if ("x-msgpack".equals(subtype) || "msgpack".equals(subtype)) {
+                return msgpack;
+            }
+            if ("json".equals(subtype) || "x-ndjson".equals(subtype)) {
+                return ndjson;
+            }
+        }
+        return ndjson;
+    }
+
+    public static final class Format {
+        private final MediaType mediaType;
+        private final ObjectMapper mapper;
+        private final boolean lineDelimited;
+
+        Format(MediaType mediaType, ObjectMapper mapper, boolean lineDelimited) {
+            this.mediaType = mediaType;
+            this.mapper = mapper;
+            this.lineDelimited = lineDelimited;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public byte[] writeValueAsBytes(Object value) throws IOException {
+            return mapper.writeValueAsBytes(value);
+        }
+
+        public void write(OutputStream out, Object record) throws IOException {
+            out.write(mapper.writeValueAsBytes(record));
+            if (lineDelimited) {
+                out.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package cn.dengdz.hbaseclient.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 行缓存配置，defaults 为全局默认值，datasources 下按数据源ID覆盖。
+ */
+@Component
+@ConfigurationProperties(prefix = "hbase-client.row-cache")
+public class RowCacheProperties {
+    private Settings defaults = Settings.initial();
+    private Map<String, Settings> datasources = new HashMap<>();
+
+    public Settings getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Settings defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<String, Settings> getDatasources() {
+        return datasources;
+    }
+
+    public void setDatasources(Map<String, Settings> datasources) {
+        this.datasources = datasources;
+    }
+
+    /**
+     * 获取数据源生效的配置，未单独配置的项沿用默认值。
+     */
+    public Settings resolve(String dataSourceId) {
+        Settings override = datasources.get(dataSourceId);
+        if (override == null) {
+            return defaults;
+        }
+        Settings settings = new Settings();
+        settings.setEnabled(override.getEnabled() != null ? override.getEnabled() : defaults.getEnabled());
+        settings.setMaximumSize(override.getMaximumSize() != null ? override.getMaximumSize() : defaults.getMaximumSize());
+        settings.setMaximumWeight(override.getMaximumWeight() != null ? override.getMaximumWeight() : defaults.getMaximumWeight());
+        settings.setTtlMs(override.getTtlMs() != null ? override.getTtlMs() : defaults.getTtlMs());
+        return settings;
+    }
+
+    public static class Settings {
+        private Boolean enabled;
+        // 最大缓存行数
+        private Long maximumSize;
+        // 缓存行估算字节数上限
+        private Long maximumWeight;
+        private Long ttlMs;
+
+        static Settings initial() {
+            Settings settings = new Settings();
+            settings.setEnabled(false);
+            settings.setMaximumSize(10000L);
+            settings.setMaximumWeight(64L * 1024 * 1024);
+            settings.setTtlMs(30000L);
+            return settings;
+        }
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(Long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public void setMaximumWeight(Long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        public Long getTtlMs() {
+            return ttlMs;
+        }
+
+        public void setTtlMs(Long ttlMs) {
+            this.ttlMs = ttlMs;
+        }
+    }
+}
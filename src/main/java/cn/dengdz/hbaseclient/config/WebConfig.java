@@ -0,0 +1,48 @@
+package cn.dengdz.hbaseclient.config;
+
+import org.eclipse.jetty.server.handler.gzip.GzipHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.embedded.jetty.JettyServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 响应格式与压缩。除 JSON 外按 Accept 头（或 responseFormat 参数）支持 CBOR 和 MessagePack，
+ * 压缩由 server.compression 开启，这里只调整 Jetty 的 gzip 行为。
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private ResponseFormats responseFormats;
+
+    /**
+     * 二进制格式的转换器追加在 JSON 之后，未指定 Accept 或 Accept 为通配时仍返回 JSON。
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(responseFormats.getCborMapper()));
+        converters.add(new MessagePackHttpMessageConverter(responseFormats.getMessagePackMapper()));
+    }
+
+    /**
+     * 流式扫描每输出一批行就 flush，gzip 默认在压缩缓冲区满之前不会输出，
+     * 开启 syncFlush 后客户端能边扫描边收到数据。
+     */
+    @Bean
+    public WebServerFactoryCustomizer<JettyServletWebServerFactory> gzipSyncFlushCustomizer() {
+        return factory -> factory.addServerCustomizers(server -> {
+            GzipHandler gzipHandler = server.getChildHandlerByClass(GzipHandler.class);
+            if (gzipHandler != null) {
+                gzipHandler.setSyncFlush(true);
+            }
+        });
+    }
+}
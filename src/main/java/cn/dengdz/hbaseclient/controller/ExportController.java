@@ -0,0 +1,158 @@
+package cn.dengdz.hbaseclient.controller;
+
+import cn.dengdz.hbaseclient.model.ExportRequest;
+import cn.dengdz.hbaseclient.model.ValueEncoding;
+import cn.dengdz.hbaseclient.service.ExportService;
+import cn.dengdz.hbaseclient.service.export.ExportCompression;
+import cn.dengdz.hbaseclient.service.export.ExportFormat;
+import cn.dengdz.hbaseclient.service.job.Job;
+import cn.dengdz.hbaseclient.util.DataSourceContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/api")
+@CrossOrigin
+public class ExportController {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportController.class);
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 0 表示不限时长
+    @Value("${hbase-client.export.download-timeout-ms:0}")
+    private long downloadTimeoutMs;
+
+    /**
+     * 以分块传输直接下载导出结果。大表导出的耗时可能远超全局的异步请求超时，改用单独的 download-timeout-ms。
+     */
+    @GetMapping("/datasource/{id}/export")
+    public WebAsyncTask<Void> download(@PathVariable String id,
+                                       @RequestParam String table,
+                                       @RequestParam(required = false) String startRow,
+                                       @RequestParam(required = false) String stopRow,
+                                       @RequestParam(required = false) List<String> columns,
+                                       @RequestParam(required = false) String format,
+                                       @RequestParam(required = false) String compression,
+                                       @RequestParam(required = false) String encoding,
+                                       @RequestParam(defaultValue = "false") boolean parallel,
+                                       @RequestParam(defaultValue = "0") int limit,
+                                       @RequestParam(defaultValue = "false") boolean snapshot,
+                                       @RequestParam(required = false) String snapshotName,
+                                       HttpServletResponse response) throws IOException {
+        ExportRequest request;
+        try {
+            request = toExportRequest(table, startRow, stopRow, columns, format, compression, encoding, parallel, limit,
+                    snapshot, snapshotName);
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Collections.singletonMap("error", e.getMessage()));
+            return null;
+        }
+
+        response.setContentType(request.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(request.getFileName(), StandardCharsets.UTF_8).build().toString());
+        return new WebAsyncTask<>(downloadTimeoutMs, () -> {
+            DataSourceContext.setCurrentDataSourceId(id);
+            Job job;
+            try {
+                job = exportService.export(request, response.getOutputStream());
+            } catch (Exception e) {
+                throw new IOException(e.getMessage(), e);
+            } finally {
+                DataSourceContext.clear();
+            }
+            // 已经开始输出后无法再返回错误状态，中断响应让客户端感知下载不完整
+            if (job.getState() != Job.State.SUCCEEDED) {
+                log.error("导出表 {} 未完成，状态：{}，原因：{}", table, job.getState(), job.getError());
+                throw new IOException("导出未完成: " + job.getError());
+            }
+            response.getOutputStream().flush();
+            return null;
+        });
+    }
+
+    /**
+     * 提交后台任务导出到服务端本地文件，通过任务接口查询进度和文件路径。
+     */
+    @PostMapping("/datasource/{id}/export")
+    public ResponseEntity<?> startExport(@PathVariable String id,
+                                         @RequestBody Map<String, Object> request) {
+        try {
+            DataSourceContext.setCurrentDataSourceId(id);
+            ExportRequest exportRequest = toExportRequest(
+                    Objects.toString(request.get("table"), null),
+                    Objects.toString(request.get("startRow"), null),
+                    Objects.toString(request.get("stopRow"), null),
+                    toStringList(request.get("columns")),
+                    Objects.toString(request.get("format"), null),
+                    Objects.toString(request.get("compression"), null),
+                    Objects.toString(request.get("encoding"), null),
+                    Boolean.parseBoolean(Objects.toString(request.get("parallel"), "false")),
+                    Integer.parseInt(Objects.toString(request.get("limit"), "0")),
+                    Boolean.parseBoolean(Objects.toString(request.get("snapshot"), "false")),
+                    Objects.toString(request.get("snapshotName"), null));
+            return ResponseEntity.ok(exportService.startExport(exportRequest));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+        } finally {
+            DataSourceContext.clear();
+        }
+    }
+
+    private static ExportRequest toExportRequest(String table, String startRow, String stopRow, List<String> columns,
+                                                 String format, String compression, String encoding,
+                                                 boolean parallel, int limit, boolean snapshot, String snapshotName) {
+        if (table == null || table.isEmpty()) {
+            throw new IllegalArgumentException("表名不能为空");
+        }
+        ExportRequest request = new ExportRequest();
+        request.setTable(table);
+        request.setStartRow(startRow);
+        request.setStopRow(stopRow);
+        request.setColumns(columns);
+        request.setFormat(ExportFormat.of(format));
+        request.setCompression(ExportCompression.of(compression));
+        request.setEncoding(ValueEncoding.of(encoding));
+        request.setParallel(parallel);
+        request.setLimit(limit);
+        request.setSnapshot(snapshot);
+        request.setSnapshotName(snapshotName);
+        return request;
+    }
+
+    private static List<String> toStringList(Object value) {
+        if (!(value instanceof List)) {
+            return null;
+        }
+        List<String> list = new ArrayList<>();
+        for (Object item : (List<?>) value) {
+            list.add(String.valueOf(item));
+        }
+        return list;
+    }
+}
@@ -1,28 +1,93 @@
 package cn.dengdz.hbaseclient.controller;
 
+import cn.dengdz.hbaseclient.config.ClientPolicyProperties;
+import cn.dengdz.hbaseclient.config.ResponseFormats;
+import cn.dengdz.hbaseclient.mapper.support.DataSourceGuard;
+import cn.dengdz.hbaseclient.mapper.support.DataSourceUnavailableException;
+import cn.dengdz.hbaseclient.metrics.OperationTrace;
+import cn.dengdz.hbaseclient.metrics.SlowOperationLog;
+import cn.dengdz.hbaseclient.metrics.TraceContext;
+import cn.dengdz.hbaseclient.model.CellData;
 import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.ImportRequest;
+import cn.dengdz.hbaseclient.model.RangeDeleteRequest;
+import cn.dengdz.hbaseclient.model.RowProjection;
+import cn.dengdz.hbaseclient.model.ScanRequest;
+import cn.dengdz.hbaseclient.model.ValueEncoding;
+import cn.dengdz.hbaseclient.service.AsyncHBaseService;
 import cn.dengdz.hbaseclient.service.HBaseService;
+import cn.dengdz.hbaseclient.service.ImportService;
+import cn.dengdz.hbaseclient.service.job.Job;
+import cn.dengdz.hbaseclient.service.tail.TailManager;
 import cn.dengdz.hbaseclient.util.DataSourceContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hadoop.hbase.client.Durability;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 
 @RestController
 @RequestMapping("/api")
-@CrossOrigin
+@CrossOrigin(exposedHeaders = "X-HBase-Trace")
 public class HBaseController {
 
     private static final Logger log = LoggerFactory.getLogger(HBaseController.class);
 
+    private static final int STREAM_FLUSH_ROWS = 100;
+    private static final String TRACE_HEADER = "X-HBase-Trace";
+
     @Autowired
     private HBaseService hbaseService;
 
+    @Autowired
+    private AsyncHBaseService asyncHBaseService;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SlowOperationLog slowOperationLog;
+
+    @Autowired
+    private DataSourceGuard dataSourceGuard;
+
+    @Autowired
+    private ResponseFormats responseFormats;
+
+    // 非 Web 环境（如基准测试）没有 MVC 的协商管理器，此时按默认的 Accept 头策略协商
+    @Autowired
+    private ObjectProvider<ContentNegotiationManager> contentNegotiationManager;
+
+    @Autowired
+    private TailManager tailManager;
+
+    @Value("${hbase-client.filter-query.max-limit:1000}")
+    private int filterQueryMaxLimit;
+
     @PostMapping("/connect")
     public ResponseEntity<?> connect(@RequestBody Map<String, String> request) {
         try {
@@ -36,17 +101,25 @@ public class HBaseController {
             response.put("tables", tables);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            return error(e);
         }
     }
 
     @GetMapping("/query")
-    public ResponseEntity<?> query(@RequestParam String table, @RequestParam String rowkey) {
+    public ResponseEntity<?> query(@RequestParam String table, @RequestParam String rowkey,
+                                   @RequestParam(defaultValue = "false") boolean trace,
+                                   NativeWebRequest webRequest) {
+        OperationTrace operationTrace = TraceContext.start("getRow", null, table, trace);
+        Exception error = null;
         try {
             HBaseData data = hbaseService.getRow(table, rowkey);
-            return ResponseEntity.ok(data.getFamilyMap());
+            return traced(operationTrace, bodyFormat(webRequest), data);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            error = e;
+            return error(e);
+        } finally {
+            TraceContext.clear();
+            slowOperationLog.finish(operationTrace, error);
         }
     }
 
@@ -57,7 +130,38 @@ public class HBaseController {
             hbaseService.uploadConfig(coreSite, hbaseSite);
             return ResponseEntity.ok(Collections.singletonMap("message", "配置文件上传成功"));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            return error(e);
+        }
+    }
+
+    /**
+     * 上传 CSV 或 NDJSON 文件批量导入，返回后台任务，通过任务接口查询进度和逐行错误。
+     */
+    @PostMapping("/datasource/{id}/import")
+    public ResponseEntity<?> importData(@PathVariable String id,
+                                        @RequestParam("file") MultipartFile file,
+                                        @RequestParam String table,
+                                        @RequestParam(required = false) String format,
+                                        @RequestParam(defaultValue = "rowkey") String rowKeyColumn,
+                                        @RequestParam(required = false) String family,
+                                        @RequestParam(defaultValue = "8388608") long writeBufferSize,
+                                        @RequestParam(defaultValue = "4") int parallelism,
+                                        @RequestParam(required = false) String durability) {
+        try {
+            DataSourceContext.setCurrentDataSourceId(id);
+            ImportRequest request = new ImportRequest();
+            request.setTable(table);
+            request.setFormat(format);
+            request.setRowKeyColumn(rowKeyColumn);
+            request.setFamily(family);
+            request.setWriteBufferSize(writeBufferSize);
+            request.setParallelism(parallelism);
+            request.setDurability(toDurability(durability));
+            return ResponseEntity.ok(importService.startImport(request, file));
+        } catch (Exception e) {
+            return error(e);
+        } finally {
+            DataSourceContext.clear();
         }
     }
 
@@ -67,17 +171,34 @@ public class HBaseController {
             boolean configured = hbaseService.checkConfigExists();
             return ResponseEntity.ok(Collections.singletonMap("configured", configured));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            return error(e);
         }
     }
 
     @GetMapping("/list-rows")
-    public ResponseEntity<?> listRows(@RequestParam String table, @RequestParam(defaultValue = "100") int limit) {
+    public ResponseEntity<?> listRows(@RequestParam String table, @RequestParam(defaultValue = "100") int limit,
+                                      @RequestParam(defaultValue = "false") boolean trace,
+                                      NativeWebRequest webRequest) {
+        OperationTrace operationTrace = TraceContext.start("listRows", null, table, trace);
+        Exception error = null;
         try {
             List<String> rowkeys = hbaseService.listRows(table, limit);
-            return ResponseEntity.ok(Collections.singletonMap("rowkeys", rowkeys));
+            return traced(operationTrace, bodyFormat(webRequest), Collections.singletonMap("rowkeys", rowkeys));
+        } catch (Exception e) {
+            error = e;
+            return error(e);
+        } finally {
+            TraceContext.clear();
+            slowOperationLog.finish(operationTrace, error);
+        }
+    }
+
+    @GetMapping("/datasources")
+    public ResponseEntity<?> listDataSources() {
+        try {
+            return ResponseEntity.ok(hbaseService.listDataSources());
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            return error(e);
         }
     }
 
@@ -87,7 +208,7 @@ public class HBaseController {
             hbaseService.deleteConfig(id);
             return ResponseEntity.ok(Collections.singletonMap("message", "数据源已删除"));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            return error(e);
         }
     }
 
@@ -104,7 +225,7 @@ public class HBaseController {
             response.put("tables", tables);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            return error(e);
         } finally {
             DataSourceContext.clear();
         }
@@ -119,7 +240,7 @@ public class HBaseController {
             hbaseService.uploadConfig(coreSite, hbaseSite);
             return ResponseEntity.ok(Collections.singletonMap("message", "配置文件上传成功"));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            return error(e);
         } finally {
             DataSourceContext.clear();
         }
@@ -138,76 +259,257 @@ public class HBaseController {
             return ResponseEntity.ok(Collections.singletonMap("tables", tables));
         } catch (Exception e) {
             log.error("连接数据源失败: {}", e.getMessage(), e);
-            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            return error(e);
         } finally {
             DataSourceContext.clear();
         }
     }
 
     @GetMapping("/datasource/{id}/list-rows")
-    public ResponseEntity<?> listRows(@PathVariable String id, 
+    public CompletableFuture<ResponseEntity<?>> listRows(@PathVariable String id, 
                                     @RequestParam String table,
                                     @RequestParam(required = false) String rowkey,
-                                    @RequestParam(required = false, defaultValue = "100") int limit) {
+                                    @RequestParam(required = false, defaultValue = "100") int limit,
+                                    @RequestParam(defaultValue = "false") boolean trace,
+                                    NativeWebRequest webRequest) {
+        boolean search = rowkey != null && !rowkey.trim().isEmpty();
+        OperationTrace operationTrace = TraceContext.start(search ? "searchRows" : "listRows", id, table, trace);
+        // 回调在 HBase 客户端线程上执行，响应格式在请求线程上确定
+        ResponseFormats.Format format = bodyFormat(webRequest);
         try {
             DataSourceContext.setCurrentDataSourceId(id);
-            List<String> rowkeys;
+            CompletableFuture<List<String>> rowkeys;
             
-            if (rowkey != null && !rowkey.trim().isEmpty()) {
+            if (search) {
                 // 如果指定了rowkey，只返回匹配的结果
-                rowkeys = hbaseService.searchRows(table, rowkey);
+                rowkeys = asyncHBaseService.searchRows(table, rowkey);
             } else {
                 // 否则返回前limit条
-                rowkeys = hbaseService.listRows(table, limit);
+                rowkeys = asyncHBaseService.listRows(table, limit);
             }
             
-            return ResponseEntity.ok(Collections.singletonMap("rowkeys", rowkeys));
+            return rowkeys
+                    .<ResponseEntity<?>>thenApply(keys -> traced(operationTrace, format, Collections.singletonMap("rowkeys", keys)))
+                    .whenComplete((response, error) -> slowOperationLog.finish(operationTrace, error))
+                    .exceptionally(HBaseController::asyncError);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            slowOperationLog.finish(operationTrace, e);
+            return CompletableFuture.completedFuture(asyncError(e));
         } finally {
+            TraceContext.clear();
             DataSourceContext.clear();
         }
     }
 
+    @GetMapping("/datasource/{id}/scan")
+    public ResponseEntity<StreamingResponseBody> scan(@PathVariable String id,
+                                                      @RequestParam String table,
+                                                      @RequestParam(required = false) String startRow,
+                                                      @RequestParam(required = false) String stopRow,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "false") boolean reversed,
+                                                      @RequestParam(defaultValue = "0") int caching,
+                                                      @RequestParam(defaultValue = "100") int limit,
+                                                      @RequestParam(defaultValue = "false") boolean keysOnly,
+                                                      @RequestParam(defaultValue = "false") boolean parallel,
+                                                      @RequestParam(defaultValue = "true") boolean ordered,
+                                                      @RequestParam(required = false) String filter,
+                                                      @RequestParam(required = false) String encoding,
+                                                      @RequestParam(required = false) Long minTimestamp,
+                                                      @RequestParam(required = false) Long maxTimestamp,
+                                                      @RequestParam(defaultValue = "false") boolean snapshot,
+                                                      @RequestParam(required = false) String snapshotName,
+                                                      NativeWebRequest webRequest) {
+        ValueEncoding valueEncoding;
+        ResponseFormats.Format format;
+        try {
+            valueEncoding = ValueEncoding.of(encoding);
+            format = responseFormats.negotiateStream(negotiationManager().resolveMediaTypes(webRequest));
+        } catch (IllegalArgumentException | HttpMediaTypeNotAcceptableException e) {
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> writeLine(out, Collections.singletonMap("error", e.getMessage())));
+        }
+
+        // 响应开始后无法再修改状态码，熔断时提前拒绝
+        if (dataSourceGuard.isOpen(id)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> writeLine(out, Collections.singletonMap("error", "数据源 " + id + " 已熔断，请稍后重试")));
+        }
+
+        ScanRequest scanRequest = new ScanRequest();
+        scanRequest.setStartRow(startRow);
+        scanRequest.setStopRow(stopRow);
+        scanRequest.setCursor(cursor);
+        scanRequest.setReversed(reversed);
+        scanRequest.setCaching(caching);
+        scanRequest.setLimit(limit);
+        scanRequest.setKeysOnly(keysOnly);
+        scanRequest.setParallel(parallel);
+        scanRequest.setOrdered(ordered);
+        scanRequest.setFilter(filter);
+        scanRequest.setMinTimestamp(minTimestamp);
+        scanRequest.setMaxTimestamp(maxTimestamp);
+        scanRequest.setSnapshot(snapshot);
+        scanRequest.setSnapshotName(snapshotName);
+
+        // 逐条输出 NDJSON、CBOR 序列或 MessagePack 序列，最后一条为续扫游标
+        StreamingResponseBody body = out -> {
+            DataSourceContext.setCurrentDataSourceId(id);
+            try {
+                int[] written = {0};
+                String nextCursor = hbaseService.scanRows(table, scanRequest, row -> {
+                    Map<String, Object> line = new LinkedHashMap<>();
+                    line.put("rowkey", row.getRowKey());
+                    line.put("data", row.withEncoding(valueEncoding));
+                    format.write(out, line);
+                    if (++written[0] % STREAM_FLUSH_ROWS == 0) {
+                        out.flush();
+                    }
+                });
+                format.write(out, Collections.singletonMap("cursor", nextCursor));
+            } catch (Exception e) {
+                log.error("扫描表 {} 失败: {}", table, e.getMessage());
+                format.write(out, Collections.singletonMap("error", e.getMessage()));
+            } finally {
+                DataSourceContext.clear();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .body(body);
+    }
+
+    /**
+     * 以 SSE 推送表的新写入，同一张表的所有订阅者共用一个轮询任务。
+     * 事件：row 为新增或修改的单元格，overflow 表示单次轮询超出行数上限需要重新加载，
+     * watermark 为心跳及当前水位，error 为轮询失败（会自动重试）。
+     */
+    @GetMapping(value = "/datasource/{id}/tail", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter tail(@PathVariable String id,
+                           @RequestParam String table,
+                           @RequestParam(required = false) String encoding) {
+        try {
+            return tailManager.subscribe(id, table, ValueEncoding.of(encoding));
+        } catch (IllegalArgumentException e) {
+            SseEmitter emitter = new SseEmitter();
+            try {
+                emitter.send(SseEmitter.event().name("error")
+                        .data(Collections.singletonMap("error", e.getMessage()), MediaType.APPLICATION_JSON));
+                emitter.complete();
+            } catch (IOException ex) {
+                emitter.completeWithError(ex);
+            }
+            return emitter;
+        }
+    }
+
+    @GetMapping("/tails")
+    public ResponseEntity<?> listTails() {
+        return ResponseEntity.ok(tailManager.list());
+    }
+
     @GetMapping("/datasource/{id}/query")
-    public ResponseEntity<?> query(@PathVariable String id,
+    public CompletableFuture<ResponseEntity<?>> query(@PathVariable String id,
                                  @RequestParam String table, 
-                                 @RequestParam String rowkey) {
+                                 @RequestParam String rowkey,
+                                 @RequestParam(required = false) List<String> columns,
+                                 @RequestParam(required = false) Long minTimestamp,
+                                 @RequestParam(required = false) Long maxTimestamp,
+                                 @RequestParam(defaultValue = "1") int versions,
+                                 @RequestParam(required = false) String encoding,
+                                 @RequestParam(defaultValue = "false") boolean trace,
+                                 NativeWebRequest webRequest) {
+        OperationTrace operationTrace = TraceContext.start("getRow", id, table, trace);
+        ResponseFormats.Format format = bodyFormat(webRequest);
         try {
             DataSourceContext.setCurrentDataSourceId(id);
-            HBaseData data = hbaseService.getRow(table, rowkey);
-            return ResponseEntity.ok(data.getFamilyMap());
+            ValueEncoding valueEncoding = ValueEncoding.of(encoding);
+            RowProjection projection = toProjection(columns, minTimestamp, maxTimestamp, versions);
+            return asyncHBaseService.getRow(table, rowkey, projection)
+                    .<ResponseEntity<?>>thenApply(data -> traced(operationTrace, format, data.withEncoding(valueEncoding)))
+                    .whenComplete((response, error) -> slowOperationLog.finish(operationTrace, error))
+                    .exceptionally(HBaseController::asyncError);
+        } catch (Exception e) {
+            slowOperationLog.finish(operationTrace, e);
+            return CompletableFuture.completedFuture(asyncError(e));
+        } finally {
+            TraceContext.clear();
+            DataSourceContext.clear();
+        }
+    }
+
+    @PostMapping("/datasource/{id}/multi-query")
+    public CompletableFuture<ResponseEntity<?>> multiQuery(@PathVariable String id,
+                                      @RequestBody Map<String, Object> request) {
+        try {
+            DataSourceContext.setCurrentDataSourceId(id);
+
+            String table = (String) request.get("table");
+            List<String> rowkeys = toStringList(request.get("rowkeys"));
+            if (rowkeys == null || rowkeys.isEmpty()) {
+                throw new IllegalArgumentException("rowkeys 不能为空");
+            }
+            ValueEncoding valueEncoding = ValueEncoding.of((String) request.get("encoding"));
+            RowProjection projection = toProjection(
+                    toStringList(request.get("columns")),
+                    toLong(request.get("minTimestamp")),
+                    toLong(request.get("maxTimestamp")),
+                    request.get("versions") != null ? toLong(request.get("versions")).intValue() : 1);
+
+            return asyncHBaseService.getRows(table, rowkeys, projection)
+                    .<ResponseEntity<?>>thenApply(rows -> {
+                        Map<String, Object> response = new LinkedHashMap<>();
+                        for (HBaseData row : rows) {
+                            response.put(row.getRowKey(), row.withEncoding(valueEncoding));
+                        }
+                        return ResponseEntity.ok(response);
+                    })
+                    .exceptionally(HBaseController::asyncError);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            return CompletableFuture.completedFuture(asyncError(e));
         } finally {
             DataSourceContext.clear();
         }
     }
 
     @PostMapping("/datasource/{id}/add-data")
-    public ResponseEntity<?> addData(@PathVariable String id,
-                               @RequestBody Map<String, String> request) {
+    public CompletableFuture<ResponseEntity<?>> addData(@PathVariable String id,
+                               @RequestBody Map<String, Object> request) {
         try {
             DataSourceContext.setCurrentDataSourceId(id);
             
-            String table = request.get("table");
-            String rowKey = request.get("rowKey");
-            String columnFamily = request.get("columnFamily");
-            String column = request.get("column");
-            String value = request.get("value");
+            String table = (String) request.get("table");
+            List<CellData> cells = new ArrayList<>();
+            Object rawCells = request.get("cells");
+            if (rawCells instanceof List) {
+                // 批量写入：cells 为多个 {rowKey, columnFamily, column, value}
+                for (Object rawCell : (List<?>) rawCells) {
+                    cells.add(toCellData((Map<?, ?>) rawCell));
+                }
+            } else {
+                cells.add(toCellData(request));
+            }
 
-            hbaseService.addData(table, rowKey, columnFamily, column, value);
-            
-            return ResponseEntity.ok(Collections.singletonMap("message", "数据添加成功"));
+            return asyncHBaseService.addData(table, cells)
+                    .<ResponseEntity<?>>thenApply(ignored -> {
+                        Map<String, Object> response = new HashMap<>();
+                        response.put("message", "数据添加成功");
+                        response.put("count", cells.size());
+                        return ResponseEntity.ok(response);
+                    })
+                    .exceptionally(HBaseController::asyncError);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            return CompletableFuture.completedFuture(asyncError(e));
         } finally {
             DataSourceContext.clear();
         }
     }
 
     @DeleteMapping("/datasource/{id}/delete-data")
-    public ResponseEntity<?> deleteData(@PathVariable String id,
+    public CompletableFuture<ResponseEntity<?>> deleteData(@PathVariable String id,
                                   @RequestBody Map<String, String> request) {
         try {
             DataSourceContext.setCurrentDataSourceId(id);
@@ -215,16 +517,144 @@ public class HBaseController {
             String table = request.get("table");
             String rowKey = request.get("rowKey");
 
-            hbaseService.deleteData(table, rowKey);
-            
-            return ResponseEntity.ok(Collections.singletonMap("message", "数据删除成功"));
+            return asyncHBaseService.deleteData(table, rowKey)
+                    .<ResponseEntity<?>>thenApply(ignored ->
+                            ResponseEntity.ok(Collections.singletonMap("message", "数据删除成功")))
+                    .exceptionally(HBaseController::asyncError);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(asyncError(e));
+        } finally {
+            DataSourceContext.clear();
+        }
+    }
+
+    @PostMapping("/datasource/{id}/count")
+    public ResponseEntity<?> count(@PathVariable String id,
+                                 @RequestBody Map<String, String> request) {
+        try {
+            DataSourceContext.setCurrentDataSourceId(id);
+            Job job = hbaseService.startCount(request.get("table"), request.get("startRow"), request.get("stopRow"),
+                    Boolean.parseBoolean(request.get("snapshot")), request.get("snapshotName"));
+            return ResponseEntity.ok(job);
+        } catch (Exception e) {
+            return error(e);
+        } finally {
+            DataSourceContext.clear();
+        }
+    }
+
+    /**
+     * 按过滤表达式查询，过滤在 RegionServer 上执行，结果分页返回，用 cursor 续查下一页。
+     */
+    @PostMapping("/datasource/{id}/filter-query")
+    public ResponseEntity<?> filterQuery(@PathVariable String id,
+                                         @RequestBody Map<String, Object> request) {
+        try {
+            DataSourceContext.setCurrentDataSourceId(id);
+            String table = Objects.toString(request.get("table"), null);
+            ValueEncoding valueEncoding = ValueEncoding.of(Objects.toString(request.get("encoding"), null));
+            int limit = Integer.parseInt(Objects.toString(request.get("limit"), "100"));
+            if (limit <= 0 || limit > filterQueryMaxLimit) {
+                throw new IllegalArgumentException("limit 必须在 1 到 " + filterQueryMaxLimit + " 之间");
+            }
+
+            ScanRequest scanRequest = new ScanRequest();
+            scanRequest.setFilter(Objects.toString(request.get("filter"), null));
+            scanRequest.setStartRow(Objects.toString(request.get("startRow"), null));
+            scanRequest.setStopRow(Objects.toString(request.get("stopRow"), null));
+            scanRequest.setCursor(Objects.toString(request.get("cursor"), null));
+            scanRequest.setReversed(Boolean.parseBoolean(Objects.toString(request.get("reversed"), "false")));
+            scanRequest.setKeysOnly(Boolean.parseBoolean(Objects.toString(request.get("keysOnly"), "false")));
+            scanRequest.setLimit(limit);
+
+            List<Map<String, Object>> rows = new ArrayList<>();
+            String nextCursor = hbaseService.scanRows(table, scanRequest, row -> {
+                Map<String, Object> line = new LinkedHashMap<>();
+                line.put("rowkey", row.getRowKey());
+                line.put("data", row.withEncoding(valueEncoding));
+                rows.add(line);
+            });
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("rows", rows);
+            response.put("cursor", nextCursor);
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            return error(e);
         } finally {
             DataSourceContext.clear();
         }
     }
 
+    /**
+     * 按前缀、范围或 RowKey 正则批量删除，dryRun 为 true 时只统计匹配行数。
+     */
+    @PostMapping("/datasource/{id}/delete-rows")
+    public ResponseEntity<?> deleteRows(@PathVariable String id,
+                                        @RequestBody Map<String, Object> request) {
+        try {
+            DataSourceContext.setCurrentDataSourceId(id);
+            RangeDeleteRequest deleteRequest = new RangeDeleteRequest();
+            deleteRequest.setTable(Objects.toString(request.get("table"), null));
+            deleteRequest.setPrefix(Objects.toString(request.get("prefix"), null));
+            deleteRequest.setStartRow(Objects.toString(request.get("startRow"), null));
+            deleteRequest.setStopRow(Objects.toString(request.get("stopRow"), null));
+            deleteRequest.setRowKeyRegex(Objects.toString(request.get("rowKeyRegex"), null));
+            deleteRequest.setDryRun(Boolean.parseBoolean(Objects.toString(request.get("dryRun"), "false")));
+            deleteRequest.setBatchSize(Integer.parseInt(Objects.toString(request.get("batchSize"), "0")));
+            deleteRequest.setMaxRowsPerSecond(Integer.parseInt(Objects.toString(request.get("maxRowsPerSecond"), "0")));
+            return ResponseEntity.ok(hbaseService.startDeleteRows(deleteRequest));
+        } catch (Exception e) {
+            return error(e);
+        } finally {
+            DataSourceContext.clear();
+        }
+    }
+
+    @GetMapping("/datasource/{id}/cache-stats")
+    public ResponseEntity<?> cacheStats(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(hbaseService.getRowCacheStats(id));
+        } catch (Exception e) {
+            return error(e);
+        }
+    }
+
+    @GetMapping("/datasource/{id}/policy")
+    public ResponseEntity<?> getClientPolicy(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(hbaseService.getClientPolicy(id));
+        } catch (Exception e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * 覆盖数据源的超时、重试和对冲读策略，未填写的项沿用全局默认值。
+     */
+    @PutMapping("/datasource/{id}/policy")
+    public ResponseEntity<?> updateClientPolicy(@PathVariable String id,
+                                                @RequestBody ClientPolicyProperties.Policy policy) {
+        try {
+            hbaseService.updateClientPolicy(id, policy);
+            return ResponseEntity.ok(hbaseService.getClientPolicy(id));
+        } catch (Exception e) {
+            return error(e);
+        }
+    }
+
+    /**
+     * 数据源的熔断状态及读、写、管理操作的并发占用。
+     */
+    @GetMapping("/datasource/{id}/guard")
+    public ResponseEntity<?> getGuardState(@PathVariable String id) {
+        return ResponseEntity.ok(dataSourceGuard.getState(id));
+    }
+
+    @GetMapping("/guards")
+    public ResponseEntity<?> getGuardStates() {
+        return ResponseEntity.ok(dataSourceGuard.getStates());
+    }
+
     @PostMapping("/datasource/{id}/add-family")
     public ResponseEntity<?> addColumnFamily(@PathVariable String id,
                                        @RequestBody Map<String, String> request) {
@@ -238,9 +668,135 @@ public class HBaseController {
             
             return ResponseEntity.ok(Collections.singletonMap("message", "列簇添加成功"));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+            return error(e);
+        } finally {
+            DataSourceContext.clear();
+        }
+    }
+
+    @GetMapping("/datasource/{id}/tables/{table}/schema")
+    public ResponseEntity<?> getTableSchema(@PathVariable String id, @PathVariable String table) {
+        try {
+            DataSourceContext.setCurrentDataSourceId(id);
+            return ResponseEntity.ok(hbaseService.getTableSchema(table));
+        } catch (Exception e) {
+            return error(e);
         } finally {
             DataSourceContext.clear();
         }
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/datasource/{id}/tables/{table}/regions")
+    public ResponseEntity<?> getRegions(@PathVariable String id, @PathVariable String table) {
+        try {
+            DataSourceContext.setCurrentDataSourceId(id);
+            return ResponseEntity.ok(Collections.singletonMap("regions", hbaseService.getRegions(table)));
+        } catch (Exception e) {
+            return error(e);
+        } finally {
+            DataSourceContext.clear();
+        }
+    }
+
+    private static CellData toCellData(Map<?, ?> map) {
+        return new CellData(
+            Objects.toString(map.get("rowKey"), null),
+            Objects.toString(map.get("columnFamily"), null),
+            Objects.toString(map.get("column"), null),
+            Objects.toString(map.get("value"), null)
+        );
+    }
+
+    private ContentNegotiationManager negotiationManager() {
+        return contentNegotiationManager.getIfAvailable(ContentNegotiationManager::new);
+    }
+
+    /**
+     * 普通响应的协商结果，格式参数无效时按 JSON 返回，由详细跟踪自行序列化响应时使用。
+     */
+    private ResponseFormats.Format bodyFormat(NativeWebRequest webRequest) {
+        try {
+            return responseFormats.negotiate(negotiationManager().resolveMediaTypes(webRequest));
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return responseFormats.negotiate(Collections.emptyList());
+        }
+    }
+
+    /**
+     * 详细跟踪时按协商的格式自行序列化响应以计入序列化耗时，并通过 X-HBase-Trace 响应头返回各阶段耗时和扫描指标。
+     */
+    private ResponseEntity<?> traced(OperationTrace trace, ResponseFormats.Format format, Object body) {
+        if (!trace.isDetailed()) {
+            return ResponseEntity.ok(body);
+        }
+        try {
+            long start = System.nanoTime();
+            byte[] bytes = format.writeValueAsBytes(body);
+            trace.phase("serialize", start);
+            return ResponseEntity.ok()
+                    .contentType(format.getMediaType())
+                    .header(TRACE_HEADER, objectMapper.writeValueAsString(trace.summary()))
+                    .body(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ResponseEntity<?> asyncError(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return error(cause);
+    }
+
+    /**
+     * 数据源熔断或并发已满时返回 503 并带上 Retry-After，其余错误返回 400。
+     */
+    private static ResponseEntity<?> error(Throwable e) {
+        if (e instanceof DataSourceUnavailableException) {
+            long retryAfterSeconds = Math.max(1, (((DataSourceUnavailableException) e).getRetryAfterMs() + 999) / 1000);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(Collections.singletonMap("error", e.getMessage()));
+        }
+        return ResponseEntity.badRequest().body(Collections.singletonMap("error", e.getMessage()));
+    }
+
+    private static RowProjection toProjection(List<String> columns, Long minTimestamp, Long maxTimestamp, int versions) {
+        RowProjection projection = new RowProjection();
+        projection.setColumns(columns);
+        projection.setMinTimestamp(minTimestamp);
+        projection.setMaxTimestamp(maxTimestamp);
+        projection.setMaxVersions(versions);
+        return projection;
+    }
+
+    private static Durability toDurability(String value) {
+        if (value == null || value.isEmpty()) {
+            return Durability.USE_DEFAULT;
+        }
+        try {
+            return Durability.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的持久化级别: " + value);
+        }
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : Long.valueOf(value.toString());
+    }
+
+    private static List<String> toStringList(Object value) {
+        if (!(value instanceof List)) {
+            return null;
+        }
+        List<String> list = new ArrayList<>();
+        for (Object item : (List<?>) value) {
+            list.add(String.valueOf(item));
+        }
+        return list;
+    }
+
+    private void writeLine(OutputStream out, Object line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+    }
+}
\ No newline at end of file
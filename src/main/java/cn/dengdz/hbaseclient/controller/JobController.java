@@ -0,0 +1,41 @@
+package cn.dengdz.hbaseclient.controller;
+
+import cn.dengdz.hbaseclient.service.job.Job;
+import cn.dengdz.hbaseclient.service.job.JobManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+
+@RestController
+@RequestMapping("/api/jobs")
+@CrossOrigin
+public class JobController {
+
+    @Autowired
+    private JobManager jobManager;
+
+    @GetMapping
+    public ResponseEntity<?> list() {
+        return ResponseEntity.ok(jobManager.list());
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> get(@PathVariable String jobId) {
+        Job job = jobManager.get(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("error", "任务不存在"));
+        }
+        return ResponseEntity.ok(job);
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<?> cancel(@PathVariable String jobId) {
+        if (!jobManager.cancel(jobId)) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("error", "任务不存在或已结束"));
+        }
+        return ResponseEntity.ok(Collections.singletonMap("message", "任务已取消"));
+    }
+}
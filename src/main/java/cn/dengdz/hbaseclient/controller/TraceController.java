@@ -0,0 +1,31 @@
+package cn.dengdz.hbaseclient.controller;
+
+import cn.dengdz.hbaseclient.metrics.SlowOperationLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+
+@RestController
+@RequestMapping("/api/slow-operations")
+@CrossOrigin
+public class TraceController {
+
+    @Autowired
+    private SlowOperationLog slowOperationLog;
+
+    /**
+     * 最近超过阈值的查询，按耗时倒序。
+     */
+    @GetMapping
+    public ResponseEntity<?> list() {
+        return ResponseEntity.ok(slowOperationLog.list());
+    }
+
+    @DeleteMapping
+    public ResponseEntity<?> clear() {
+        slowOperationLog.clear();
+        return ResponseEntity.ok(Collections.singletonMap("message", "慢查询记录已清空"));
+    }
+}
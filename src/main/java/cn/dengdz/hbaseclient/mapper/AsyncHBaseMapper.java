@@ -0,0 +1,20 @@
+package cn.dengdz.hbaseclient.mapper;
+
+import cn.dengdz.hbaseclient.model.CellData;
+import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.RowProjection;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 基于 AsyncConnection 的非阻塞数据访问，调用线程在 RPC 期间不会被占用。
+ */
+public interface AsyncHBaseMapper {
+    CompletableFuture<HBaseData> getRow(String tableName, String rowKey, RowProjection projection);
+    CompletableFuture<List<HBaseData>> getRows(String tableName, List<String> rowKeys, RowProjection projection);
+    CompletableFuture<List<String>> listRows(String tableName, int limit);
+    CompletableFuture<List<String>> searchRows(String tableName, String rowkey);
+    CompletableFuture<Void> addData(String table, List<CellData> cells);
+    CompletableFuture<Void> deleteData(String table, String rowKey);
+}
@@ -1,7 +1,17 @@
 package cn.dengdz.hbaseclient.mapper;
 
+import cn.dengdz.hbaseclient.config.ClientPolicyProperties;
+import cn.dengdz.hbaseclient.model.CellData;
 import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.ImportRequest;
+import cn.dengdz.hbaseclient.model.RangeDeleteRequest;
+import cn.dengdz.hbaseclient.model.RowProjection;
+import cn.dengdz.hbaseclient.model.ScanRequest;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.LongConsumer;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import org.apache.hadoop.hbase.HBaseConfiguration;
@@ -20,6 +30,8 @@ public interface HBaseMapper {
     void initConnection(String zkQuorum) throws Exception;
     List<String> listTables() throws Exception;
     HBaseData getRow(String tableName, String rowKey) throws Exception;
+    HBaseData getRow(String tableName, String rowKey, RowProjection projection) throws Exception;
+    List<HBaseData> getRows(String tableName, List<String> rowKeys, RowProjection projection) throws Exception;
     void closeConnection() throws Exception;
     void uploadConfig(String dataSourceId, MultipartFile coreSite, MultipartFile hbaseSite) throws Exception;
     void deleteConfig(String dataSourceId) throws Exception;
@@ -27,7 +39,23 @@ public interface HBaseMapper {
     void reconnect(String dataSourceId, String zkQuorum) throws Exception;
     List<String> listRows(String tableName, int limit) throws Exception;
     List<String> searchRows(String tableName, String rowkey) throws Exception;
+    String scanRows(String tableName, ScanRequest request, RowHandler handler) throws Exception;
+    /** snapshot 为 true 时基于快照计数，snapshotName 为空则创建临时快照 */
+    long countRows(String tableName, String startRow, String stopRow, boolean snapshot, String snapshotName,
+                   LongConsumer progress) throws Exception;
     void addData(String table, String rowKey, String columnFamily, String column, String value) throws Exception;
+    void addData(String table, List<CellData> cells) throws Exception;
+    long importRows(ImportRequest request, RowSource source, BiConsumer<String, String> failureHandler) throws Exception;
     void deleteData(String table, String rowKey) throws Exception;
+    long deleteRows(RangeDeleteRequest request, LongConsumer progress) throws Exception;
     void addColumnFamily(String tableName, String familyName) throws Exception;
+    Map<String, Object> getTableSchema(String tableName) throws Exception;
+    List<Map<String, Object>> getRegions(String tableName) throws Exception;
+    Map<String, Object> getRowCacheStats(String dataSourceId) throws Exception;
+    ClientPolicyProperties.Policy getClientPolicy(String dataSourceId) throws Exception;
+    void updateClientPolicy(String dataSourceId, ClientPolicyProperties.Policy policy) throws Exception;
+    /** 启动时恢复已保存的策略，不再写盘 */
+    void restoreClientPolicy(String dataSourceId, ClientPolicyProperties.Policy policy) throws Exception;
+    /** 加载表名列表并预取表的 Region 位置，使之后的首次请求不再查询 hbase:meta */
+    void prefetch(String dataSourceId, Collection<String> tables) throws Exception;
 } 
\ No newline at end of file
@@ -0,0 +1,13 @@
+package cn.dengdz.hbaseclient.mapper;
+
+import cn.dengdz.hbaseclient.model.HBaseData;
+
+import java.io.IOException;
+
+/**
+ * 扫描过程中逐行回调，避免在内存中累积整页结果。
+ */
+@FunctionalInterface
+public interface RowHandler {
+    void handle(HBaseData row) throws IOException;
+}
@@ -0,0 +1,14 @@
+package cn.dengdz.hbaseclient.mapper;
+
+import cn.dengdz.hbaseclient.model.CellData;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 批量写入时逐行提供数据，返回 null 表示结束。
+ */
+@FunctionalInterface
+public interface RowSource {
+    List<CellData> next() throws IOException;
+}
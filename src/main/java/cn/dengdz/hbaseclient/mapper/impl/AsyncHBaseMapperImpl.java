@@ -0,0 +1,289 @@
+package cn.dengdz.hbaseclient.mapper.impl;
+
+import cn.dengdz.hbaseclient.config.ClientPolicyProperties;
+import cn.dengdz.hbaseclient.config.DataSourceStore;
+import cn.dengdz.hbaseclient.config.HBaseConnectionRegistry;
+import cn.dengdz.hbaseclient.mapper.AsyncHBaseMapper;
+import cn.dengdz.hbaseclient.mapper.support.RowCache;
+import cn.dengdz.hbaseclient.mapper.support.WriteBatcher;
+import cn.dengdz.hbaseclient.metrics.OperationTrace;
+import cn.dengdz.hbaseclient.metrics.TraceContext;
+import cn.dengdz.hbaseclient.model.CellData;
+import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.RowProjection;
+import cn.dengdz.hbaseclient.util.DataSourceContext;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.AdvancedScanResultConsumer;
+import org.apache.hadoop.hbase.client.AsyncTable;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+@Repository
+public class AsyncHBaseMapperImpl implements AsyncHBaseMapper {
+
+    private final HBaseConnectionRegistry connectionRegistry;
+    private final WriteBatcher writeBatcher;
+    private final RowCache rowCache;
+    private final ClientPolicyProperties policyProperties;
+    private final DataSourceStore dataSourceStore;
+
+    @Autowired
+    public AsyncHBaseMapperImpl(HBaseConnectionRegistry connectionRegistry, WriteBatcher writeBatcher,
+                                RowCache rowCache, ClientPolicyProperties policyProperties,
+                                DataSourceStore dataSourceStore) {
+        this.connectionRegistry = connectionRegistry;
+        this.writeBatcher = writeBatcher;
+        this.rowCache = rowCache;
+        this.policyProperties = policyProperties;
+        this.dataSourceStore = dataSourceStore;
+    }
+
+    @Override
+    public CompletableFuture<HBaseData> getRow(String tableName, String rowKey, RowProjection projection) {
+        return withMessage("查询数据失败", () -> {
+            String dataSourceId = dataSourceId();
+            OperationTrace trace = TraceContext.current();
+            long cacheStart = System.nanoTime();
+            HBaseData cached = rowCache.get(dataSourceId, tableName, rowKey, projection);
+            trace.phase("cache", cacheStart);
+            if (cached != null) {
+                trace.rows(1);
+                return CompletableFuture.completedFuture(cached);
+            }
+            long version = rowCache.version(dataSourceId, tableName, rowKey);
+            ClientPolicyProperties.OperationPolicy read = policyProperties.resolve(dataSourceId).getRead();
+            Get get = new Get(Bytes.toBytes(rowKey));
+            HBaseMapperSupport.applyProjection(get, projection);
+            HBaseMapperSupport.applyConsistency(get, read);
+            return onTable(tableName, read, trace, table -> {
+                long rpcStart = System.nanoTime();
+                return table.get(get).thenApply(result -> {
+                    trace.phase("rpc", rpcStart);
+                    long decodeStart = System.nanoTime();
+                    HBaseData data = HBaseMapperSupport.toHBaseData(rowKey, result);
+                    trace.phase("decode", decodeStart);
+                    trace.rows(1);
+                    // 对冲读可能由从副本返回稍旧的数据，不放入缓存
+                    if (!result.isStale()) {
+                        rowCache.put(dataSourceId, tableName, rowKey, projection, data, version);
+                    }
+                    return data;
+                });
+            });
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<HBaseData>> getRows(String tableName, List<String> rowKeys, RowProjection projection) {
+        return withMessage("批量查询失败", () -> {
+            ClientPolicyProperties.OperationPolicy read = policyProperties.resolve(dataSourceId()).getRead();
+            List<Get> gets = new ArrayList<>(rowKeys.size());
+            for (String rowKey : rowKeys) {
+                Get get = new Get(Bytes.toBytes(rowKey));
+                HBaseMapperSupport.applyProjection(get, projection);
+                HBaseMapperSupport.applyConsistency(get, read);
+                gets.add(get);
+            }
+            return onTable(tableName, read, table -> table.getAll(gets)).thenApply(results -> {
+                List<HBaseData> rows = new ArrayList<>(results.size());
+                for (int i = 0; i < results.size(); i++) {
+                    rows.add(HBaseMapperSupport.toHBaseData(rowKeys.get(i), results.get(i)));
+                }
+                return rows;
+            });
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<String>> listRows(String tableName, int limit) {
+        return withMessage("获取RowKey列表失败", () -> {
+            Scan scan = new Scan().setLimit(limit).setFilter(HBaseMapperSupport.keyOnlyFilter());
+            return scanRowKeys(tableName, scan);
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<String>> searchRows(String tableName, String rowkey) {
+        return withMessage("搜索RowKey失败", () -> {
+            Scan scan = new Scan()
+                .setRowPrefixFilter(Bytes.toBytes(rowkey))
+                .setFilter(HBaseMapperSupport.keyOnlyFilter())
+                .setLimit(10); // 限制最多返回10个匹配结果
+            return scanRowKeys(tableName, scan);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> addData(String table, List<CellData> cells) {
+        return withMessage("添加数据失败", () -> {
+            if (cells == null || cells.isEmpty()) {
+                throw new IllegalArgumentException("没有需要写入的数据");
+            }
+            String dataSourceId = dataSourceId();
+            return writeBatcher.submit(dataSourceId, TableName.valueOf(table), HBaseMapperSupport.toPuts(cells))
+                    .whenComplete((ignored, error) -> {
+                        for (CellData cell : cells) {
+                            rowCache.invalidate(dataSourceId, table, cell.getRowKey());
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteData(String table, String rowKey) {
+        return withMessage("删除数据失败", () -> {
+            String dataSourceId = dataSourceId();
+            return onTable(table, policyProperties.resolve(dataSourceId).getWrite(),
+                    hTable -> hTable.delete(new Delete(Bytes.toBytes(rowKey))))
+                    .whenComplete((ignored, error) -> rowCache.invalidate(dataSourceId, table, rowKey));
+        });
+    }
+
+    /**
+     * 租用连接后在表上发起异步操作，操作完成时归还租约。
+     */
+    private <T> CompletableFuture<T> onTable(String tableName, ClientPolicyProperties.OperationPolicy policy,
+                                             TableCall<T> call) throws Exception {
+        String dataSourceId = dataSourceId();
+        dataSourceStore.recordTableAccess(dataSourceId, tableName);
+        HBaseConnectionRegistry.ConnectionLease lease = connectionRegistry.acquire(dataSourceId);
+        CompletableFuture<T> future;
+        try {
+            future = call.start(HBaseMapperSupport.table(lease.getAsyncConnection(),
+                    TableName.valueOf(tableName), policy));
+        } catch (Exception e) {
+            lease.close();
+            throw e;
+        }
+        return future.whenComplete((value, error) -> lease.close());
+    }
+
+    private <T> CompletableFuture<T> onTable(String tableName, ClientPolicyProperties.OperationPolicy policy,
+                                             OperationTrace trace, TableCall<T> call) throws Exception {
+        long start = System.nanoTime();
+        return onTable(tableName, policy, table -> {
+            trace.phase("table", start);
+            return call.start(table);
+        });
+    }
+
+    /**
+     * 扫描并返回 RowKey 列表。详细跟踪时改用带回调的扫描以取得 ScanMetrics，scanAll 不提供扫描指标。
+     */
+    private CompletableFuture<List<String>> scanRowKeys(String tableName, Scan scan) throws Exception {
+        OperationTrace trace = TraceContext.current();
+        ClientPolicyProperties.OperationPolicy read = policyProperties.resolve(dataSourceId()).getRead();
+        HBaseMapperSupport.applyConsistency(scan, read);
+        long[] rpcStart = new long[1];
+        CompletableFuture<List<Result>> results = onTable(tableName, read, trace, table -> {
+            rpcStart[0] = System.nanoTime();
+            if (!trace.isDetailed()) {
+                return table.scanAll(scan);
+            }
+            scan.setScanMetricsEnabled(true);
+            CompletableFuture<List<Result>> collected = new CompletableFuture<>();
+            table.scan(scan, new CollectingConsumer(collected, trace));
+            return collected;
+        });
+        return results.thenApply(rows -> {
+            trace.phase("rpc", rpcStart[0]);
+            long decodeStart = System.nanoTime();
+            List<String> rowKeys = toRowKeys(rows);
+            trace.phase("decode", decodeStart);
+            trace.rows(rowKeys.size());
+            return rowKeys;
+        });
+    }
+
+    private static String dataSourceId() {
+        String dataSourceId = DataSourceContext.getCurrentDataSourceId();
+        if (dataSourceId == null) {
+            throw new IllegalStateException("未设置当前数据源ID");
+        }
+        return dataSourceId;
+    }
+
+    private static List<String> toRowKeys(List<Result> results) {
+        return results.stream()
+                .map(result -> Bytes.toString(result.getRow()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 发起异步操作，并将同步抛出的异常和异步失败统一包装为带操作说明的异常。
+     */
+    private static <T> CompletableFuture<T> withMessage(String message, AsyncCall<T> call) {
+        CompletableFuture<T> future;
+        try {
+            future = call.start();
+        } catch (Exception e) {
+            future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                result.completeExceptionally(new Exception(message + ": " + cause.getMessage(), cause));
+            }
+        });
+        return result;
+    }
+
+    private static final class CollectingConsumer implements AdvancedScanResultConsumer {
+        private final List<Result> results = new ArrayList<>();
+        private final CompletableFuture<List<Result>> future;
+        private final OperationTrace trace;
+
+        CollectingConsumer(CompletableFuture<List<Result>> future, OperationTrace trace) {
+            this.future = future;
+            this.trace = trace;
+        }
+
+        @Override
+        public void onNext(Result[] batch, ScanController controller) {
+            Collections.addAll(results, batch);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            future.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            future.complete(results);
+        }
+
+        @Override
+        public void onScanMetricsCreated(ScanMetrics scanMetrics) {
+            trace.scanMetrics(scanMetrics);
+        }
+    }
+
+    @FunctionalInterface
+    private interface AsyncCall<T> {
+        CompletableFuture<T> start() throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface TableCall<T> {
+        CompletableFuture<T> start(AsyncTable<AdvancedScanResultConsumer> table) throws Exception;
+    }
+}
@@ -1,13 +1,34 @@
 package cn.dengdz.hbaseclient.mapper.impl;
 
 import cn.dengdz.hbaseclient.mapper.HBaseMapper;
+import cn.dengdz.hbaseclient.mapper.RowHandler;
+import cn.dengdz.hbaseclient.mapper.RowSource;
+import cn.dengdz.hbaseclient.mapper.support.ConfigurationCache;
+import cn.dengdz.hbaseclient.mapper.support.FilterExpression;
+import cn.dengdz.hbaseclient.mapper.support.MetadataCache;
+import cn.dengdz.hbaseclient.mapper.support.ParallelScanEngine;
+import cn.dengdz.hbaseclient.mapper.support.RowCache;
+import cn.dengdz.hbaseclient.mapper.support.SnapshotScanEngine;
+import cn.dengdz.hbaseclient.mapper.support.WriteBatcher;
+import cn.dengdz.hbaseclient.metrics.OperationTrace;
+import cn.dengdz.hbaseclient.metrics.TraceContext;
+import cn.dengdz.hbaseclient.model.CellData;
 import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.ImportRequest;
+import cn.dengdz.hbaseclient.model.RangeDeleteRequest;
+import cn.dengdz.hbaseclient.model.RowProjection;
+import cn.dengdz.hbaseclient.model.ScanCursor;
+import cn.dengdz.hbaseclient.model.ScanRequest;
 import cn.dengdz.hbaseclient.util.DataSourceContext;
+import cn.dengdz.hbaseclient.util.TokenBucket;
 import org.apache.hadoop.conf.Configuration;
-import org.apache.hadoop.fs.Path;
-import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.HRegionLocation;
 import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.CompareOperator;
 import org.apache.hadoop.hbase.client.*;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.RegexStringComparator;
+import org.apache.hadoop.hbase.filter.RowFilter;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,30 +36,78 @@ import org.springframework.stereotype.Repository;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 import javax.annotation.PreDestroy;
 import org.apache.commons.io.FileUtils;
 import org.springframework.web.multipart.MultipartFile;
+import cn.dengdz.hbaseclient.config.ClientPolicyProperties;
+import cn.dengdz.hbaseclient.config.DataSourceStore;
+import cn.dengdz.hbaseclient.config.HBaseConnectionRegistry;
 import cn.dengdz.hbaseclient.config.StorageConfig;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 @Repository
 public class HBaseMapperImpl implements HBaseMapper {
     
     private static final Logger log = LoggerFactory.getLogger(HBaseMapperImpl.class);
+
+    private static final int COUNT_CACHING = 5000;
     
-    private Connection connection;
-    private Configuration configuration;
     private final StorageConfig storageConfig;
-    private String currentDataSourceId;
+    private final HBaseConnectionRegistry connectionRegistry;
+    private final WriteBatcher writeBatcher;
+    private final RowCache rowCache;
+    private final ParallelScanEngine parallelScanEngine;
+    private final SnapshotScanEngine snapshotScanEngine;
+    private final MetadataCache metadataCache;
+    private final ClientPolicyProperties policyProperties;
+    private final ConfigurationCache configurationCache;
+    private final DataSourceStore dataSourceStore;
+    @Value("${hbase-client.write.timeout-ms:60000}")
+    private long writeTimeoutMs;
+    @Value("${hbase-client.delete.batch-size:1000}")
+    private int deleteBatchSize;
+    @Value("${hbase-client.delete.parallelism:4}")
+    private int deleteParallelism;
+    @Value("${hbase-client.delete.max-rows-per-second:5000}")
+    private int deleteRowsPerSecond;
+    @Value("${hbase-client.metrics.client-metrics-enabled:true}")
+    private boolean clientMetricsEnabled;
+
+    // 最近一次连接的数据源，供未携带数据源ID的旧接口使用
+    private volatile String currentDataSourceId;
 
     @Autowired
-    public HBaseMapperImpl(StorageConfig storageConfig) {
+    public HBaseMapperImpl(StorageConfig storageConfig, HBaseConnectionRegistry connectionRegistry,
+                           WriteBatcher writeBatcher, RowCache rowCache,
+                           ParallelScanEngine parallelScanEngine, SnapshotScanEngine snapshotScanEngine,
+                           MetadataCache metadataCache, ClientPolicyProperties policyProperties,
+                           ConfigurationCache configurationCache, DataSourceStore dataSourceStore) {
         this.storageConfig = storageConfig;
+        this.connectionRegistry = connectionRegistry;
+        this.writeBatcher = writeBatcher;
+        this.rowCache = rowCache;
+        this.parallelScanEngine = parallelScanEngine;
+        this.snapshotScanEngine = snapshotScanEngine;
+        this.metadataCache = metadataCache;
+        this.policyProperties = policyProperties;
+        this.configurationCache = configurationCache;
+        this.dataSourceStore = dataSourceStore;
         // 创建基础配置目录
         try {
             Files.createDirectories(Paths.get(storageConfig.getConfigBasePath()));
@@ -55,13 +124,7 @@ public class HBaseMapperImpl implements HBaseMapper {
 
             log.info("正在上传配置文件至：{}", configDir);
             
-            // 如果目录已存在，先删除
-            if (Files.exists(configDir)) {
-                log.info("删除现有的配置目录");
-                FileUtils.deleteDirectory(configDir.toFile());
-            }
-            
-            // 创建新目录
+            // 只替换两个配置文件，目录下的 datasource.json 保存着数据源定义，不能随目录一起删除
             Files.createDirectories(configDir);
             
             // 保存配置文件
@@ -83,6 +146,10 @@ public class HBaseMapperImpl implements HBaseMapper {
 
     @Override
     public void deleteConfig(String dataSourceId) throws Exception {
+        connectionRegistry.remove(dataSourceId);
+        rowCache.invalidateAll(dataSourceId);
+        metadataCache.invalidateAll(dataSourceId);
+        dataSourceStore.remove(dataSourceId);
         String configPath = storageConfig.getConfigPath(dataSourceId);
         FileUtils.deleteDirectory(new File(configPath));
     }
@@ -96,66 +163,38 @@ public class HBaseMapperImpl implements HBaseMapper {
 
     @Override
     public void reconnect(String dataSourceId, String zkQuorum) throws Exception {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-            }
-
-            // 保存当前数据源ID
-            this.currentDataSourceId = dataSourceId;
-
-            // 获取配置文件路径
-            java.nio.file.Path configDir = Paths.get(storageConfig.getConfigPath(dataSourceId));
-            java.nio.file.Path coreSitePath = configDir.resolve("core-site.xml");
-            java.nio.file.Path hbaseSitePath = configDir.resolve("hbase-site.xml");
+        connect(dataSourceId, zkQuorum, true);
+    }
 
-            // 检查配置文件是否存在
-            if (!Files.exists(coreSitePath) || !Files.exists(hbaseSitePath)) {
-                throw new IllegalStateException("配置文件不存在，请先上传配置文件");
+    @Override
+    public void initConnection(String zkQuorum) throws Exception {
+        String dataSourceId = DataSourceContext.getCurrentDataSourceId();
+        if (dataSourceId == null) {
+            dataSourceId = currentDataSourceId;
+            if (dataSourceId == null) {
+                throw new IllegalStateException("未设置当前数据源ID");
             }
+        }
+        connect(dataSourceId, zkQuorum, false);
+    }
 
-            // 创建新的配置
-            configuration = HBaseConfiguration.create();
-            
-            // 添加配置文件
-            log.info("从以下位置加载 core-site.xml：{}", coreSitePath);
-            log.info("从以下位置加载 hbase-site.xml：{}", hbaseSitePath);
-            
-            configuration.addResource(new Path(coreSitePath.toUri()));
-            configuration.addResource(new Path(hbaseSitePath.toUri()));
-
-            // 设置 ZooKeeper 配置
-            String[] zkNodes = zkQuorum.split(",");
-            String zkHosts = Arrays.stream(zkNodes)
-                    .map(node -> node.split(":")[0])
-                    .collect(Collectors.joining(","));
-            String zkPort = zkNodes[0].split(":")[1];
-
-            log.info("设置 ZooKeeper 配置：");
-            log.info("hbase.zookeeper.quorum：{}", zkHosts);
-            log.info("hbase.zookeeper.property.clientPort: {}", zkPort);
-
-            configuration.set("hbase.zookeeper.quorum", zkHosts);
-            configuration.set("hbase.zookeeper.property.clientPort", zkPort);
-            
-            // 设置其他必要的配置
-            configuration.set("hbase.cluster.distributed", "true");
-            configuration.set("hbase.rpc.timeout", "60000");
-            configuration.set("hbase.client.operation.timeout", "60000");
-            configuration.set("hbase.client.scanner.timeout.period", "60000");
-            configuration.set("zookeeper.recovery.retry", "3");
-            configuration.set("zookeeper.recovery.retry.intervalmill", "1000");
-
+    private void connect(String dataSourceId, String zkQuorum, boolean forceNew) throws Exception {
+        try {
+            Configuration configuration = buildConfiguration(dataSourceId, zkQuorum);
+            if (forceNew) {
+                rowCache.invalidateAll(dataSourceId);
+                metadataCache.invalidateAll(dataSourceId);
+            }
             try {
-                // 创建新连接
-                log.info("正在尝试创建 HBase 连接...");
-                connection = ConnectionFactory.createConnection(configuration);
-                log.info("HBase 连接创建成功");
+                connectionRegistry.register(dataSourceId, configuration, forceNew);
             } catch (Exception e) {
                 log.error("无法创建 HBase 连接：{}", e.getMessage());
                 e.printStackTrace();
                 throw new Exception("创建 HBase 连接失败: " + e.getMessage());
             }
+            // 保存当前数据源ID
+            this.currentDataSourceId = dataSourceId;
+            dataSourceStore.saveConnection(dataSourceId, zkQuorum);
         } catch (Exception e) {
             log.error("重新连接失败：{}", e.getMessage());
             e.printStackTrace();
@@ -163,159 +202,552 @@ public class HBaseMapperImpl implements HBaseMapper {
         }
     }
 
-    @Override
-    public void initConnection(String zkQuorum) throws Exception {
-        if (currentDataSourceId == null) {
-            currentDataSourceId = DataSourceContext.getCurrentDataSourceId();
-            if (currentDataSourceId == null) {
-                throw new IllegalStateException("未设置当前数据源ID");
-            }
+    private Configuration buildConfiguration(String dataSourceId, String zkQuorum) throws IOException {
+        // 获取配置文件路径
+        java.nio.file.Path configDir = Paths.get(storageConfig.getConfigPath(dataSourceId));
+        java.nio.file.Path coreSitePath = configDir.resolve("core-site.xml");
+        java.nio.file.Path hbaseSitePath = configDir.resolve("hbase-site.xml");
+
+        // 检查配置文件是否存在
+        if (!Files.exists(coreSitePath) || !Files.exists(hbaseSitePath)) {
+            throw new IllegalStateException("配置文件不存在，请先上传配置文件");
         }
-        reconnect(currentDataSourceId, zkQuorum);
+
+        // 配置文件内容未变化时复用已解析的配置
+        Configuration configuration = configurationCache.load(coreSitePath, hbaseSitePath);
+
+        // 设置 ZooKeeper 配置
+        String[] zkNodes = zkQuorum.split(",");
+        String zkHosts = Arrays.stream(zkNodes)
+                .map(node -> node.split(":")[0])
+                .collect(Collectors.joining(","));
+        String zkPort = zkNodes[0].split(":")[1];
+
+        log.info("设置 ZooKeeper 配置：");
+        log.info("hbase.zookeeper.quorum：{}", zkHosts);
+        log.info("hbase.zookeeper.property.clientPort: {}", zkPort);
+
+        configuration.set("hbase.zookeeper.quorum", zkHosts);
+        configuration.set("hbase.zookeeper.property.clientPort", zkPort);
+
+        // 设置其他必要的配置
+        configuration.set("hbase.cluster.distributed", "true");
+        configuration.set("zookeeper.recovery.retry", "3");
+        configuration.set("zookeeper.recovery.retry.intervalmill", "1000");
+        // 客户端内置的 RPC 指标，由 HBaseClientMetricsBinder 转发到 Micrometer
+        configuration.setBoolean("hbase.client.metrics.enable", clientMetricsEnabled);
+        // 超时、重试和对冲读策略
+        HBaseMapperSupport.applyPolicy(configuration, policyProperties.resolve(dataSourceId));
+        return configuration;
+    }
+
+    /**
+     * 根据当前线程的数据源ID租用对应集群的连接，用完关闭租约。
+     */
+    private HBaseConnectionRegistry.ConnectionLease lease() throws IOException {
+        return connectionRegistry.acquire(resolveDataSourceId());
+    }
+
+    private ClientPolicyProperties.Policy policy() {
+        return policyProperties.resolve(resolveDataSourceId());
+    }
+
+    private Table readTable(String tableName) throws IOException {
+        String dataSourceId = resolveDataSourceId();
+        dataSourceStore.recordTableAccess(dataSourceId, tableName);
+        return connectionRegistry.getTable(dataSourceId, TableName.valueOf(tableName), policy().getRead());
+    }
+
+    private Table writeTable(String tableName) throws IOException {
+        String dataSourceId = resolveDataSourceId();
+        dataSourceStore.recordTableAccess(dataSourceId, tableName);
+        return connectionRegistry.getTable(dataSourceId, TableName.valueOf(tableName), policy().getWrite());
+    }
+
+    /**
+     * 并行扫描、批量删除的分片在其他线程上打开表，数据源和超时在调用线程上确定。
+     */
+    private ParallelScanEngine.TableFactory readTables(String tableName) {
+        String dataSourceId = resolveDataSourceId();
+        ClientPolicyProperties.OperationPolicy read = policy().getRead();
+        return () -> connectionRegistry.getTable(dataSourceId, TableName.valueOf(tableName), read);
+    }
+
+    private ParallelScanEngine.TableFactory writeTables(String tableName) {
+        String dataSourceId = resolveDataSourceId();
+        ClientPolicyProperties.OperationPolicy write = policy().getWrite();
+        return () -> connectionRegistry.getTable(dataSourceId, TableName.valueOf(tableName), write);
+    }
+
+    private String resolveDataSourceId() {
+        String dataSourceId = DataSourceContext.getCurrentDataSourceId();
+        if (dataSourceId == null) {
+            dataSourceId = currentDataSourceId;
+        }
+        if (dataSourceId == null) {
+            throw new IllegalStateException("未设置当前数据源ID");
+        }
+        return dataSourceId;
     }
 
     @Override
     public List<String> listTables() throws Exception {
-        try (Admin admin = connection.getAdmin()) {
-            return Arrays.stream(admin.listTableNames())
-                    .map(TableName::getNameAsString)
-                    .collect(Collectors.toList());
-        }
+        return metadataCache.getTableNames(resolveDataSourceId());
     }
 
     @Override
     public HBaseData getRow(String tableName, String rowKey) throws Exception {
-        try (Table table = connection.getTable(TableName.valueOf(tableName))) {
+        return getRow(tableName, rowKey, null);
+    }
+
+    @Override
+    public HBaseData getRow(String tableName, String rowKey, RowProjection projection) throws Exception {
+        String dataSourceId = resolveDataSourceId();
+        OperationTrace trace = TraceContext.current();
+        long start = System.nanoTime();
+        HBaseData cached = rowCache.get(dataSourceId, tableName, rowKey, projection);
+        trace.phase("cache", start);
+        if (cached != null) {
+            trace.rows(1);
+            return cached;
+        }
+        long version = rowCache.version(dataSourceId, tableName, rowKey);
+        start = System.nanoTime();
+        try (Table table = readTable(tableName)) {
+            trace.phase("table", start);
             Get get = new Get(Bytes.toBytes(rowKey));
+            HBaseMapperSupport.applyProjection(get, projection);
+            HBaseMapperSupport.applyConsistency(get, policy().getRead());
+            start = System.nanoTime();
             Result result = table.get(get);
-            
-            HBaseData hbaseData = new HBaseData();
-            hbaseData.setRowKey(rowKey);
-            
-            Map<String, Map<String, String>> familyMap = new HashMap<>();
-            
-            if (!result.isEmpty()) {
-                // 获取所有列族
-                for (byte[] family : result.getMap().keySet()) {
-                    String familyName = Bytes.toString(family);
-                    Map<String, String> qualifierMap = new HashMap<>();
-                    
-                    // 获取该列族下的所有列限定符和值
-                    NavigableMap<byte[], byte[]> qualifiers = result.getFamilyMap(family);
-                    for (Map.Entry<byte[], byte[]> entry : qualifiers.entrySet()) {
-                        String qualifier = Bytes.toString(entry.getKey());
-                        String value = Bytes.toString(entry.getValue());
-                        qualifierMap.put(qualifier, value);
-                    }
-                    
-                    familyMap.put(familyName, qualifierMap);
-                }
+            trace.phase("rpc", start);
+            start = System.nanoTime();
+            HBaseData data = HBaseMapperSupport.toHBaseData(rowKey, result);
+            trace.phase("decode", start);
+            trace.rows(1);
+            // 对冲读可能由从副本返回稍旧的数据，不放入缓存
+            if (!result.isStale()) {
+                rowCache.put(dataSourceId, tableName, rowKey, projection, data, version);
             }
-            
-            hbaseData.setFamilyMap(familyMap);
-            return hbaseData;
+            return data;
+        }
+    }
+
+    @Override
+    public List<HBaseData> getRows(String tableName, List<String> rowKeys, RowProjection projection) throws Exception {
+        ClientPolicyProperties.OperationPolicy read = policy().getRead();
+        List<Get> gets = new ArrayList<>(rowKeys.size());
+        for (String rowKey : rowKeys) {
+            Get get = new Get(Bytes.toBytes(rowKey));
+            HBaseMapperSupport.applyProjection(get, projection);
+            HBaseMapperSupport.applyConsistency(get, read);
+            gets.add(get);
+        }
+
+        // 批量 Get 由客户端按 RegionServer 分组后并行发送
+        try (Table table = readTable(tableName)) {
+            Result[] results = table.get(gets);
+            List<HBaseData> rows = new ArrayList<>(results.length);
+            for (int i = 0; i < results.length; i++) {
+                rows.add(HBaseMapperSupport.toHBaseData(rowKeys.get(i), results[i]));
+            }
+            return rows;
+        } catch (Exception e) {
+            throw new Exception("批量查询失败: " + e.getMessage(), e);
         }
     }
 
     @Override
     public void closeConnection() throws Exception {
-        Optional.ofNullable(connection)
-                .filter(conn -> !conn.isClosed())
-                .ifPresent(conn -> {
-                    try {
-                        conn.close();
-                    } catch (Exception e) {
-                        throw new RuntimeException("关闭连接失败", e);
-                    }
-                });
+        connectionRegistry.remove(resolveDataSourceId());
     }
 
     @PreDestroy
     public void destroy() {
-        try {
-            closeConnection();
-            // 清理配置文件
-            FileUtils.deleteDirectory(new File(storageConfig.getConfigBasePath()));
-        } catch (Exception e) {
-            // 记录错误但不抛出
-            e.printStackTrace();
+        // 配置文件和数据源定义保留在磁盘上，重启后自动重连
+        connectionRegistry.closeAll();
+    }
+
+    @Override
+    public void prefetch(String dataSourceId, Collection<String> tables) throws Exception {
+        metadataCache.getTableNames(dataSourceId);
+        try (HBaseConnectionRegistry.ConnectionLease lease = connectionRegistry.acquire(dataSourceId)) {
+            AsyncConnection asyncConnection = lease.getAsyncConnection();
+            List<CompletableFuture<?>> locating = new ArrayList<>();
+            for (String table : tables) {
+                try {
+                    // 读取 hbase:meta 时同时写入同步连接的 Region 位置缓存
+                    List<HRegionLocation> regions = metadataCache.getRegions(dataSourceId, table);
+                    AsyncTableRegionLocator locator = asyncConnection.getRegionLocator(TableName.valueOf(table));
+                    for (HRegionLocation region : regions) {
+                        if (region.getRegion().getReplicaId() == RegionInfo.DEFAULT_REPLICA_ID) {
+                            locating.add(locator.getRegionLocation(region.getRegion().getStartKey())
+                                    .exceptionally(e -> null));
+                        }
+                    }
+                } catch (IOException e) {
+                    // 表可能已被删除
+                    log.warn("预取数据源 {} 表 {} 的 Region 位置失败：{}", dataSourceId, table, e.getMessage());
+                }
+            }
+            CompletableFuture.allOf(locating.toArray(new CompletableFuture[0]))
+                    .get(policyProperties.resolve(dataSourceId).getAdmin().getOperationTimeoutMs(), TimeUnit.MILLISECONDS);
         }
     }
 
     @Override
     public List<String> listRows(String tableName, int limit) throws Exception {
-        List<String> rowkeys = new ArrayList<>();
-        
-        try (Table table = connection.getTable(TableName.valueOf(tableName));
-             ResultScanner scanner = table.getScanner(new Scan().setLimit(limit))) {
-            
-            for (Result result : scanner) {
-                rowkeys.add(Bytes.toString(result.getRow()));
-            }
-            
-            return rowkeys;
+        try {
+            return scanRowKeys(tableName, new Scan().setLimit(limit).setFilter(HBaseMapperSupport.keyOnlyFilter()));
         } catch (Exception e) {
             throw new Exception("获取RowKey列表失败: " + e.getMessage(), e);
         }
     }
 
+    @Override
+    public String scanRows(String tableName, ScanRequest request, RowHandler handler) throws Exception {
+        ScanCursor cursor = request.getCursor() != null ? ScanCursor.decode(request.getCursor()) : null;
+        boolean reversed = cursor != null ? cursor.isReversed() : request.isReversed();
+        byte[] stopRow = cursor != null ? cursor.getStopRow()
+                : request.getStopRow() != null ? Bytes.toBytes(request.getStopRow()) : new byte[0];
+
+        Scan scan = new Scan().setReversed(reversed);
+        // Scan 的 limit 为 0 表示已取满，扫描器取完第一批就会结束，不限行数时保持默认值
+        if (request.getLimit() > 0) {
+            scan.setLimit(request.getLimit());
+        }
+        if (cursor != null) {
+            // 从上一页最后一行之后继续扫描
+            scan.withStartRow(cursor.getLastRow(), false);
+        } else if (request.getStartRow() != null) {
+            scan.withStartRow(Bytes.toBytes(request.getStartRow()));
+        }
+        if (stopRow.length > 0) {
+            scan.withStopRow(stopRow);
+        }
+        if (request.getCaching() > 0) {
+            scan.setCaching(request.getCaching());
+        }
+        if (request.getFilter() != null && !request.getFilter().trim().isEmpty()) {
+            HBaseMapperSupport.applyFilterExpression(scan, FilterExpression.compile(request.getFilter()),
+                    request.isKeysOnly());
+        } else if (request.isKeysOnly()) {
+            scan.setFilter(HBaseMapperSupport.keyOnlyFilter());
+        }
+        HBaseMapperSupport.applyColumns(scan, request.getColumns());
+        HBaseMapperSupport.applyTimeRange(scan, request.getMinTimestamp(), request.getMaxTimestamp());
+        scan.setCacheBlocks(request.isCacheBlocks());
+        HBaseMapperSupport.applyConsistency(scan, policy().getRead());
+
+        byte[][] lastRow = new byte[1][];
+        ParallelScanEngine.ResultHandler resultHandler = result -> {
+            handler.handle(HBaseMapperSupport.toHBaseData(Bytes.toString(result.getRow()), result));
+            lastRow[0] = result.getRow();
+        };
+
+        long count = 0;
+        if (request.isSnapshot()) {
+            // 直接读取快照中的 HFile，不经过 RegionServer；总是按 Region 并行，非并行请求按有序输出以支持续扫
+            boolean ordered = !request.isParallel() || request.isOrdered();
+            try (HBaseConnectionRegistry.ConnectionLease lease = lease()) {
+                count = snapshotScanEngine.scan(lease.getConnection(), TableName.valueOf(tableName), scan,
+                        request.getSnapshotName(), ordered, resultHandler);
+            }
+            if (!ordered) {
+                return null;
+            }
+        } else if (request.isParallel()) {
+            // 按 Region 并行扫描，无序模式下结果顺序不确定，不提供续扫游标
+            try (HBaseConnectionRegistry.ConnectionLease lease = lease()) {
+                count = parallelScanEngine.scan(lease.getConnection(), TableName.valueOf(tableName),
+                        readTables(tableName), scan, request.isOrdered(), resultHandler);
+            }
+            if (!request.isOrdered()) {
+                return null;
+            }
+        } else {
+            try (Table table = readTable(tableName);
+                 ResultScanner scanner = table.getScanner(scan)) {
+                for (Result result : scanner) {
+                    resultHandler.handle(result);
+                    count++;
+                }
+            }
+        }
+        // 不限行数或返回行数不足一页说明已扫描到末尾
+        return request.getLimit() > 0 && count >= request.getLimit() && lastRow[0] != null
+                ? new ScanCursor(lastRow[0], stopRow, reversed).encode() : null;
+    }
+
+    @Override
+    public long countRows(String tableName, String startRow, String stopRow, boolean snapshot, String snapshotName,
+                          LongConsumer progress) throws Exception {
+        // 只取每行第一个 KeyValue 且不带值，跳过 BlockCache 以免冲掉在线业务的热点数据
+        Scan scan = new Scan()
+                .setFilter(HBaseMapperSupport.keyOnlyFilter())
+                .setCaching(COUNT_CACHING)
+                .setCacheBlocks(false);
+        if (startRow != null && !startRow.isEmpty()) {
+            scan.withStartRow(Bytes.toBytes(startRow));
+        }
+        if (stopRow != null && !stopRow.isEmpty()) {
+            scan.withStopRow(Bytes.toBytes(stopRow));
+        }
+        try (HBaseConnectionRegistry.ConnectionLease lease = lease()) {
+            if (snapshot) {
+                return snapshotScanEngine.scan(lease.getConnection(), TableName.valueOf(tableName), scan, snapshotName,
+                        false, result -> progress.accept(1));
+            }
+            return parallelScanEngine.scan(lease.getConnection(), TableName.valueOf(tableName),
+                    readTables(tableName), scan, false, result -> progress.accept(1));
+        }
+    }
+
     @Override
     public List<String> searchRows(String tableName, String rowkey) throws Exception {
+        // 创建一个扫描器，设置起始rowkey
+        Scan scan = new Scan()
+            .setRowPrefixFilter(Bytes.toBytes(rowkey))
+            .setFilter(HBaseMapperSupport.keyOnlyFilter())
+            .setLimit(10); // 限制最多返回10个匹配结果
+        try {
+            return scanRowKeys(tableName, scan);
+        } catch (Exception e) {
+            throw new Exception("搜索RowKey失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 扫描并返回 RowKey 列表，按获取表、RPC、解码分阶段记录到当前跟踪。
+     */
+    private List<String> scanRowKeys(String tableName, Scan scan) throws IOException {
+        OperationTrace trace = TraceContext.current();
+        scan.setScanMetricsEnabled(trace.isDetailed());
+        HBaseMapperSupport.applyConsistency(scan, policy().getRead());
         List<String> rowkeys = new ArrayList<>();
-        
-        try (Table table = connection.getTable(TableName.valueOf(tableName))) {
-            // 创建一个扫描器，设置起始rowkey
-            Scan scan = new Scan()
-                .setRowPrefixFilter(Bytes.toBytes(rowkey))
-                .setLimit(10); // 限制最多返回10个匹配结果
-            
+        long start = System.nanoTime();
+        try (Table table = readTable(tableName)) {
+            trace.phase("table", start);
+            start = System.nanoTime();
+            long decodeNanos = 0;
             try (ResultScanner scanner = table.getScanner(scan)) {
                 for (Result result : scanner) {
+                    long decodeStart = System.nanoTime();
                     rowkeys.add(Bytes.toString(result.getRow()));
+                    decodeNanos += System.nanoTime() - decodeStart;
                 }
+                trace.scanMetrics(scanner.getScanMetrics());
             }
-            
+            trace.addPhase("rpc", System.nanoTime() - start - decodeNanos);
+            trace.addPhase("decode", decodeNanos);
+            trace.rows(rowkeys.size());
             return rowkeys;
-        } catch (Exception e) {
-            throw new Exception("搜索RowKey失败: " + e.getMessage(), e);
         }
     }
 
     @Override
     public void addData(String table, String rowKey, String columnFamily, String column, String value) throws Exception {
-        try (Table hTable = connection.getTable(TableName.valueOf(table))) {
-            Put put = new Put(Bytes.toBytes(rowKey));
-            put.addColumn(
-                Bytes.toBytes(columnFamily),
-                Bytes.toBytes(column),
-                Bytes.toBytes(value)
-            );
-            
-            hTable.put(put);
+        addData(table, Collections.singletonList(new CellData(rowKey, columnFamily, column, value)));
+    }
+
+    @Override
+    public void addData(String table, List<CellData> cells) throws Exception {
+        if (cells == null || cells.isEmpty()) {
+            throw new IllegalArgumentException("没有需要写入的数据");
+        }
+        String dataSourceId = resolveDataSourceId();
+        try {
+            writeBatcher.submit(dataSourceId, TableName.valueOf(table), HBaseMapperSupport.toPuts(cells))
+                    .get(writeTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new Exception("添加数据失败: " + e.getCause().getMessage());
         } catch (Exception e) {
             throw new Exception("添加数据失败: " + e.getMessage());
+        } finally {
+            for (CellData cell : cells) {
+                rowCache.invalidate(dataSourceId, table, cell.getRowKey());
+            }
         }
     }
 
+    @Override
+    public long importRows(ImportRequest request, RowSource source,
+                           BiConsumer<String, String> failureHandler) throws Exception {
+        String dataSourceId = resolveDataSourceId();
+        TableName tableName = TableName.valueOf(request.getTable());
+        // 独立的 BufferedMutator，写缓冲区和提交线程数按导入请求设置，不影响在线写入共用的 Mutator
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, request.getParallelism()), r -> {
+            Thread thread = new Thread(r, "hbase-import-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ClientPolicyProperties.OperationPolicy write = policy().getWrite();
+        BufferedMutatorParams params = new BufferedMutatorParams(tableName)
+                .writeBufferSize(request.getWriteBufferSize())
+                .operationTimeout(write.getOperationTimeoutMs())
+                .rpcTimeout(write.getRpcTimeoutMs())
+                .pool(pool)
+                // 重试耗尽的行只记录下来，不中断整个导入
+                .listener((e, mutator) -> {
+                    for (int i = 0; i < e.getNumExceptions(); i++) {
+                        failureHandler.accept(Bytes.toString(e.getRow(i).getRow()), e.getCause(i).getMessage());
+                    }
+                });
+
+        long written = 0;
+        try (HBaseConnectionRegistry.ConnectionLease lease = lease();
+             BufferedMutator mutator = lease.getConnection().getBufferedMutator(params)) {
+            List<CellData> cells;
+            while ((cells = source.next()) != null) {
+                for (Put put : HBaseMapperSupport.toPuts(cells)) {
+                    put.setDurability(request.getDurability());
+                    mutator.mutate(put);
+                    written++;
+                }
+            }
+            mutator.flush();
+        } finally {
+            pool.shutdownNow();
+            rowCache.invalidateTable(dataSourceId, request.getTable());
+        }
+        return written;
+    }
+
     @Override
     public void deleteData(String table, String rowKey) throws Exception {
-        try (Table hTable = connection.getTable(TableName.valueOf(table))) {
+        String dataSourceId = resolveDataSourceId();
+        try (Table hTable = writeTable(table)) {
             Delete delete = new Delete(Bytes.toBytes(rowKey));
             hTable.delete(delete);
         } catch (Exception e) {
             throw new Exception("删除数据失败: " + e.getMessage());
+        } finally {
+            rowCache.invalidate(dataSourceId, table, rowKey);
         }
     }
 
     @Override
-    public void addColumnFamily(String tableName, String familyName) throws Exception {
+    public long deleteRows(RangeDeleteRequest request, LongConsumer progress) throws Exception {
+        String dataSourceId = resolveDataSourceId();
+        TableName tableName = TableName.valueOf(request.getTable());
+        int batchSize = request.getBatchSize() > 0 ? request.getBatchSize() : deleteBatchSize;
+
+        Scan scan = new Scan().setCaching(batchSize).setCacheBlocks(false);
+        if (request.getPrefix() != null && !request.getPrefix().isEmpty()) {
+            scan.setRowPrefixFilter(Bytes.toBytes(request.getPrefix()));
+        } else {
+            if (request.getStartRow() != null && !request.getStartRow().isEmpty()) {
+                scan.withStartRow(Bytes.toBytes(request.getStartRow()));
+            }
+            if (request.getStopRow() != null && !request.getStopRow().isEmpty()) {
+                scan.withStopRow(Bytes.toBytes(request.getStopRow()));
+            }
+        }
+        FilterList filters = new FilterList(FilterList.Operator.MUST_PASS_ALL, HBaseMapperSupport.keyOnlyFilter());
+        if (request.getRowKeyRegex() != null && !request.getRowKeyRegex().isEmpty()) {
+            filters.addFilter(new RowFilter(CompareOperator.EQUAL, new RegexStringComparator(request.getRowKeyRegex())));
+        }
+        scan.setFilter(filters);
+
+        try (HBaseConnectionRegistry.ConnectionLease lease = lease()) {
+            Connection connection = lease.getConnection();
+            if (request.isDryRun()) {
+                return parallelScanEngine.scan(connection, tableName, readTables(request.getTable()), scan, false,
+                        result -> progress.accept(1));
+            }
+            return deleteSplits(connection, tableName, scan, batchSize, request, progress);
+        } finally {
+            if (!request.isDryRun()) {
+                rowCache.invalidateTable(dataSourceId, request.getTable());
+            }
+        }
+    }
+
+    private long deleteSplits(Connection connection, TableName tableName, Scan scan, int batchSize,
+                              RangeDeleteRequest request, LongConsumer progress) throws Exception {
+        // 每个 Region 一个分片，各自扫描 RowKey 并批量删除，所有分片共用同一个限流器
+        List<Scan> splits = parallelScanEngine.split(connection, tableName, scan);
+        ParallelScanEngine.TableFactory readTables = readTables(request.getTable());
+        ParallelScanEngine.TableFactory writeTables = writeTables(request.getTable());
+        TokenBucket limiter = new TokenBucket(
+                request.getMaxRowsPerSecond() > 0 ? request.getMaxRowsPerSecond() : deleteRowsPerSecond);
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(deleteParallelism, splits.size())), r -> {
+            Thread thread = new Thread(r, "hbase-delete-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
         try {
-            Admin admin = connection.getAdmin();
+            List<Future<Long>> futures = new ArrayList<>();
+            for (Scan split : splits) {
+                futures.add(pool.submit(() -> deleteSplit(readTables, writeTables, split, batchSize, limiter, progress)));
+            }
+            long deleted = 0;
+            for (Future<Long> future : futures) {
+                deleted += future.get();
+            }
+            return deleted;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("批量删除已取消");
+        } catch (ExecutionException e) {
+            throw new Exception("批量删除失败: " + e.getCause().getMessage());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 扫描 RowKey 按读超时，删除按写超时。
+     */
+    private static long deleteSplit(ParallelScanEngine.TableFactory readTables, ParallelScanEngine.TableFactory writeTables,
+                                    Scan split, int batchSize, TokenBucket limiter,
+                                    LongConsumer progress) throws IOException, InterruptedException {
+        long deleted = 0;
+        List<Delete> batch = new ArrayList<>(batchSize);
+        try (Table readTable = readTables.open();
+             ResultScanner scanner = readTable.getScanner(split);
+             Table table = writeTables.open()) {
+            for (Result result : scanner) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+                batch.add(new Delete(result.getRow()));
+                if (batch.size() >= batchSize) {
+                    deleted += deleteBatch(table, batch, limiter, progress);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                deleted += deleteBatch(table, batch, limiter, progress);
+            }
+        }
+        return deleted;
+    }
+
+    private static int deleteBatch(Table table, List<Delete> batch, TokenBucket limiter,
+                                   LongConsumer progress) throws IOException, InterruptedException {
+        limiter.acquire(batch.size());
+        int size = batch.size();
+        table.delete(batch);
+        progress.accept(size);
+        return size;
+    }
+
+    @Override
+    public void addColumnFamily(String tableName, String familyName) throws Exception {
+        String dataSourceId = resolveDataSourceId();
+        try (HBaseConnectionRegistry.ConnectionLease lease = lease();
+             Admin admin = lease.getConnection().getAdmin()) {
             TableName table = TableName.valueOf(tableName);
             
-            // 检查表是否存在
-            if (!admin.tableExists(table)) {
-                throw new IOException("表不存在");
+            // 检查表是否存在，缓存中没有时可能是在其他客户端新建的表，刷新后再确认
+            if (!metadataCache.getTableNames(dataSourceId).contains(tableName)) {
+                metadataCache.invalidateTable(dataSourceId, tableName);
+                if (!metadataCache.getTableNames(dataSourceId).contains(tableName)) {
+                    throw new IOException("表不存在");
+                }
             }
             
             // 添加列簇
@@ -324,6 +756,68 @@ public class HBaseMapperImpl implements HBaseMapper {
             admin.addColumnFamily(table, columnFamilyDescriptor);
         } catch (Exception e) {
             throw new Exception("添加列簇失败: " + e.getMessage());
+        } finally {
+            metadataCache.invalidateTable(dataSourceId, tableName);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getTableSchema(String tableName) throws Exception {
+        try {
+            return HBaseMapperSupport.toSchema(metadataCache.getDescriptor(resolveDataSourceId(), tableName));
+        } catch (IOException e) {
+            throw new Exception("获取表结构失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> getRegions(String tableName) throws Exception {
+        try {
+            return HBaseMapperSupport.toRegionMap(metadataCache.getRegions(resolveDataSourceId(), tableName));
+        } catch (IOException e) {
+            throw new Exception("获取 Region 分布失败: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Object> getRowCacheStats(String dataSourceId) throws Exception {
+        return rowCache.stats(dataSourceId);
+    }
+
+    @Override
+    public ClientPolicyProperties.Policy getClientPolicy(String dataSourceId) throws Exception {
+        return policyProperties.resolve(dataSourceId);
+    }
+
+    @Override
+    public void updateClientPolicy(String dataSourceId, ClientPolicyProperties.Policy policy) throws Exception {
+        applyClientPolicy(dataSourceId, policy);
+        dataSourceStore.savePolicy(dataSourceId, policy);
+    }
+
+    @Override
+    public void restoreClientPolicy(String dataSourceId, ClientPolicyProperties.Policy policy) throws Exception {
+        applyClientPolicy(dataSourceId, policy);
+    }
+
+    private void applyClientPolicy(String dataSourceId, ClientPolicyProperties.Policy policy) throws Exception {
+        ClientPolicyProperties.Policy previous = policyProperties.getDatasources().put(dataSourceId, policy);
+        try {
+            policyProperties.resolve(dataSourceId).validate();
+        } catch (IllegalArgumentException e) {
+            if (previous != null) {
+                policyProperties.getDatasources().put(dataSourceId, previous);
+            } else {
+                policyProperties.getDatasources().remove(dataSourceId);
+            }
+            throw e;
+        }
+        // 重试次数、连接默认超时和对冲等待时间在连接级别生效，配置有变化时重建连接
+        Configuration configuration = connectionRegistry.getConfiguration(dataSourceId);
+        if (configuration != null) {
+            HBaseMapperSupport.applyPolicy(configuration, policyProperties.resolve(dataSourceId));
+            connectionRegistry.register(dataSourceId, configuration, false);
         }
+        log.info("数据源 {} 的客户端策略已更新", dataSourceId);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,257 @@
+package cn.dengdz.hbaseclient.mapper.impl;
+
+import cn.dengdz.hbaseclient.config.ClientPolicyProperties;
+import cn.dengdz.hbaseclient.mapper.support.FilterExpression;
+import cn.dengdz.hbaseclient.model.CellData;
+import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.RowProjection;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.AdvancedScanResultConsumer;
+import org.apache.hadoop.hbase.client.AsyncConnection;
+import org.apache.hadoop.hbase.client.AsyncTable;
+import org.apache.hadoop.hbase.client.AsyncTableBuilder;
+import org.apache.hadoop.hbase.client.ColumnFamilyDescriptor;
+import org.apache.hadoop.hbase.client.Consistency;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.RegionInfo;
+import org.apache.hadoop.hbase.client.Query;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.TableDescriptor;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 同步与异步 Mapper 共用的请求构造与结果转换。
+ */
+final class HBaseMapperSupport {
+
+    private HBaseMapperSupport() {
+    }
+
+    /**
+     * 将客户端策略写入连接配置。同步客户端的重试次数和间隔只能按连接设置，取读操作的配置；
+     * 未通过 TableBuilder 指定超时的管理操作使用 admin 的超时。
+     */
+    static void applyPolicy(Configuration configuration, ClientPolicyProperties.Policy policy) {
+        ClientPolicyProperties.OperationPolicy read = policy.getRead();
+        ClientPolicyProperties.OperationPolicy write = policy.getWrite();
+        ClientPolicyProperties.OperationPolicy admin = policy.getAdmin();
+        configuration.setInt("hbase.rpc.timeout", admin.getRpcTimeoutMs());
+        configuration.setInt("hbase.client.operation.timeout", admin.getOperationTimeoutMs());
+        configuration.setInt("hbase.rpc.read.timeout", read.getRpcTimeoutMs());
+        configuration.setInt("hbase.rpc.write.timeout", write.getRpcTimeoutMs());
+        configuration.setInt("hbase.client.scanner.timeout.period", read.getScanTimeoutMs());
+        configuration.setInt("hbase.client.retries.number", read.getRetries());
+        configuration.setLong("hbase.client.pause", read.getPauseMs());
+        // TIMELINE 读请求等待主副本的时间，超过后同时请求从副本，单位为微秒
+        long hedgeDelayMicros = TimeUnit.MILLISECONDS.toMicros(read.getHedgeDelayMs());
+        configuration.setLong("hbase.client.primaryCallTimeout.get", hedgeDelayMicros);
+        configuration.setLong("hbase.client.primaryCallTimeout.scan", hedgeDelayMicros);
+    }
+
+    /**
+     * 按操作类型的超时和重试次数获取异步表，异步客户端可以按表设置重试。
+     */
+    static AsyncTable<AdvancedScanResultConsumer> table(AsyncConnection connection, TableName tableName,
+                                                        ClientPolicyProperties.OperationPolicy policy) {
+        AsyncTableBuilder<AdvancedScanResultConsumer> builder = connection.getTableBuilder(tableName)
+                .setOperationTimeout(policy.getOperationTimeoutMs(), TimeUnit.MILLISECONDS)
+                .setRpcTimeout(policy.getRpcTimeoutMs(), TimeUnit.MILLISECONDS)
+                .setReadRpcTimeout(policy.getRpcTimeoutMs(), TimeUnit.MILLISECONDS)
+                .setWriteRpcTimeout(policy.getRpcTimeoutMs(), TimeUnit.MILLISECONDS)
+                .setMaxRetries(policy.getRetries())
+                .setRetryPause(policy.getPauseMs(), TimeUnit.MILLISECONDS);
+        if (policy.getScanTimeoutMs() != null) {
+            builder.setScanTimeout(policy.getScanTimeoutMs(), TimeUnit.MILLISECONDS);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 开启对冲读时以 TIMELINE 一致性读取，允许返回从副本上可能稍旧的数据。
+     * 表没有配置 Region 副本时与默认的强一致读相同。
+     */
+    static void applyConsistency(Query query, ClientPolicyProperties.OperationPolicy read) {
+        if (Boolean.TRUE.equals(read.getHedged())) {
+            query.setConsistency(Consistency.TIMELINE);
+        }
+    }
+
+    /**
+     * 将列（"列族" 或 "列族:列"）、时间范围和版本数限定下推到 Get。
+     */
+    static void applyProjection(Get get, RowProjection projection) throws IOException {
+        if (projection == null) {
+            return;
+        }
+        if (projection.getColumns() != null) {
+            for (String column : projection.getColumns()) {
+                int separator = column.indexOf(':');
+                if (separator < 0) {
+                    get.addFamily(Bytes.toBytes(column));
+                } else {
+                    get.addColumn(Bytes.toBytes(column.substring(0, separator)),
+                            Bytes.toBytes(column.substring(separator + 1)));
+                }
+            }
+        }
+        if (projection.getMinTimestamp() != null || projection.getMaxTimestamp() != null) {
+            get.setTimeRange(
+                    projection.getMinTimestamp() != null ? projection.getMinTimestamp() : 0L,
+                    projection.getMaxTimestamp() != null ? projection.getMaxTimestamp() : Long.MAX_VALUE);
+        }
+        if (projection.getMaxVersions() > 1) {
+            get.readVersions(projection.getMaxVersions());
+        }
+    }
+
+    /**
+     * 设置单元格时间范围 [minTimestamp, maxTimestamp)，与 Scan 上已有的时间范围取交集。
+     */
+    static void applyTimeRange(Scan scan, Long minTimestamp, Long maxTimestamp) throws IOException {
+        if (minTimestamp == null && maxTimestamp == null) {
+            return;
+        }
+        long min = Math.max(scan.getTimeRange().getMin(), minTimestamp != null ? minTimestamp : 0L);
+        long max = Math.min(scan.getTimeRange().getMax(), maxTimestamp != null ? maxTimestamp : Long.MAX_VALUE);
+        if (min >= max) {
+            throw new IllegalArgumentException("时间范围为空: [" + min + ", " + max + ")");
+        }
+        scan.setTimeRange(min, max);
+    }
+
+    /**
+     * 将列（"列族" 或 "列族:列"）限定下推到 Scan。
+     */
+    static void applyColumns(Scan scan, List<String> columns) {
+        if (columns == null) {
+            return;
+        }
+        for (String column : columns) {
+            int separator = column.indexOf(':');
+            if (separator < 0) {
+                scan.addFamily(Bytes.toBytes(column));
+            } else {
+                scan.addColumn(Bytes.toBytes(column.substring(0, separator)),
+                        Bytes.toBytes(column.substring(separator + 1)));
+            }
+        }
+    }
+
+    /**
+     * 应用编译后的过滤表达式。正向扫描时用表达式中的 RowKey 范围收窄扫描起止行，
+     * 时间戳条件设置为 Scan 的时间范围。
+     * 只取 RowKey 时不能使用 FirstKeyOnlyFilter，否则列值条件只能看到每行第一个单元格，改为只去掉值。
+     */
+    static void applyFilterExpression(Scan scan, FilterExpression expression, boolean keysOnly) throws IOException {
+        if (!scan.isReversed()) {
+            byte[] start = expression.getStartRow();
+            int compare = Bytes.compareTo(start, scan.getStartRow());
+            if (compare > 0 || (compare == 0 && start.length > 0 && !expression.isStartInclusive())) {
+                scan.withStartRow(start, expression.isStartInclusive());
+            }
+            byte[] stop = expression.getStopRow();
+            if (stop.length > 0 && (scan.getStopRow().length == 0 || Bytes.compareTo(stop, scan.getStopRow()) < 0)) {
+                scan.withStopRow(stop, expression.isStopInclusive());
+            }
+        }
+        if (expression.hasTimeRange()) {
+            scan.setTimeRange(expression.getMinTimestamp(), expression.getMaxTimestamp());
+        }
+        Filter filter = expression.getFilter();
+        if (keysOnly) {
+            filter = filter == null ? keyOnlyFilter()
+                    : new FilterList(FilterList.Operator.MUST_PASS_ALL, filter, new KeyOnlyFilter());
+        }
+        if (filter != null) {
+            scan.setFilter(filter);
+        }
+    }
+
+    /**
+     * 只取每行第一个 KeyValue 且不带值，用于只需要 RowKey 的扫描。
+     */
+    static Filter keyOnlyFilter() {
+        return new FilterList(FilterList.Operator.MUST_PASS_ALL, new FirstKeyOnlyFilter(), new KeyOnlyFilter());
+    }
+
+    /**
+     * 同一行的多个单元格合并为一个 Put。
+     */
+    static List<Put> toPuts(List<CellData> cells) {
+        Map<String, Put> puts = new LinkedHashMap<>();
+        for (CellData cell : cells) {
+            Put put = puts.computeIfAbsent(cell.getRowKey(), key -> new Put(Bytes.toBytes(key)));
+            put.addColumn(
+                Bytes.toBytes(cell.getColumnFamily()),
+                Bytes.toBytes(cell.getColumn()),
+                Bytes.toBytes(cell.getValue())
+            );
+        }
+        return new ArrayList<>(puts.values());
+    }
+
+    /**
+     * 表描述转换为前端展示用的结构。
+     */
+    static Map<String, Object> toSchema(TableDescriptor descriptor) {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("name", descriptor.getTableName().getNameAsString());
+        schema.put("readOnly", descriptor.isReadOnly());
+        schema.put("durability", descriptor.getDurability().name());
+        schema.put("regionReplication", descriptor.getRegionReplication());
+        schema.put("maxFileSize", descriptor.getMaxFileSize());
+        schema.put("memStoreFlushSize", descriptor.getMemStoreFlushSize());
+        List<Map<String, Object>> families = new ArrayList<>();
+        for (ColumnFamilyDescriptor family : descriptor.getColumnFamilies()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("name", family.getNameAsString());
+            item.put("maxVersions", family.getMaxVersions());
+            item.put("minVersions", family.getMinVersions());
+            item.put("timeToLive", family.getTimeToLive());
+            item.put("compression", family.getCompressionType().name());
+            item.put("dataBlockEncoding", family.getDataBlockEncoding().name());
+            item.put("bloomFilter", family.getBloomFilterType().name());
+            item.put("blockSize", family.getBlocksize());
+            item.put("blockCache", family.isBlockCacheEnabled());
+            item.put("inMemory", family.isInMemory());
+            families.add(item);
+        }
+        schema.put("families", families);
+        return schema;
+    }
+
+    static List<Map<String, Object>> toRegionMap(List<HRegionLocation> locations) {
+        List<Map<String, Object>> regions = new ArrayList<>(locations.size());
+        for (HRegionLocation location : locations) {
+            RegionInfo region = location.getRegion();
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("encodedName", region.getEncodedName());
+            item.put("regionName", region.getRegionNameAsString());
+            item.put("startKey", Bytes.toStringBinary(region.getStartKey()));
+            item.put("endKey", Bytes.toStringBinary(region.getEndKey()));
+            item.put("replicaId", region.getReplicaId());
+            item.put("server", location.getServerName() == null ? null : location.getServerName().getAddress().toString());
+            regions.add(item);
+        }
+        return regions;
+    }
+
+    static HBaseData toHBaseData(String rowKey, Result result) {
+        return new HBaseData(rowKey, result.rawCells());
+    }
+}
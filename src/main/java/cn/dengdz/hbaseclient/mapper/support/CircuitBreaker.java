@@ -0,0 +1,136 @@
+package cn.dengdz.hbaseclient.mapper.support;
+
+import cn.dengdz.hbaseclient.config.ResilienceProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 单个数据源的熔断器，按最近 windowSize 次调用的失败率和慢调用率判断。
+ * 熔断期间直接拒绝；到期后放行 halfOpenCalls 次试探调用，全部成功则恢复，任一失败或过慢则重新熔断。
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final ResilienceProperties.Settings settings;
+    // 环形窗口，记录每次调用是否失败、是否过慢
+    private final boolean[] failures;
+    private final boolean[] slowCalls;
+    private int size;
+    private int next;
+    private int failureCount;
+    private int slowCount;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    CircuitBreaker(ResilienceProperties.Settings settings) {
+        this.settings = settings;
+        this.failures = new boolean[settings.getWindowSize()];
+        this.slowCalls = new boolean[settings.getWindowSize()];
+    }
+
+    /**
+     * 是否放行本次调用，放行后必须调用 record 或 release。
+     */
+    synchronized boolean tryAcquire(long now) {
+        if (state == State.OPEN) {
+            if (now - openedAt < settings.getOpenDurationMs()) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = settings.getHalfOpenCalls();
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    /**
+     * 已放行但未实际执行的调用，归还试探名额。
+     */
+    synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    synchronized void record(boolean failure, boolean slow, long now) {
+        if (state == State.HALF_OPEN) {
+            if (failure || slow) {
+                open(now);
+            } else if (++halfOpenSuccesses >= settings.getHalfOpenCalls()) {
+                reset();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // 熔断前已开始的调用，不再计入
+            return;
+        }
+        if (size == failures.length) {
+            failureCount -= failures[next] ? 1 : 0;
+            slowCount -= slowCalls[next] ? 1 : 0;
+        } else {
+            size++;
+        }
+        failures[next] = failure;
+        slowCalls[next] = slow;
+        failureCount += failure ? 1 : 0;
+        slowCount += slow ? 1 : 0;
+        next = (next + 1) % failures.length;
+
+        if (size >= settings.getMinimumCalls()
+                && (failureCount * 100 >= settings.getFailureRateThreshold() * size
+                || slowCount * 100 >= settings.getSlowCallRateThreshold() * size)) {
+            open(now);
+        }
+    }
+
+    synchronized void reset() {
+        state = State.CLOSED;
+        size = 0;
+        next = 0;
+        failureCount = 0;
+        slowCount = 0;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 距离允许试探调用还有多少毫秒，未熔断时为 0。
+     */
+    synchronized long remainingOpenMs(long now) {
+        return state == State.OPEN ? Math.max(0, settings.getOpenDurationMs() - (now - openedAt)) : 0;
+    }
+
+    synchronized Map<String, Object> snapshot(long now) {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("state", state.name());
+        snapshot.put("calls", size);
+        snapshot.put("failureRate", size == 0 ? 0 : failureCount * 100.0 / size);
+        snapshot.put("slowCallRate", size == 0 ? 0 : slowCount * 100.0 / size);
+        if (state == State.OPEN) {
+            snapshot.put("openedAt", openedAt);
+            snapshot.put("retryAfterMs", remainingOpenMs(now));
+        }
+        return snapshot;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAt = now;
+    }
+}
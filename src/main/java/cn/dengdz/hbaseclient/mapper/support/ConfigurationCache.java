@@ -0,0 +1,76 @@
+package cn.dengdz.hbaseclient.mapper.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+/**
+ * 按 core-site.xml 和 hbase-site.xml 的内容哈希缓存解析后的配置，
+ * 配置文件未变化时重连不再重新解析 XML。每次返回副本，调用方可以自由修改。
+ */
+@Component
+public class ConfigurationCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigurationCache.class);
+
+    private final Cache<String, Configuration> snapshots;
+
+    public ConfigurationCache(@Value("${hbase-client.startup.configuration-cache-size:64}") long maximumSize) {
+        this.snapshots = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    public Configuration load(Path coreSite, Path hbaseSite) throws IOException {
+        String key = hash(coreSite, hbaseSite);
+        Configuration snapshot = snapshots.get(key, k -> parse(coreSite, hbaseSite));
+        return new Configuration(snapshot);
+    }
+
+    /**
+     * 文件中的配置项逐项 set 到新的配置上，缓存的配置不再按路径引用配置文件：
+     * 之后有代码调用 addDefaultResource 时，Configuration 会重新加载全部资源，引用文件时会重新解析，
+     * 而文件此时可能已被替换或删除；set 的配置项保存在 overlay 中，重新加载后仍然生效。
+     */
+    private static Configuration parse(Path coreSite, Path hbaseSite) {
+        log.info("解析配置文件：{}，{}", coreSite, hbaseSite);
+        Configuration files = new Configuration(false);
+        files.addResource(new org.apache.hadoop.fs.Path(coreSite.toUri()));
+        files.addResource(new org.apache.hadoop.fs.Path(hbaseSite.toUri()));
+        Configuration configuration = HBaseConfiguration.create();
+        // 迭代得到的是未展开 ${} 变量的原始值，在合并后的配置上读取时再展开
+        for (Map.Entry<String, String> entry : files) {
+            String[] sources = files.getPropertySources(entry.getKey());
+            String source = sources != null && sources.length > 0 ? sources[sources.length - 1] : null;
+            configuration.set(entry.getKey(), entry.getValue(), source);
+        }
+        return configuration;
+    }
+
+    private static String hash(Path coreSite, Path hbaseSite) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(Files.readAllBytes(coreSite));
+            // 分隔两个文件的内容，避免内容拼接后相同
+            digest.update((byte) 0);
+            digest.update(Files.readAllBytes(hbaseSite));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
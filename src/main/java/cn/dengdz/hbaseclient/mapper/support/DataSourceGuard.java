@@ -0,0 +1,308 @@
+package cn.dengdz.hbaseclient.mapper.support;
+
+import cn.dengdz.hbaseclient.config.ResilienceProperties;
+import cn.dengdz.hbaseclient.util.DataSourceContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按数据源隔离 Mapper 调用：读、写、管理操作分别限制并发，排满后有限等待，超出则拒绝；
+ * 同时按数据源熔断，集群失败率或慢调用率过高时直接拒绝，避免一个异常集群占满所有请求线程。
+ * 先于指标切面执行，被拒绝的调用不计入操作耗时。
+ */
+@Aspect
+@Component
+@Order(0)
+public class DataSourceGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceGuard.class);
+
+    enum Kind {
+        READ, WRITE, ADMIN
+    }
+
+    private static final Map<String, Kind> KINDS = new HashMap<>();
+    // 扫描、计数、导入和批量删除本身耗时较长，只按失败率熔断，不计慢调用
+    private static final Set<String> LONG_RUNNING = new HashSet<>(Arrays.asList(
+            "scanRows", "countRows", "importRows", "deleteRows", "prefetch"));
+
+    static {
+        for (String name : Arrays.asList("getRow", "getRows", "listRows", "searchRows", "scanRows", "countRows")) {
+            KINDS.put(name, Kind.READ);
+        }
+        for (String name : Arrays.asList("addData", "importRows", "deleteData", "deleteRows")) {
+            KINDS.put(name, Kind.WRITE);
+        }
+        for (String name : Arrays.asList("listTables", "addColumnFamily", "getTableSchema", "getRegions", "prefetch")) {
+            KINDS.put(name, Kind.ADMIN);
+        }
+    }
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry registry;
+    private final Map<String, GuardState> states = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DataSourceGuard(ResilienceProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    @Around("execution(public * cn.dengdz.hbaseclient.mapper.HBaseMapper+.*(..))"
+            + " || execution(public * cn.dengdz.hbaseclient.mapper.AsyncHBaseMapper+.*(..))")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String operation = signature.getName();
+        String dataSourceId = dataSourceOf(signature.getParameterNames(), joinPoint.getArgs());
+        Kind kind = KINDS.get(operation);
+        if (kind == null || dataSourceId == null) {
+            Object result = joinPoint.proceed();
+            onLifecycle(operation, dataSourceId);
+            return result;
+        }
+        GuardState state = states.computeIfAbsent(dataSourceId, this::createState);
+        if (!state.settings.getEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        long now = System.currentTimeMillis();
+        if (!state.breaker.tryAcquire(now)) {
+            reject(dataSourceId, kind, "circuit_open");
+            long retryAfterMs = state.breaker.remainingOpenMs(now);
+            throw new DataSourceUnavailableException(
+                    "数据源 " + dataSourceId + " 已熔断，请 " + Math.max(1, retryAfterMs / 1000) + " 秒后重试", retryAfterMs);
+        }
+        Bulkhead bulkhead = state.bulkheads.get(kind);
+        String rejection = bulkhead.acquire(state.settings.getMaxQueue(), state.settings.getMaxWaitMs());
+        if (rejection != null) {
+            state.breaker.release();
+            reject(dataSourceId, kind, rejection);
+            throw new DataSourceUnavailableException(
+                    "数据源 " + dataSourceId + " 的" + label(kind) + "请求过多，请稍后重试", state.settings.getMaxWaitMs());
+        }
+
+        boolean slowAccounted = !LONG_RUNNING.contains(operation);
+        long start = System.currentTimeMillis();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            complete(state, bulkhead, start, slowAccounted, e);
+            throw e;
+        }
+        if (result instanceof CompletableFuture) {
+            return ((CompletableFuture<?>) result).whenComplete((value, error) ->
+                    complete(state, bulkhead, start, slowAccounted, error));
+        }
+        complete(state, bulkhead, start, slowAccounted, null);
+        return result;
+    }
+
+    /**
+     * 各数据源的熔断状态及各类操作的并发占用。
+     */
+    public Map<String, Object> getStates() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        states.keySet().stream().sorted().forEach(id -> result.put(id, getState(id)));
+        return result;
+    }
+
+    public Map<String, Object> getState(String dataSourceId) {
+        GuardState state = states.get(dataSourceId);
+        if (state == null) {
+            // 还没有调用过的数据源，按配置返回初始状态，不登记
+            state = new GuardState(dataSourceId, properties.resolve(dataSourceId));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", state.settings.getEnabled());
+        result.put("circuit", state.breaker.snapshot(System.currentTimeMillis()));
+        Map<String, Object> bulkheads = new LinkedHashMap<>();
+        state.bulkheads.forEach((kind, bulkhead) -> bulkheads.put(kind.name().toLowerCase(), bulkhead.snapshot()));
+        result.put("bulkheads", bulkheads);
+        return result;
+    }
+
+    /**
+     * 熔断期间直接拒绝，不必等到扫描开始后才在响应中报错。
+     */
+    public boolean isOpen(String dataSourceId) {
+        GuardState state = states.get(dataSourceId);
+        return state != null && state.settings.getEnabled()
+                && state.breaker.remainingOpenMs(System.currentTimeMillis()) > 0;
+    }
+
+    /**
+     * 重新连接成功视为集群已恢复，清除熔断状态；删除数据源时一并移除。
+     */
+    private void onLifecycle(String operation, String dataSourceId) {
+        if (dataSourceId == null) {
+            return;
+        }
+        if ("reconnect".equals(operation) || "initConnection".equals(operation)) {
+            GuardState state = states.get(dataSourceId);
+            if (state != null && state.breaker.getState() != CircuitBreaker.State.CLOSED) {
+                log.info("数据源 {} 已重新连接，解除熔断", dataSourceId);
+                state.breaker.reset();
+            }
+        } else if ("deleteConfig".equals(operation)) {
+            states.remove(dataSourceId);
+        }
+    }
+
+    private void complete(GuardState state, Bulkhead bulkhead, long start, boolean slowAccounted, Throwable error) {
+        bulkhead.release();
+        long now = System.currentTimeMillis();
+        boolean slow = slowAccounted && now - start >= state.settings.getSlowCallThresholdMs();
+        CircuitBreaker.State before = state.breaker.getState();
+        state.breaker.record(isFailure(error), slow, now);
+        CircuitBreaker.State after = state.breaker.getState();
+        if (before != after) {
+            log.warn("数据源 {} 的熔断状态由 {} 变为 {}", state.dataSourceId, before, after);
+        }
+    }
+
+    /**
+     * 参数错误、数据源未连接以及表不存在等不可重试的异常与集群是否健康无关，不计为失败；
+     * 用户取消计数、导出、删除等任务时线程被中断，同样不计为失败。
+     */
+    private static boolean isFailure(Throwable error) {
+        if (error == null) {
+            return false;
+        }
+        // Mapper 会把原始异常包装一层再抛出，沿异常链查找
+        for (Throwable cause = error; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof SocketTimeoutException) {
+                // SocketTimeoutException 是 InterruptedIOException 的子类，但表示 RPC 超时，计为失败
+                return true;
+            }
+            if (cause instanceof IllegalArgumentException
+                    || cause instanceof IllegalStateException
+                    || cause instanceof DoNotRetryIOException
+                    || cause instanceof InterruptedIOException
+                    || cause instanceof InterruptedException
+                    || cause instanceof ClosedByInterruptException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void reject(String dataSourceId, Kind kind, String reason) {
+        registry.counter("hbase.client.guard.rejected",
+                Tags.of("datasource", dataSourceId, "kind", kind.name().toLowerCase(), "reason", reason)).increment();
+    }
+
+    private GuardState createState(String dataSourceId) {
+        GuardState state = new GuardState(dataSourceId, properties.resolve(dataSourceId));
+        registry.gauge("hbase.client.guard.circuit.state", Tags.of("datasource", dataSourceId), state.breaker,
+                breaker -> breaker.getState().ordinal());
+        return state;
+    }
+
+    private static String dataSourceOf(String[] names, Object[] args) {
+        if (names != null) {
+            for (int i = 0; i < names.length; i++) {
+                if ("dataSourceId".equals(names[i]) && args[i] instanceof String) {
+                    return (String) args[i];
+                }
+            }
+        }
+        return DataSourceContext.getCurrentDataSourceId();
+    }
+
+    private static String label(Kind kind) {
+        switch (kind) {
+            case READ:
+                return "读";
+            case WRITE:
+                return "写";
+            default:
+                return "管理";
+        }
+    }
+
+    private static final class GuardState {
+        private final String dataSourceId;
+        private final ResilienceProperties.Settings settings;
+        private final CircuitBreaker breaker;
+        private final Map<Kind, Bulkhead> bulkheads = new LinkedHashMap<>();
+
+        GuardState(String dataSourceId, ResilienceProperties.Settings settings) {
+            this.dataSourceId = dataSourceId;
+            this.settings = settings;
+            this.breaker = new CircuitBreaker(settings);
+            bulkheads.put(Kind.READ, new Bulkhead(settings.getReadConcurrency()));
+            bulkheads.put(Kind.WRITE, new Bulkhead(settings.getWriteConcurrency()));
+            bulkheads.put(Kind.ADMIN, new Bulkhead(settings.getAdminConcurrency()));
+        }
+    }
+
+    private static final class Bulkhead {
+        private final int limit;
+        private final Semaphore permits;
+        private final AtomicInteger waiting = new AtomicInteger();
+
+        Bulkhead(int limit) {
+            this.limit = limit;
+            this.permits = new Semaphore(limit, true);
+        }
+
+        /**
+         * 获取并发名额，成功返回 null，否则返回拒绝原因。
+         */
+        String acquire(int maxQueue, long maxWaitMs) {
+            if (permits.tryAcquire()) {
+                return null;
+            }
+            if (waiting.incrementAndGet() > maxQueue) {
+                waiting.decrementAndGet();
+                return "queue_full";
+            }
+            try {
+                return permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS) ? null : "queue_timeout";
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "interrupted";
+            } finally {
+                waiting.decrementAndGet();
+            }
+        }
+
+        void release() {
+            permits.release();
+        }
+
+        Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("limit", limit);
+            snapshot.put("active", limit - permits.availablePermits());
+            snapshot.put("waiting", waiting.get());
+            return snapshot;
+        }
+    }
+}
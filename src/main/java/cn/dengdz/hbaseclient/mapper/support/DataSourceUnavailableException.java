@@ -0,0 +1,18 @@
+package cn.dengdz.hbaseclient.mapper.support;
+
+/**
+ * 数据源已熔断或并发已满时拒绝请求，接口层返回 503，retryAfterMs 为建议的重试间隔。
+ */
+public class DataSourceUnavailableException extends RuntimeException {
+
+    private final long retryAfterMs;
+
+    public DataSourceUnavailableException(String message, long retryAfterMs) {
+        super(message);
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
@@ -0,0 +1,516 @@
+package cn.dengdz.hbaseclient.mapper.support;
+
+import org.apache.hadoop.hbase.CompareOperator;
+import org.apache.hadoop.hbase.filter.BinaryComparator;
+import org.apache.hadoop.hbase.filter.BinaryPrefixComparator;
+import org.apache.hadoop.hbase.filter.ByteArrayComparable;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.PrefixFilter;
+import org.apache.hadoop.hbase.filter.RegexStringComparator;
+import org.apache.hadoop.hbase.filter.RowFilter;
+import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
+import org.apache.hadoop.hbase.filter.SubstringComparator;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 把过滤表达式编译为下推到 RegionServer 执行的 Filter。
+ *
+ * <pre>
+ * expr      := and ( OR and )*
+ * and       := term ( AND term )*
+ * term      := '(' expr ')' | exists(列族:列) | subject op value
+ * subject   := rowkey | timestamp | 列族:列
+ * op        := = | != | &lt; | &lt;= | &gt; | &gt;= | =~ (正则) | ^= (前缀) | *= (包含)
+ * value     := '字符串' | 数字 | long(n) | int(n) | double(n)
+ * </pre>
+ *
+ * 数字字面量按字符串比较，与本服务写入的值一致；long()/int()/double() 按 Bytes 编码的二进制值比较。
+ * 时间戳条件只能出现在顶层 AND 中，编译为 Scan 的时间范围；顶层 AND 中的 RowKey 范围和前缀条件同时用于收窄扫描范围。
+ */
+public final class FilterExpression {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private Filter filter;
+    private byte[] startRow = EMPTY;
+    private boolean startInclusive = true;
+    private byte[] stopRow = EMPTY;
+    private boolean stopInclusive;
+    private long minTimestamp = 0;
+    private long maxTimestamp = Long.MAX_VALUE;
+
+    private FilterExpression() {
+    }
+
+    public static FilterExpression compile(String expression) {
+        FilterExpression compiled = new FilterExpression();
+        Parser parser = new Parser(expression, compiled);
+        compiled.filter = parser.parse();
+        return compiled;
+    }
+
+    /**
+     * 编译后的过滤器，表达式只包含时间戳条件时为 null。
+     */
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public byte[] getStartRow() {
+        return startRow;
+    }
+
+    public boolean isStartInclusive() {
+        return startInclusive;
+    }
+
+    /**
+     * 空数组表示不限制。
+     */
+    public byte[] getStopRow() {
+        return stopRow;
+    }
+
+    public boolean isStopInclusive() {
+        return stopInclusive;
+    }
+
+    public boolean hasTimeRange() {
+        return minTimestamp > 0 || maxTimestamp < Long.MAX_VALUE;
+    }
+
+    public long getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    /**
+     * 不包含该时间戳。
+     */
+    public long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    private void narrowStart(byte[] row, boolean inclusive) {
+        int compare = Bytes.compareTo(row, startRow);
+        if (compare > 0 || (compare == 0 && !inclusive)) {
+            startRow = row;
+            startInclusive = inclusive;
+        }
+    }
+
+    private void narrowStop(byte[] row, boolean inclusive) {
+        if (row.length == 0) {
+            return;
+        }
+        int compare = stopRow.length == 0 ? -1 : Bytes.compareTo(row, stopRow);
+        if (compare < 0 || (compare == 0 && !inclusive)) {
+            stopRow = row;
+            stopInclusive = inclusive;
+        }
+    }
+
+    private void narrowTime(CompareOperator op, long timestamp) {
+        switch (op) {
+            case EQUAL:
+                minTimestamp = Math.max(minTimestamp, timestamp);
+                maxTimestamp = Math.min(maxTimestamp, timestamp + 1);
+                break;
+            case GREATER:
+                minTimestamp = Math.max(minTimestamp, timestamp + 1);
+                break;
+            case GREATER_OR_EQUAL:
+                minTimestamp = Math.max(minTimestamp, timestamp);
+                break;
+            case LESS:
+                maxTimestamp = Math.min(maxTimestamp, timestamp);
+                break;
+            case LESS_OR_EQUAL:
+                maxTimestamp = Math.min(maxTimestamp, timestamp + 1);
+                break;
+            default:
+                throw new IllegalArgumentException("时间戳条件不支持运算符 " + op);
+        }
+        if (minTimestamp >= maxTimestamp) {
+            throw new IllegalArgumentException("时间戳条件的范围为空");
+        }
+    }
+
+    /**
+     * 前缀对应的扫描结束行：去掉末尾的 0xFF 后最后一个字节加一，全为 0xFF 时不限制。
+     */
+    private static byte[] prefixStop(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xFF) {
+                byte[] stop = Arrays.copyOf(prefix, i + 1);
+                stop[i]++;
+                return stop;
+            }
+        }
+        return EMPTY;
+    }
+
+    private enum TokenType {
+        IDENT, STRING, NUMBER, OPERATOR, LPAREN, RPAREN, END
+    }
+
+    private static final class Token {
+        private final TokenType type;
+        private final String text;
+        private final int position;
+
+        Token(TokenType type, String text, int position) {
+            this.type = type;
+            this.text = text;
+            this.position = position;
+        }
+
+        boolean isKeyword(String keyword) {
+            return type == TokenType.IDENT && text.equalsIgnoreCase(keyword);
+        }
+    }
+
+    private static final class Parser {
+        private final String source;
+        private final FilterExpression compiled;
+        private final List<Token> tokens;
+        private int index;
+
+        Parser(String source, FilterExpression compiled) {
+            if (source == null || source.trim().isEmpty()) {
+                throw new IllegalArgumentException("过滤表达式不能为空");
+            }
+            this.source = source;
+            this.compiled = compiled;
+            this.tokens = tokenize(source);
+        }
+
+        Filter parse() {
+            // 顶层 AND 单独处理，时间戳和 RowKey 范围条件可以转换为 Scan 的范围
+            List<Filter> filters = new ArrayList<>();
+            do {
+                Filter filter = parseTerm(true);
+                if (filter != null) {
+                    filters.add(filter);
+                }
+            } while (accept("AND"));
+
+            if (peek().isKeyword("OR")) {
+                // 顶层其实是 OR 表达式，丢弃已收窄的范围，按普通表达式重新解析
+                resetScanRange();
+                index = 0;
+                Filter filter = parseOr();
+                expect(TokenType.END);
+                return filter;
+            }
+            expect(TokenType.END);
+            if (filters.isEmpty()) {
+                return null;
+            }
+            return filters.size() == 1 ? filters.get(0) : new FilterList(FilterList.Operator.MUST_PASS_ALL, filters);
+        }
+
+        private void resetScanRange() {
+            compiled.startRow = EMPTY;
+            compiled.startInclusive = true;
+            compiled.stopRow = EMPTY;
+            compiled.stopInclusive = false;
+            compiled.minTimestamp = 0;
+            compiled.maxTimestamp = Long.MAX_VALUE;
+        }
+
+        private Filter parseOr() {
+            List<Filter> filters = new ArrayList<>();
+            filters.add(parseAnd());
+            while (accept("OR")) {
+                filters.add(parseAnd());
+            }
+            return filters.size() == 1 ? filters.get(0) : new FilterList(FilterList.Operator.MUST_PASS_ONE, filters);
+        }
+
+        private Filter parseAnd() {
+            List<Filter> filters = new ArrayList<>();
+            filters.add(parseTerm(false));
+            while (accept("AND")) {
+                filters.add(parseTerm(false));
+            }
+            return filters.size() == 1 ? filters.get(0) : new FilterList(FilterList.Operator.MUST_PASS_ALL, filters);
+        }
+
+        /**
+         * @param topLevel 是否为顶层 AND 的一项，只有顶层条件可以转换为扫描范围
+         */
+        private Filter parseTerm(boolean topLevel) {
+            Token token = next();
+            if (token.type == TokenType.LPAREN) {
+                Filter filter = parseOr();
+                expect(TokenType.RPAREN);
+                return filter;
+            }
+            if (token.type != TokenType.IDENT) {
+                throw error(token, "应为条件");
+            }
+            if (token.isKeyword("exists") && peek().type == TokenType.LPAREN) {
+                next();
+                byte[][] column = column(next());
+                expect(TokenType.RPAREN);
+                // 任何值都不小于空数组，配合 filterIfMissing 只保留包含该列的行
+                return columnFilter(column, CompareOperator.GREATER_OR_EQUAL, new BinaryComparator(EMPTY));
+            }
+
+            Token operator = next();
+            if (operator.type != TokenType.OPERATOR) {
+                throw error(operator, "应为运算符");
+            }
+            if (token.isKeyword("timestamp")) {
+                if (!topLevel) {
+                    throw error(token, "时间戳条件只能出现在顶层 AND 中");
+                }
+                compiled.narrowTime(compareOperator(operator), Long.parseLong(expectNumber().text));
+                return null;
+            }
+            if (token.isKeyword("rowkey")) {
+                return rowKeyFilter(operator, literal(), topLevel);
+            }
+            byte[][] column = column(token);
+            switch (operator.text) {
+                case "=~":
+                    return columnFilter(column, CompareOperator.EQUAL, regex(literal()));
+                case "^=":
+                    return columnFilter(column, CompareOperator.EQUAL, new BinaryPrefixComparator(literal()));
+                case "*=":
+                    return columnFilter(column, CompareOperator.EQUAL, new SubstringComparator(Bytes.toString(literal())));
+                default:
+                    return columnFilter(column, compareOperator(operator), new BinaryComparator(literal()));
+            }
+        }
+
+        private Filter rowKeyFilter(Token operator, byte[] value, boolean topLevel) {
+            switch (operator.text) {
+                case "=~":
+                    return new RowFilter(CompareOperator.EQUAL, regex(value));
+                case "^=":
+                    if (topLevel) {
+                        compiled.narrowStart(value, true);
+                        compiled.narrowStop(prefixStop(value), false);
+                    }
+                    return new PrefixFilter(value);
+                case "*=":
+                    return new RowFilter(CompareOperator.EQUAL, new SubstringComparator(Bytes.toString(value)));
+                default:
+                    CompareOperator op = compareOperator(operator);
+                    if (topLevel) {
+                        switch (op) {
+                            case EQUAL:
+                                compiled.narrowStart(value, true);
+                                compiled.narrowStop(value, true);
+                                break;
+                            case GREATER:
+                                compiled.narrowStart(value, false);
+                                break;
+                            case GREATER_OR_EQUAL:
+                                compiled.narrowStart(value, true);
+                                break;
+                            case LESS:
+                                compiled.narrowStop(value, false);
+                                break;
+                            case LESS_OR_EQUAL:
+                                compiled.narrowStop(value, true);
+                                break;
+                            default:
+                                break;
+                        }
+                    }
+                    return new RowFilter(op, new BinaryComparator(value));
+            }
+        }
+
+        private static Filter columnFilter(byte[][] column, CompareOperator op, ByteArrayComparable comparator) {
+            SingleColumnValueFilter filter = new SingleColumnValueFilter(column[0], column[1], op, comparator);
+            // 不包含该列的行不满足条件
+            filter.setFilterIfMissing(true);
+            filter.setLatestVersionOnly(true);
+            return filter;
+        }
+
+        private RegexStringComparator regex(byte[] value) {
+            String pattern = Bytes.toString(value);
+            try {
+                Pattern.compile(pattern);
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("正则表达式错误: " + e.getDescription());
+            }
+            return new RegexStringComparator(pattern);
+        }
+
+        private byte[][] column(Token token) {
+            int separator = token.text.indexOf(':');
+            if (token.type != TokenType.IDENT || separator <= 0 || separator == token.text.length() - 1) {
+                throw error(token, "应为 列族:列");
+            }
+            return new byte[][]{
+                    Bytes.toBytes(token.text.substring(0, separator)),
+                    Bytes.toBytes(token.text.substring(separator + 1))
+            };
+        }
+
+        private byte[] literal() {
+            Token token = next();
+            switch (token.type) {
+                case STRING:
+                case NUMBER:
+                    return Bytes.toBytes(token.text);
+                case IDENT:
+                    String type = token.text.toLowerCase(Locale.ROOT);
+                    if (peek().type == TokenType.LPAREN) {
+                        next();
+                        Token number = expectNumber();
+                        expect(TokenType.RPAREN);
+                        try {
+                            switch (type) {
+                                case "long":
+                                    return Bytes.toBytes(Long.parseLong(number.text));
+                                case "int":
+                                    return Bytes.toBytes(Integer.parseInt(number.text));
+                                case "double":
+                                    return Bytes.toBytes(Double.parseDouble(number.text));
+                                default:
+                                    break;
+                            }
+                        } catch (NumberFormatException e) {
+                            throw error(number, "数字格式错误");
+                        }
+                    }
+                    throw error(token, "不支持的值类型 " + token.text);
+                default:
+                    throw error(token, "应为值");
+            }
+        }
+
+        private static CompareOperator compareOperator(Token operator) {
+            switch (operator.text) {
+                case "=":
+                    return CompareOperator.EQUAL;
+                case "!=":
+                    return CompareOperator.NOT_EQUAL;
+                case "<":
+                    return CompareOperator.LESS;
+                case "<=":
+                    return CompareOperator.LESS_OR_EQUAL;
+                case ">":
+                    return CompareOperator.GREATER;
+                case ">=":
+                    return CompareOperator.GREATER_OR_EQUAL;
+                default:
+                    throw new IllegalArgumentException("运算符 " + operator.text + " 不能用于该条件");
+            }
+        }
+
+        private Token expectNumber() {
+            Token token = next();
+            if (token.type != TokenType.NUMBER) {
+                throw error(token, "应为数字");
+            }
+            return token;
+        }
+
+        private void expect(TokenType type) {
+            Token token = next();
+            if (token.type != type) {
+                throw error(token, type == TokenType.END ? "多余的内容" : "应为 " + (type == TokenType.RPAREN ? ")" : type));
+            }
+        }
+
+        private boolean accept(String keyword) {
+            if (peek().isKeyword(keyword)) {
+                index++;
+                return true;
+            }
+            return false;
+        }
+
+        private Token peek() {
+            return tokens.get(index);
+        }
+
+        private Token next() {
+            Token token = tokens.get(index);
+            if (token.type != TokenType.END) {
+                index++;
+            }
+            return token;
+        }
+
+        private IllegalArgumentException error(Token token, String message) {
+            String near = token.type == TokenType.END ? "表达式末尾" : "'" + token.text + "'";
+            return new IllegalArgumentException("过滤表达式错误（位置 " + (token.position + 1) + "，" + near + "）：" + message);
+        }
+
+        private List<Token> tokenize(String source) {
+            List<Token> result = new ArrayList<>();
+            int i = 0;
+            while (i < source.length()) {
+                char c = source.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '(') {
+                    result.add(new Token(TokenType.LPAREN, "(", i++));
+                } else if (c == ')') {
+                    result.add(new Token(TokenType.RPAREN, ")", i++));
+                } else if (c == '\'' || c == '"') {
+                    int start = i++;
+                    StringBuilder text = new StringBuilder();
+                    while (i < source.length() && source.charAt(i) != c) {
+                        if (source.charAt(i) == '\\' && i + 1 < source.length()) {
+                            i++;
+                        }
+                        text.append(source.charAt(i++));
+                    }
+                    if (i >= source.length()) {
+                        throw new IllegalArgumentException("过滤表达式错误（位置 " + (start + 1) + "）：字符串未闭合");
+                    }
+                    i++;
+                    result.add(new Token(TokenType.STRING, text.toString(), start));
+                } else if (Character.isDigit(c) || (c == '-' && i + 1 < source.length()
+                        && Character.isDigit(source.charAt(i + 1)))) {
+                    int start = i++;
+                    while (i < source.length() && (Character.isDigit(source.charAt(i)) || source.charAt(i) == '.')) {
+                        i++;
+                    }
+                    result.add(new Token(TokenType.NUMBER, source.substring(start, i), start));
+                } else if ("=!<>^*".indexOf(c) >= 0) {
+                    int start = i++;
+                    if (i < source.length() && (source.charAt(i) == '=' || (c == '=' && source.charAt(i) == '~'))) {
+                        i++;
+                    }
+                    String operator = source.substring(start, i);
+                    if (operator.equals("!") || operator.equals("^") || operator.equals("*")) {
+                        throw new IllegalArgumentException("过滤表达式错误（位置 " + (start + 1) + "）：未知运算符 " + operator);
+                    }
+                    result.add(new Token(TokenType.OPERATOR, operator, start));
+                } else if (isIdentifierChar(c)) {
+                    int start = i;
+                    while (i < source.length() && isIdentifierChar(source.charAt(i))) {
+                        i++;
+                    }
+                    result.add(new Token(TokenType.IDENT, source.substring(start, i), start));
+                } else {
+                    throw new IllegalArgumentException("过滤表达式错误（位置 " + (i + 1) + "）：非法字符 " + c);
+                }
+            }
+            result.add(new Token(TokenType.END, "", source.length()));
+            return result;
+        }
+
+        private static boolean isIdentifierChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '-' || c == '.' || c == ':' || c == '$' || c == '#';
+        }
+    }
+}
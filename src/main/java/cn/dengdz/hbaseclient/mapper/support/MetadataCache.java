@@ -0,0 +1,207 @@
+package cn.dengdz.hbaseclient.mapper.support;
+
+import cn.dengdz.hbaseclient.config.HBaseConnectionRegistry;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.TableDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 按数据源缓存表名列表、表描述和 Region 分布。
+ * 超过 ttl 后首次访问仍返回旧值并在后台刷新，通过本服务执行的 DDL 会立即失效对应缓存。
+ */
+@Component
+public class MetadataCache {
+
+    private static final Logger log = LoggerFactory.getLogger(MetadataCache.class);
+
+    private final HBaseConnectionRegistry connectionRegistry;
+    private final ExecutorService refresher;
+    private final LoadingCache<String, List<String>> tableNames;
+    private final LoadingCache<TableKey, TableDescriptor> descriptors;
+    private final LoadingCache<TableKey, List<HRegionLocation>> regions;
+    // 由已缓存的表名列表构建，列表刷新后按需重建
+    private final Map<String, KnownTables> knownTables = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MetadataCache(HBaseConnectionRegistry connectionRegistry,
+                         @Value("${hbase-client.metadata.ttl-ms:300000}") long ttlMs,
+                         @Value("${hbase-client.metadata.maximum-tables:10000}") long maximumTables) {
+        this.connectionRegistry = connectionRegistry;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.refresher = Executors.newFixedThreadPool(2, r -> {
+            Thread thread = new Thread(r, "hbase-metadata-refresh-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.tableNames = Caffeine.newBuilder()
+                .refreshAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                .executor(refresher)
+                .build(this::loadTableNames);
+        this.descriptors = Caffeine.newBuilder()
+                .maximumSize(maximumTables)
+                .refreshAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                .executor(refresher)
+                .build(this::loadDescriptor);
+        this.regions = Caffeine.newBuilder()
+                .maximumSize(maximumTables)
+                .refreshAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                .executor(refresher)
+                .build(this::loadRegions);
+    }
+
+    public List<String> getTableNames(String dataSourceId) throws IOException {
+        return get(tableNames, dataSourceId);
+    }
+
+    public TableDescriptor getDescriptor(String dataSourceId, String table) throws IOException {
+        return get(descriptors, new TableKey(dataSourceId, table));
+    }
+
+    /**
+     * 按起始 RowKey 排序的 Region 位置。
+     */
+    public List<HRegionLocation> getRegions(String dataSourceId, String table) throws IOException {
+        return get(regions, new TableKey(dataSourceId, table));
+    }
+
+    /**
+     * 表是否在已缓存的表名列表中，不触发加载，表名列表尚未加载时返回 false。
+     */
+    public boolean isKnownTable(String dataSourceId, String table) {
+        List<String> names = tableNames.getIfPresent(dataSourceId);
+        if (names == null) {
+            return false;
+        }
+        KnownTables known = knownTables.get(dataSourceId);
+        if (known == null || known.source != names) {
+            known = new KnownTables(names);
+            knownTables.put(dataSourceId, known);
+        }
+        return known.names.contains(table);
+    }
+
+    /**
+     * 表结构变化后调用，同时失效表名列表以反映建表、删表。
+     */
+    public void invalidateTable(String dataSourceId, String table) {
+        TableKey key = new TableKey(dataSourceId, table);
+        descriptors.invalidate(key);
+        regions.invalidate(key);
+        tableNames.invalidate(dataSourceId);
+    }
+
+    /**
+     * 重连或删除数据源时调用。
+     */
+    public void invalidateAll(String dataSourceId) {
+        tableNames.invalidate(dataSourceId);
+        knownTables.remove(dataSourceId);
+        descriptors.asMap().keySet().removeIf(key -> key.dataSourceId.equals(dataSourceId));
+        regions.asMap().keySet().removeIf(key -> key.dataSourceId.equals(dataSourceId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private List<String> loadTableNames(String dataSourceId) throws IOException {
+        try (HBaseConnectionRegistry.ConnectionLease lease = connectionRegistry.acquire(dataSourceId);
+             Admin admin = lease.getConnection().getAdmin()) {
+            List<String> names = Arrays.stream(admin.listTableNames())
+                    .map(TableName::getNameAsString)
+                    .collect(Collectors.toList());
+            log.debug("数据源 {} 加载表名 {} 个", dataSourceId, names.size());
+            return Collections.unmodifiableList(names);
+        }
+    }
+
+    private TableDescriptor loadDescriptor(TableKey key) throws IOException {
+        try (HBaseConnectionRegistry.ConnectionLease lease = connectionRegistry.acquire(key.dataSourceId);
+             Admin admin = lease.getConnection().getAdmin()) {
+            return admin.getDescriptor(TableName.valueOf(key.table));
+        }
+    }
+
+    private List<HRegionLocation> loadRegions(TableKey key) throws IOException {
+        try (HBaseConnectionRegistry.ConnectionLease lease = connectionRegistry.acquire(key.dataSourceId);
+             RegionLocator locator = lease.getConnection().getRegionLocator(TableName.valueOf(key.table))) {
+            // 直接读取 hbase:meta，不受连接内 Region 位置缓存的影响
+            return Collections.unmodifiableList(locator.getAllRegionLocations());
+        }
+    }
+
+    private static <K, V> V get(LoadingCache<K, V> cache, K key) throws IOException {
+        try {
+            return cache.get(key);
+        } catch (CompletionException | UncheckedIOException e) {
+            // Caffeine 把加载时的受检异常包装为 CompletionException
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    private static final class KnownTables {
+        private final List<String> source;
+        private final Set<String> names;
+
+        KnownTables(List<String> source) {
+            this.source = source;
+            this.names = new HashSet<>(source);
+        }
+    }
+
+    private static final class TableKey {
+        private final String dataSourceId;
+        private final String table;
+
+        TableKey(String dataSourceId, String table) {
+            this.dataSourceId = dataSourceId;
+            this.table = table;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TableKey)) {
+                return false;
+            }
+            TableKey other = (TableKey) o;
+            return dataSourceId.equals(other.dataSourceId) && table.equals(other.table);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dataSourceId, table);
+        }
+    }
+}
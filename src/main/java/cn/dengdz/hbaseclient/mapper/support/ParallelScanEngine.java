@@ -0,0 +1,307 @@
+package cn.dengdz.hbaseclient.mapper.support;
+
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 按 Region 边界切分扫描范围，每个分片一个 Scanner 在有界线程池中并行执行。
+ * 结果可以无序合并以获得最大吞吐，也可以按 RowKey 顺序输出。
+ * 线程池由所有数据源共用，单次扫描最多占用 max-workers-per-scan 个线程；
+ * 调用线程停止取结果超过 stall-timeout-ms 时取消扫描，不让阻塞的分片长期占住线程。
+ */
+@Component
+public class ParallelScanEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ParallelScanEngine.class);
+
+    // 分片结束标记
+    private static final Result END = new Result();
+
+    private final ExecutorService executor;
+    private final int maxWorkersPerScan;
+    private final int queueCapacity;
+    private final long stallTimeoutMs;
+
+    public ParallelScanEngine(@Value("${hbase-client.scan.parallelism:8}") int parallelism,
+                              @Value("${hbase-client.scan.queue-capacity:1000}") int queueCapacity,
+                              @Value("${hbase-client.scan.max-workers-per-scan:4}") int maxWorkersPerScan,
+                              @Value("${hbase-client.scan.stall-timeout-ms:60000}") long stallTimeoutMs) {
+        this.maxWorkersPerScan = Math.max(1, Math.min(parallelism, maxWorkersPerScan));
+        this.queueCapacity = queueCapacity;
+        this.stallTimeoutMs = stallTimeoutMs;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "hbase-parallel-scan-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @FunctionalInterface
+    public interface ResultHandler {
+        void handle(Result result) throws IOException;
+    }
+
+    /**
+     * 打开一个分片的 Scanner：在线扫描经由 RegionServer，快照扫描在本进程内读取 HFile。
+     */
+    @FunctionalInterface
+    public interface ScannerOpener {
+        ResultScanner open(Scan split) throws IOException;
+    }
+
+    /**
+     * 打开在线扫描使用的表，由调用方按数据源的读超时创建，不使用连接上的默认超时。
+     */
+    @FunctionalInterface
+    public interface TableFactory {
+        Table open() throws IOException;
+    }
+
+    /**
+     * 将扫描范围按表当前的 Region 边界切分，返回的分片按 RowKey 升序排列。
+     */
+    public List<Scan> split(Connection connection, TableName tableName, Scan template) throws IOException {
+        Pair<byte[][], byte[][]> keys;
+        try (RegionLocator locator = connection.getRegionLocator(tableName)) {
+            keys = locator.getStartEndKeys();
+        }
+        return split(template, keys.getFirst(), keys.getSecond());
+    }
+
+    /**
+     * 按给定的 Region 起止 RowKey（按起始 RowKey 升序）切分扫描范围。
+     */
+    public static List<Scan> split(Scan template, byte[][] startKeys, byte[][] endKeys) throws IOException {
+        if (template.isReversed()) {
+            throw new IllegalArgumentException("并行扫描不支持反向扫描");
+        }
+        byte[] scanStart = template.getStartRow();
+        byte[] scanStop = template.getStopRow();
+
+        List<Scan> splits = new ArrayList<>();
+        for (int i = 0; i < startKeys.length; i++) {
+            byte[] regionStart = startKeys[i];
+            byte[] regionEnd = endKeys[i];
+            // Region 与扫描范围无交集时跳过
+            if (scanStop.length > 0 && regionStart.length > 0 && Bytes.compareTo(regionStart, scanStop) >= 0) {
+                continue;
+            }
+            if (regionEnd.length > 0 && Bytes.compareTo(regionEnd, scanStart) <= 0) {
+                continue;
+            }
+
+            Scan scan = new Scan(template);
+            if (Bytes.compareTo(regionStart, scanStart) > 0) {
+                scan.withStartRow(regionStart, true);
+            }
+            if (regionEnd.length > 0 && (scanStop.length == 0 || Bytes.compareTo(regionEnd, scanStop) < 0)) {
+                scan.withStopRow(regionEnd, false);
+            }
+            splits.add(scan);
+        }
+        return splits;
+    }
+
+    /**
+     * 并行扫描并把结果交给调用线程处理，返回处理的行数。
+     * 模板上的 limit 作为总行数上限；调用线程被中断时取消所有分片。
+     */
+    public long scan(Connection connection, TableName tableName, TableFactory tables, Scan template, boolean ordered,
+                     ResultHandler handler) throws IOException {
+        // 达到行数上限后不等待仍在执行的分片，其 Scanner 在后台自行关闭
+        return scan(tableName, split(connection, tableName, template), template.getLimit(), ordered, split -> {
+            // Table 只是轻量的句柄，关闭后已创建的 Scanner 仍可继续使用
+            try (Table table = tables.open()) {
+                return table.getScanner(split);
+            }
+        }, handler, false);
+    }
+
+    /**
+     * 并行执行已切分好的扫描，每个分片由 opener 打开 Scanner，totalLimit 不大于 0 表示不限行数。
+     * 返回前等待所有分片的 Scanner 关闭，调用方随后可以安全地清理分片读取的文件。
+     */
+    public long scan(TableName tableName, List<Scan> splits, int totalLimit, boolean ordered,
+                     ScannerOpener opener, ResultHandler handler) throws IOException {
+        return scan(tableName, splits, totalLimit, ordered, opener, handler, true);
+    }
+
+    private long scan(TableName tableName, List<Scan> splits, int totalLimit, boolean ordered,
+                      ScannerOpener opener, ResultHandler handler, boolean awaitWorkers) throws IOException {
+        if (splits.isEmpty()) {
+            return 0;
+        }
+        long limit = totalLimit > 0 ? totalLimit : Long.MAX_VALUE;
+        int workers = Math.min(maxWorkersPerScan, splits.size());
+
+        List<BlockingQueue<Result>> queues = new ArrayList<>();
+        if (ordered) {
+            for (int i = 0; i < splits.size(); i++) {
+                queues.add(new LinkedBlockingQueue<>(queueCapacity));
+            }
+        } else {
+            queues.add(new LinkedBlockingQueue<>(queueCapacity));
+        }
+
+        AtomicInteger nextSplit = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        // 调用线程最近一次取结果的时间，分片据此判断是否停滞
+        AtomicLong lastPoll = new AtomicLong(System.nanoTime());
+        CountDownLatch finished = new CountDownLatch(workers);
+
+        // 每个 worker 按顺序领取分片，保证有序模式下调用线程等待的分片一定已在执行
+        for (int w = 0; w < workers; w++) {
+            executor.execute(() -> {
+                try {
+                    int index;
+                    while (!cancelled.get() && (index = nextSplit.getAndIncrement()) < splits.size()) {
+                        BlockingQueue<Result> queue = ordered ? queues.get(index) : queues.get(0);
+                        try (ResultScanner scanner = opener.open(splits.get(index))) {
+                            for (Result result : scanner) {
+                                if (!offer(queue, result, cancelled, lastPoll, failure)) {
+                                    return;
+                                }
+                            }
+                        } catch (Throwable e) {
+                            failure.compareAndSet(null, e);
+                            cancelled.set(true);
+                        }
+                        if (ordered) {
+                            offer(queue, END, cancelled, lastPoll, failure);
+                        }
+                    }
+                    if (!ordered) {
+                        offer(queues.get(0), END, cancelled, lastPoll, failure);
+                    }
+                } finally {
+                    finished.countDown();
+                }
+            });
+        }
+
+        long count = 0;
+        try {
+            if (ordered) {
+                for (BlockingQueue<Result> queue : queues) {
+                    count = drain(queue, 1, handler, count, limit, failure, lastPoll);
+                    if (count >= limit || failure.get() != null) {
+                        break;
+                    }
+                }
+            } else {
+                count = drain(queues.get(0), workers, handler, count, limit, failure, lastPoll);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("并行扫描被取消");
+        } finally {
+            cancelled.set(true);
+            if (awaitWorkers) {
+                awaitUninterruptibly(finished);
+            }
+        }
+
+        Throwable error = failure.get();
+        if (error != null) {
+            log.error("表 {} 并行扫描失败：{}", tableName, error.getMessage());
+            throw error instanceof IOException ? (IOException) error : new IOException(error.getMessage(), error);
+        }
+        return count;
+    }
+
+    private static long drain(BlockingQueue<Result> queue, int endMarkers, ResultHandler handler,
+                              long count, long limit, AtomicReference<Throwable> failure, AtomicLong lastPoll)
+            throws IOException, InterruptedException {
+        int ended = 0;
+        while (ended < endMarkers && count < limit) {
+            lastPoll.lazySet(System.nanoTime());
+            Result result = queue.poll(100, TimeUnit.MILLISECONDS);
+            if (result == null) {
+                if (failure.get() != null) {
+                    break;
+                }
+                continue;
+            }
+            if (result == END) {
+                ended++;
+                continue;
+            }
+            handler.handle(result);
+            count++;
+        }
+        return count;
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 队列满时等待调用线程取走结果；已取消或调用线程停滞超过 stall-timeout-ms 时放弃，释放线程。
+     */
+    private boolean offer(BlockingQueue<Result> queue, Result result, AtomicBoolean cancelled,
+                          AtomicLong lastPoll, AtomicReference<Throwable> failure) {
+        try {
+            while (!queue.offer(result, 100, TimeUnit.MILLISECONDS)) {
+                if (cancelled.get()) {
+                    return false;
+                }
+                if (System.nanoTime() - lastPoll.get() > TimeUnit.MILLISECONDS.toNanos(stallTimeoutMs)) {
+                    failure.compareAndSet(null, new IOException("结果处理停滞超过 " + stallTimeoutMs + " ms，已取消扫描"));
+                    cancelled.set(true);
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
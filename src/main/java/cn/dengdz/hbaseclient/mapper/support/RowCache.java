@@ -0,0 +1,237 @@
+package cn.dengdz.hbaseclient.mapper.support;
+
+import cn.dengdz.hbaseclient.config.RowCacheProperties;
+import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.RowProjection;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * getRow 的读穿透缓存，按数据源独立配置，默认关闭。
+ * 同一行不同投影的结果挂在同一个缓存项下，写入或删除该行时整体失效。
+ * 读穿透时先取失效版本号再读 HBase，写入缓存时版本号已变化说明期间有写入，丢弃读到的旧值。
+ */
+@Component
+public class RowCache {
+
+    private static final String FULL_ROW = "*";
+    private static final int VERSION_STRIPES = 1024;
+
+    private final RowCacheProperties properties;
+    private final Map<String, Optional<DataSourceCache>> caches = new ConcurrentHashMap<>();
+    // 失效版本号：按行哈希分段、按表及整个数据源计数，只增不减，三者之和变化即说明期间有失效
+    private final AtomicLongArray rowVersions = new AtomicLongArray(VERSION_STRIPES);
+    private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+
+    @Autowired
+    public RowCache(RowCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    public HBaseData get(String dataSourceId, String table, String rowKey, RowProjection projection) {
+        DataSourceCache cache = cache(dataSourceId);
+        if (cache == null) {
+            return null;
+        }
+        RowEntry entry = cache.rows.getIfPresent(new RowId(table, rowKey));
+        // 行命中但投影不同，按未命中计
+        HBaseData data = entry == null ? null : entry.rows.get(projectionKey(projection));
+        (data == null ? cache.misses : cache.hits).increment();
+        return data;
+    }
+
+    /**
+     * 读 HBase 之前取得行的失效版本号，读到的结果连同版本号交给 put。
+     */
+    public long version(String dataSourceId, String table, String rowKey) {
+        if (cache(dataSourceId) == null) {
+            return 0;
+        }
+        return epoch.get() + tableVersion(dataSourceId, table).get()
+                + rowVersions.get(stripe(dataSourceId, table, rowKey));
+    }
+
+    /**
+     * 版本号与读之前一致时才写入缓存。比较在该行的 compute 内进行，失效总是先增加版本号再删除缓存项，
+     * 因此先于失效写入的旧值会被随后的删除清掉，晚于失效的写入会因版本号变化被丢弃。
+     */
+    public void put(String dataSourceId, String table, String rowKey, RowProjection projection, HBaseData data,
+                    long version) {
+        DataSourceCache cache = cache(dataSourceId);
+        if (cache == null) {
+            return;
+        }
+        String key = projectionKey(projection);
+        cache.rows.asMap().compute(new RowId(table, rowKey), (id, entry) -> {
+            if (version(dataSourceId, table, rowKey) != version) {
+                return entry;
+            }
+            Map<String, HBaseData> rows = entry == null ? new HashMap<>() : new HashMap<>(entry.rows);
+            rows.put(key, data);
+            return new RowEntry(rows);
+        });
+    }
+
+    public void invalidate(String dataSourceId, String table, String rowKey) {
+        rowVersions.incrementAndGet(stripe(dataSourceId, table, rowKey));
+        DataSourceCache cache = cache(dataSourceId);
+        if (cache != null) {
+            cache.rows.invalidate(new RowId(table, rowKey));
+        }
+    }
+
+    public void invalidateTable(String dataSourceId, String table) {
+        tableVersion(dataSourceId, table).incrementAndGet();
+        DataSourceCache cache = cache(dataSourceId);
+        if (cache != null) {
+            cache.rows.asMap().keySet().removeIf(id -> id.table.equals(table));
+        }
+    }
+
+    public void invalidateAll(String dataSourceId) {
+        epoch.incrementAndGet();
+        Optional<DataSourceCache> cache = caches.remove(dataSourceId);
+        if (cache != null) {
+            cache.ifPresent(c -> c.rows.invalidateAll());
+        }
+    }
+
+    public Map<String, Object> stats(String dataSourceId) {
+        DataSourceCache cache = cache(dataSourceId);
+        if (cache == null) {
+            return Collections.singletonMap("enabled", false);
+        }
+        CacheStats stats = cache.rows.stats();
+        long hits = cache.hits.sum();
+        long misses = cache.misses.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", true);
+        result.put("size", cache.rows.estimatedSize());
+        result.put("hitCount", hits);
+        result.put("missCount", misses);
+        result.put("hitRate", hits + misses == 0 ? 1.0 : (double) hits / (hits + misses));
+        result.put("evictionCount", stats.evictionCount());
+        result.put("evictionWeight", stats.evictionWeight());
+        return result;
+    }
+
+    private DataSourceCache cache(String dataSourceId) {
+        return caches.computeIfAbsent(dataSourceId, id -> {
+            RowCacheProperties.Settings settings = properties.resolve(id);
+            if (!Boolean.TRUE.equals(settings.getEnabled())) {
+                return Optional.empty();
+            }
+            long maximumWeight = settings.getMaximumWeight();
+            // Caffeine 不能同时限制条数和权重，每项至少计 maximumWeight / maximumSize，以此同时约束条数
+            long minimumWeight = Math.max(1, maximumWeight / Math.max(1, settings.getMaximumSize()));
+            Cache<RowId, RowEntry> cache = Caffeine.newBuilder()
+                    .maximumWeight(maximumWeight)
+                    .<RowId, RowEntry>weigher((rowId, entry) ->
+                            (int) Math.min(Integer.MAX_VALUE, Math.max(minimumWeight, entry.weight + rowId.weight())))
+                    .expireAfterWrite(settings.getTtlMs(), TimeUnit.MILLISECONDS)
+                    .recordStats()
+                    .build();
+            return Optional.of(new DataSourceCache(cache));
+        }).orElse(null);
+    }
+
+    private AtomicLong tableVersion(String dataSourceId, String table) {
+        return tableVersions.computeIfAbsent(dataSourceId + "/" + table, key -> new AtomicLong());
+    }
+
+    private static int stripe(String dataSourceId, String table, String rowKey) {
+        int hash = (dataSourceId.hashCode() * 31 + table.hashCode()) * 31 + rowKey.hashCode();
+        return (hash ^ (hash >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    /**
+     * 与不带限定的 Get 等价的投影（不限列、不限时间范围、只取最新版本）与 null 使用同一个键，
+     * 两种查询方式读取整行时共用缓存。
+     */
+    private static String projectionKey(RowProjection projection) {
+        if (projection == null) {
+            return FULL_ROW;
+        }
+        boolean allColumns = projection.getColumns() == null || projection.getColumns().isEmpty();
+        int maxVersions = Math.max(1, projection.getMaxVersions());
+        if (allColumns && projection.getMinTimestamp() == null && projection.getMaxTimestamp() == null
+                && maxVersions == 1) {
+            return FULL_ROW;
+        }
+        return (allColumns ? FULL_ROW : String.join(",", projection.getColumns()))
+                + "|" + projection.getMinTimestamp()
+                + "|" + projection.getMaxTimestamp()
+                + "|" + maxVersions;
+    }
+
+    private static final class RowId {
+        private final String table;
+        private final String rowKey;
+
+        RowId(String table, String rowKey) {
+            this.table = table;
+            this.rowKey = rowKey;
+        }
+
+        long weight() {
+            return 32 + (table.length() + rowKey.length()) * 2L;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RowId)) {
+                return false;
+            }
+            RowId other = (RowId) o;
+            return table.equals(other.table) && rowKey.equals(other.rowKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(table, rowKey);
+        }
+    }
+
+    private static final class DataSourceCache {
+        private final Cache<RowId, RowEntry> rows;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        DataSourceCache(Cache<RowId, RowEntry> rows) {
+            this.rows = rows;
+        }
+    }
+
+    private static final class RowEntry {
+        private final Map<String, HBaseData> rows;
+        private final long weight;
+
+        RowEntry(Map<String, HBaseData> rows) {
+            this.rows = rows;
+            long total = 0;
+            for (HBaseData data : rows.values()) {
+                total += data.heapSize();
+            }
+            this.weight = total;
+        }
+    }
+}
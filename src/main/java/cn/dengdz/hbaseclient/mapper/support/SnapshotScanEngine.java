@@ -0,0 +1,235 @@
+package cn.dengdz.hbaseclient.mapper.support;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.RegionInfo;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.SnapshotDescription;
+import org.apache.hadoop.hbase.client.TableSnapshotScanner;
+import org.apache.hadoop.hbase.snapshot.RestoreSnapshotHelper;
+import org.apache.hadoop.hbase.util.CommonFSUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 基于快照的离线扫描：对表创建快照（或使用已有快照），在本进程内直接读取快照引用的 HFile，
+ * 不经过 RegionServer，大批量导出和计数不占用线上读请求的处理线程和 BlockCache。
+ * 快照先恢复到 restore-dir 下的临时目录（只写引用文件，不复制数据），再按 Region 并行扫描，结束后删除临时目录。
+ * 同一张表同时只能创建一个快照，并发的扫描共用一个临时快照，最后一个扫描结束后删除；
+ * 进程异常退出时遗留的快照由 Master 按 TTL 清理。
+ * 应用需要能以 hbase.rootdir 所在的文件系统访问 HBase 数据目录。
+ */
+@Component
+public class SnapshotScanEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotScanEngine.class);
+
+    private static final String SNAPSHOT_PREFIX = "hbase-client-";
+
+    private final ParallelScanEngine parallelScanEngine;
+    private final AtomicLong sequence = new AtomicLong();
+    // 按连接和表共用的临时快照
+    private final Map<List<Object>, SharedSnapshot> sharedSnapshots = new HashMap<>();
+
+    @Value("${hbase-client.snapshot.restore-dir:/tmp/hbase-client-restore}")
+    private String restoreDir;
+
+    @Value("${hbase-client.snapshot.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${hbase-client.snapshot.reuse-max-age-ms:60000}")
+    private long reuseMaxAgeMs;
+
+    public SnapshotScanEngine(ParallelScanEngine parallelScanEngine) {
+        this.parallelScanEngine = parallelScanEngine;
+    }
+
+    /**
+     * 扫描表的快照，snapshotName 为空时使用临时快照，否则使用已有快照且保留。
+     * 模板上的 limit 作为总行数上限，ordered 为 false 时结果不保证按 RowKey 排序。
+     */
+    public long scan(Connection connection, TableName tableName, Scan template, String snapshotName,
+                     boolean ordered, ParallelScanEngine.ResultHandler handler) throws IOException {
+        if (template.isReversed()) {
+            throw new IllegalArgumentException("快照扫描不支持反向扫描");
+        }
+        Configuration conf = new Configuration(connection.getConfiguration());
+        String[] sources = conf.getPropertySources(HConstants.HBASE_DIR);
+        if (sources == null || Arrays.stream(sources).allMatch("hbase-default.xml"::equals)) {
+            throw new IllegalStateException("快照扫描需要在 hbase-site.xml 中配置 hbase.rootdir");
+        }
+
+        SharedSnapshot temporary = null;
+        String name;
+        if (snapshotName == null || snapshotName.isEmpty()) {
+            temporary = acquire(connection, tableName);
+            name = temporary.name;
+        } else {
+            name = checkSnapshot(connection, tableName, snapshotName);
+        }
+        Path rootDir = CommonFSUtils.getRootDir(conf);
+        FileSystem fs = rootDir.getFileSystem(conf);
+        // 同一快照可能被多个请求同时扫描，每次恢复到独立的目录
+        Path restorePath = fs.makeQualified(new Path(restoreDir, name + "-" + UUID.randomUUID()));
+        try {
+            List<RegionInfo> regions = RestoreSnapshotHelper
+                    .copySnapshotForScanner(conf, fs, rootDir, restorePath, name)
+                    .getRegionsToAdd().stream()
+                    .filter(region -> !isSplitParent(region))
+                    .sorted(RegionInfo.COMPARATOR)
+                    .collect(Collectors.toList());
+            byte[][] startKeys = new byte[regions.size()][];
+            byte[][] endKeys = new byte[regions.size()][];
+            for (int i = 0; i < regions.size(); i++) {
+                startKeys[i] = regions.get(i).getStartKey();
+                endKeys[i] = regions.get(i).getEndKey();
+            }
+            List<Scan> splits = ParallelScanEngine.split(template, startKeys, endKeys);
+            return parallelScanEngine.scan(tableName, splits, template.getLimit(), ordered,
+                    split -> new TableSnapshotScanner(conf, rootDir, restorePath, name, split, true), handler);
+        } finally {
+            try {
+                fs.delete(restorePath, true);
+            } catch (IOException e) {
+                log.warn("删除快照恢复目录 {} 失败：{}", restorePath, e.getMessage());
+            }
+            if (temporary != null) {
+                release(connection, temporary);
+            }
+        }
+    }
+
+    /**
+     * 获取表的临时快照：正在创建或创建不超过 reuse-max-age-ms 的快照直接共用，否则由当前扫描创建新快照。
+     */
+    private SharedSnapshot acquire(Connection connection, TableName tableName) throws IOException {
+        List<Object> key = Arrays.asList(connection, tableName);
+        SharedSnapshot snapshot;
+        boolean owner = false;
+        synchronized (sharedSnapshots) {
+            snapshot = sharedSnapshots.get(key);
+            if (snapshot == null || !snapshot.reusable(System.currentTimeMillis(), reuseMaxAgeMs)) {
+                String name = SNAPSHOT_PREFIX + tableName.getNameAsString().replace(':', '_')
+                        + "-" + System.currentTimeMillis() + "-" + sequence.incrementAndGet();
+                snapshot = new SharedSnapshot(key, name);
+                sharedSnapshots.put(key, snapshot);
+                owner = true;
+            }
+            snapshot.refs++;
+        }
+        if (owner) {
+            createSnapshot(connection, tableName, snapshot);
+        }
+        try {
+            snapshot.created.get();
+            return snapshot;
+        } catch (InterruptedException e) {
+            release(connection, snapshot);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待快照创建时被取消");
+        } catch (ExecutionException e) {
+            release(connection, snapshot);
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * 默认的 FLUSH 快照会先刷写 MemStore，快照包含创建时刻之前的全部写入。
+     */
+    private void createSnapshot(Connection connection, TableName tableName, SharedSnapshot snapshot) {
+        long start = System.currentTimeMillis();
+        try (Admin admin = connection.getAdmin()) {
+            admin.snapshot(snapshot.name, tableName, Collections.singletonMap("TTL", ttlSeconds));
+            log.info("已创建表 {} 的快照 {}，耗时：{} ms", tableName, snapshot.name, System.currentTimeMillis() - start);
+            snapshot.created.complete(System.currentTimeMillis());
+        } catch (Throwable e) {
+            snapshot.created.completeExceptionally(e);
+        }
+    }
+
+    private void release(Connection connection, SharedSnapshot snapshot) {
+        boolean last;
+        synchronized (sharedSnapshots) {
+            last = --snapshot.refs == 0;
+            if (last) {
+                sharedSnapshots.remove(snapshot.key, snapshot);
+            }
+        }
+        if (last && snapshot.created.isDone() && !snapshot.created.isCompletedExceptionally()) {
+            deleteSnapshot(connection, snapshot.name);
+        }
+    }
+
+    /**
+     * 已分裂的父 Region 数据由子 Region 引用，跳过以免重复；判断方式与 TableSnapshotInputFormatImpl 一致。
+     */
+    @SuppressWarnings("deprecation")
+    private static boolean isSplitParent(RegionInfo region) {
+        return region.isOffline() && (region.isSplit() || region.isSplitParent());
+    }
+
+    private static String checkSnapshot(Connection connection, TableName tableName, String name) throws IOException {
+        List<SnapshotDescription> snapshots;
+        try (Admin admin = connection.getAdmin()) {
+            snapshots = admin.listSnapshots(Pattern.compile(Pattern.quote(name)));
+        }
+        if (snapshots.isEmpty()) {
+            throw new IllegalArgumentException("快照 " + name + " 不存在");
+        }
+        if (!tableName.equals(snapshots.get(0).getTableName())) {
+            throw new IllegalArgumentException("快照 " + name + " 不属于表 " + tableName);
+        }
+        return name;
+    }
+
+    private static void deleteSnapshot(Connection connection, String name) {
+        try (Admin admin = connection.getAdmin()) {
+            admin.deleteSnapshot(name);
+            log.info("已删除快照 {}", name);
+        } catch (IOException e) {
+            log.warn("删除快照 {} 失败，将由 Master 按 TTL 清理：{}", name, e.getMessage());
+        }
+    }
+
+    private static final class SharedSnapshot {
+        private final List<Object> key;
+        private final String name;
+        // 完成时的值为快照创建完成的时间
+        private final CompletableFuture<Long> created = new CompletableFuture<>();
+        private int refs;
+
+        SharedSnapshot(List<Object> key, String name) {
+            this.key = key;
+            this.name = name;
+        }
+
+        boolean reusable(long now, long maxAgeMs) {
+            if (!created.isDone()) {
+                return true;
+            }
+            return !created.isCompletedExceptionally() && now - created.getNow(now) < maxAgeMs;
+        }
+    }
+}
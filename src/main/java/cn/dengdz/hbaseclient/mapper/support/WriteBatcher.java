@@ -0,0 +1,163 @@
+package cn.dengdz.hbaseclient.mapper.support;
+
+import cn.dengdz.hbaseclient.config.HBaseConnectionRegistry;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 将并发的写请求合并后通过表级 BufferedMutator 批量提交，刷新完成后再通知各请求结果。
+ */
+@Component
+public class WriteBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBatcher.class);
+
+    private final HBaseConnectionRegistry connectionRegistry;
+    private final Map<String, Batch> batches = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final int flushSize;
+    private final long flushIntervalMs;
+
+    @Autowired
+    public WriteBatcher(HBaseConnectionRegistry connectionRegistry,
+                        @Value("${hbase-client.write.flush-size:500}") int flushSize,
+                        @Value("${hbase-client.write.flush-interval-ms:20}") long flushIntervalMs,
+                        @Value("${hbase-client.write.flush-threads:4}") int flushThreads) {
+        this.connectionRegistry = connectionRegistry;
+        this.flushSize = flushSize;
+        this.flushIntervalMs = flushIntervalMs;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.flusher = Executors.newScheduledThreadPool(flushThreads, r -> {
+            Thread thread = new Thread(r, "hbase-write-batcher-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 提交一组变更，返回的 Future 在包含这些变更的批次刷新后完成。
+     */
+    public CompletableFuture<Void> submit(String dataSourceId, TableName tableName, List<? extends Mutation> mutations) {
+        Batch batch = batches.computeIfAbsent(dataSourceId + "/" + tableName.getNameAsString(),
+                key -> new Batch(dataSourceId, tableName));
+        return batch.add(mutations);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        batches.values().forEach(Batch::flush);
+    }
+
+    private static final class PendingWrite {
+        private final List<? extends Mutation> mutations;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        PendingWrite(List<? extends Mutation> mutations) {
+            this.mutations = mutations;
+        }
+    }
+
+    private final class Batch {
+        private final String dataSourceId;
+        private final TableName tableName;
+        private final Object flushLock = new Object();
+        private List<PendingWrite> pending = new ArrayList<>();
+        private int pendingMutations;
+
+        Batch(String dataSourceId, TableName tableName) {
+            this.dataSourceId = dataSourceId;
+            this.tableName = tableName;
+        }
+
+        CompletableFuture<Void> add(List<? extends Mutation> mutations) {
+            PendingWrite write = new PendingWrite(mutations);
+            boolean first;
+            boolean full;
+            synchronized (this) {
+                first = pending.isEmpty();
+                pending.add(write);
+                pendingMutations += mutations.size();
+                full = pendingMutations >= flushSize;
+            }
+            if (full) {
+                flusher.execute(this::flush);
+            } else if (first) {
+                flusher.schedule(this::flush, flushIntervalMs, TimeUnit.MILLISECONDS);
+            }
+            return write.future;
+        }
+
+        void flush() {
+            List<PendingWrite> writes;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                writes = pending;
+                pending = new ArrayList<>();
+                pendingMutations = 0;
+            }
+
+            List<Mutation> mutations = new ArrayList<>();
+            for (PendingWrite write : writes) {
+                mutations.addAll(write.mutations);
+            }
+
+            Map<Mutation, Throwable> failures = new IdentityHashMap<>();
+            try {
+                synchronized (flushLock) {
+                    try (HBaseConnectionRegistry.ConnectionLease lease = connectionRegistry.acquire(dataSourceId)) {
+                        BufferedMutator mutator = connectionRegistry.getBufferedMutator(lease, tableName);
+                        mutator.mutate(mutations);
+                        mutator.flush();
+                    }
+                }
+            } catch (RetriesExhaustedWithDetailsException e) {
+                for (int i = 0; i < e.getNumExceptions(); i++) {
+                    failures.put((Mutation) e.getRow(i), e.getCause(i));
+                }
+                log.warn("表 {} 批量写入部分失败：{}", tableName, e.getMessage());
+            } catch (IOException | RuntimeException e) {
+                log.error("表 {} 批量写入失败：{}", tableName, e.getMessage());
+                writes.forEach(write -> write.future.completeExceptionally(e));
+                return;
+            }
+
+            for (PendingWrite write : writes) {
+                Throwable cause = null;
+                for (Mutation mutation : write.mutations) {
+                    cause = failures.get(mutation);
+                    if (cause != null) {
+                        break;
+                    }
+                }
+                if (cause == null) {
+                    write.future.complete(null);
+                } else {
+                    write.future.completeExceptionally(cause);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package cn.dengdz.hbaseclient.metrics;
+
+import cn.dengdz.hbaseclient.config.HBaseConnectionRegistry;
+import com.codahale.metrics.Counting;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Sampling;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.apache.hadoop.hbase.client.ClusterConnection;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.MetricsConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 把 HBase 客户端内置的连接指标（RPC 耗时、元数据缓存命中、并发调用数等）注册到 Micrometer，
+ * 以 hbase.client.connection. 为前缀、按数据源打标签。连接重建或释放后同步替换或移除对应指标。
+ */
+@Component
+public class HBaseClientMetricsBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(HBaseClientMetricsBinder.class);
+
+    private static final String PREFIX = "hbase.client.connection.";
+    private static final String SOURCE_PREFIX = MetricsConnection.class.getName() + ".";
+
+    private final HBaseConnectionRegistry connectionRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Binding> bindings = new ConcurrentHashMap<>();
+
+    @Autowired
+    public HBaseClientMetricsBinder(HBaseConnectionRegistry connectionRegistry, MeterRegistry meterRegistry) {
+        this.connectionRegistry = connectionRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${hbase-client.metrics.client-metrics-bind-interval-ms:15000}")
+    public void bind() {
+        Map<String, Connection> connections = connectionRegistry.getOpenConnections();
+        for (String dataSourceId : new ArrayList<>(bindings.keySet())) {
+            Binding binding = bindings.get(dataSourceId);
+            MetricRegistry source = connections.containsKey(dataSourceId)
+                    ? sourceRegistry(connections.get(dataSourceId)) : null;
+            if (binding.source != source) {
+                unbind(dataSourceId);
+            }
+        }
+        connections.forEach((dataSourceId, connection) -> {
+            MetricRegistry source = sourceRegistry(connection);
+            if (source == null) {
+                return;
+            }
+            Binding binding = bindings.computeIfAbsent(dataSourceId, id -> new Binding(source));
+            // 客户端指标按调用的 RPC 方法惰性创建，每次同步补充新出现的指标
+            source.getMetrics().forEach((name, metric) -> {
+                if (binding.names.add(name)) {
+                    register(binding, Tags.of("datasource", dataSourceId), meterName(name), metric);
+                }
+            });
+        });
+    }
+
+    private void register(Binding binding, Tags tags, String name, Metric metric) {
+        if (metric instanceof Counting) {
+            Counting counting = (Counting) metric;
+            binding.meters.add(FunctionCounter.builder(name + ".count", counting, Counting::getCount)
+                    .tags(tags).register(meterRegistry));
+        }
+        if (metric instanceof Sampling) {
+            Sampling sampling = (Sampling) metric;
+            // Dropwizard Timer 的采样单位为纳秒，统一换算成毫秒
+            double scale = metric instanceof com.codahale.metrics.Timer ? 1e-6 : 1;
+            binding.meters.add(io.micrometer.core.instrument.Gauge.builder(name + ".p50", sampling,
+                    s -> s.getSnapshot().getMedian() * scale).tags(tags).register(meterRegistry));
+            binding.meters.add(io.micrometer.core.instrument.Gauge.builder(name + ".p99", sampling,
+                    s -> s.getSnapshot().get99thPercentile() * scale).tags(tags).register(meterRegistry));
+        }
+        if (metric instanceof Gauge) {
+            Gauge<?> gauge = (Gauge<?>) metric;
+            binding.meters.add(io.micrometer.core.instrument.Gauge.builder(name, gauge, g -> {
+                Object value = g.getValue();
+                return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+            }).tags(tags).register(meterRegistry));
+        }
+    }
+
+    private void unbind(String dataSourceId) {
+        Binding binding = bindings.remove(dataSourceId);
+        if (binding != null) {
+            binding.meters.forEach(meterRegistry::remove);
+            log.debug("数据源 {} 的连接已变化，移除 {} 个客户端指标", dataSourceId, binding.meters.size());
+        }
+    }
+
+    /**
+     * MetricsConnection 只公开了各项计数器字段，其 MetricRegistry 需要通过包内方法读取。
+     */
+    private static MetricRegistry sourceRegistry(Connection connection) {
+        if (!(connection instanceof ClusterConnection)) {
+            return null;
+        }
+        MetricsConnection metrics = ((ClusterConnection) connection).getConnectionMetrics();
+        if (metrics == null) {
+            return null;
+        }
+        try {
+            Method method = MetricsConnection.class.getDeclaredMethod("getMetricRegistry");
+            method.setAccessible(true);
+            return (MetricRegistry) method.invoke(metrics);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("读取 HBase 客户端指标失败：{}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 源指标名形如 org.apache.hadoop.hbase.client.MetricsConnection.metaCacheHits.{集群ID}@{hash}，
+     * 去掉类名前缀和连接作用域。
+     */
+    static String meterName(String name) {
+        String shortName = name.startsWith(SOURCE_PREFIX) ? name.substring(SOURCE_PREFIX.length()) : name;
+        int at = shortName.lastIndexOf('@');
+        if (at > 0) {
+            int dot = shortName.lastIndexOf('.', at);
+            if (dot > 0) {
+                shortName = shortName.substring(0, dot);
+            }
+        }
+        return PREFIX + shortName;
+    }
+
+    private static final class Binding {
+        private final MetricRegistry source;
+        private final Set<String> names = new HashSet<>();
+        private final List<Meter> meters = new ArrayList<>();
+
+        Binding(MetricRegistry source) {
+            this.source = source;
+        }
+    }
+}
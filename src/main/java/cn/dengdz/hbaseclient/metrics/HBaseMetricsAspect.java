@@ -0,0 +1,240 @@
+package cn.dengdz.hbaseclient.metrics;
+
+import cn.dengdz.hbaseclient.mapper.RowHandler;
+import cn.dengdz.hbaseclient.mapper.support.MetadataCache;
+import cn.dengdz.hbaseclient.model.CellData;
+import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.ImportRequest;
+import cn.dengdz.hbaseclient.model.RangeDeleteRequest;
+import cn.dengdz.hbaseclient.util.DataSourceContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hadoop.hbase.Cell;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 为同步、异步 Mapper 的每个方法记录耗时、进行中的请求数以及返回的行数、单元格数、字节数，
+ * 按数据源、表和操作（方法名）打标签。
+ * 表名来自请求参数，每个数据源最多为 max-table-tags 个表单独打标签，超出的记为 other，避免指标数量无限增长，
+ * 已缓存的表名列表中的表不受此限制；删除数据源时移除其全部指标。
+ */
+@Aspect
+@Component
+public class HBaseMetricsAspect {
+
+    private static final String NONE = "none";
+    private static final String OTHER = "other";
+
+    private final MeterRegistry registry;
+    private final MetadataCache metadataCache;
+    private final int maxTableTags;
+    private final Map<Tags, AtomicInteger> active = new ConcurrentHashMap<>();
+    // 各数据源已单独打标签的表
+    private final Map<String, Set<String>> tableTags = new ConcurrentHashMap<>();
+
+    @Autowired
+    public HBaseMetricsAspect(MeterRegistry registry, MetadataCache metadataCache,
+                              @Value("${hbase-client.metrics.max-table-tags:100}") int maxTableTags) {
+        this.registry = registry;
+        this.metadataCache = metadataCache;
+        this.maxTableTags = maxTableTags;
+    }
+
+    @Around("execution(public * cn.dengdz.hbaseclient.mapper.HBaseMapper+.*(..))"
+            + " || execution(public * cn.dengdz.hbaseclient.mapper.AsyncHBaseMapper+.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        Object[] args = joinPoint.getArgs();
+        String dataSourceId = DataSourceContext.getCurrentDataSourceId();
+        Tags tags = Tags.of(
+                "datasource", dataSourceId != null ? dataSourceId : NONE,
+                "table", tableTag(dataSourceId, tableOf(signature.getParameterNames(), args)),
+                "operation", signature.getName());
+
+        // 流式扫描的结果不经过返回值，包装回调以统计行数
+        AtomicLong rows = new AtomicLong();
+        AtomicLong cells = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        boolean streaming = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof RowHandler) {
+                RowHandler handler = (RowHandler) args[i];
+                args[i] = (RowHandler) row -> {
+                    count(row, rows, cells, bytes);
+                    handler.handle(row);
+                };
+                streaming = true;
+            } else if (args[i] instanceof List && !((List<?>) args[i]).isEmpty()
+                    && ((List<?>) args[i]).get(0) instanceof CellData) {
+                cells.addAndGet(((List<?>) args[i]).size());
+            }
+        }
+
+        AtomicInteger inFlight = active.computeIfAbsent(tags,
+                key -> registry.gauge("hbase.client.operation.active", key, new AtomicInteger()));
+        inFlight.incrementAndGet();
+        Timer.Sample sample = Timer.start(registry);
+        boolean counted = streaming;
+        try {
+            Object result = joinPoint.proceed(args);
+            if (result instanceof CompletableFuture) {
+                return ((CompletableFuture<?>) result).whenComplete((value, error) -> {
+                    countResult(value, rows, cells, bytes);
+                    finish(sample, inFlight, tags, error, rows, cells, bytes);
+                });
+            }
+            if (!counted) {
+                countResult(result, rows, cells, bytes);
+            }
+            finish(sample, inFlight, tags, null, rows, cells, bytes);
+            if ("deleteConfig".equals(signature.getName())) {
+                removeMeters(dataSourceOf(signature.getParameterNames(), args));
+            }
+            return result;
+        } catch (Throwable e) {
+            finish(sample, inFlight, tags, e, rows, cells, bytes);
+            throw e;
+        }
+    }
+
+    private void finish(Timer.Sample sample, AtomicInteger inFlight, Tags tags, Throwable error,
+                        AtomicLong rows, AtomicLong cells, AtomicLong bytes) {
+        inFlight.decrementAndGet();
+        sample.stop(Timer.builder("hbase.client.operation")
+                .description("HBase 操作耗时")
+                .tags(tags)
+                .tag("outcome", error == null ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(registry));
+        if (error != null) {
+            registry.counter("hbase.client.operation.errors",
+                    tags.and("exception", error.getClass().getSimpleName())).increment();
+        }
+        summary("hbase.client.rows", tags, rows.get());
+        summary("hbase.client.cells", tags, cells.get());
+        summary("hbase.client.bytes", tags, bytes.get());
+    }
+
+    private void summary(String name, Tags tags, long amount) {
+        if (amount > 0) {
+            DistributionSummary.builder(name).tags(tags).register(registry).record(amount);
+        }
+    }
+
+    private String tableTag(String dataSourceId, String table) {
+        if (table == null) {
+            return NONE;
+        }
+        if (dataSourceId == null) {
+            return OTHER;
+        }
+        Set<String> tables = tableTags.computeIfAbsent(dataSourceId, id -> ConcurrentHashMap.newKeySet());
+        if (tables.contains(table) || metadataCache.isKnownTable(dataSourceId, table)) {
+            return table;
+        }
+        synchronized (tables) {
+            if (tables.size() < maxTableTags) {
+                tables.add(table);
+                return table;
+            }
+        }
+        return OTHER;
+    }
+
+    /**
+     * 删除数据源后移除其进行中请求数及全部操作指标。
+     */
+    private void removeMeters(String dataSourceId) {
+        if (dataSourceId == null) {
+            return;
+        }
+        Tag tag = Tag.of("datasource", dataSourceId);
+        tableTags.remove(dataSourceId);
+        active.keySet().removeIf(tags -> tags.stream().anyMatch(tag::equals));
+        List<Meter> meters = new ArrayList<>();
+        for (Meter meter : registry.getMeters()) {
+            if (meter.getId().getName().startsWith("hbase.client.")
+                    && dataSourceId.equals(meter.getId().getTag("datasource"))) {
+                meters.add(meter);
+            }
+        }
+        meters.forEach(registry::remove);
+    }
+
+    private static void countResult(Object result, AtomicLong rows, AtomicLong cells, AtomicLong bytes) {
+        if (result instanceof HBaseData) {
+            count((HBaseData) result, rows, cells, bytes);
+        } else if (result instanceof List) {
+            for (Object item : (List<?>) result) {
+                if (item instanceof HBaseData) {
+                    count((HBaseData) item, rows, cells, bytes);
+                } else {
+                    rows.incrementAndGet();
+                }
+            }
+        } else if (result instanceof Long) {
+            // 计数、导入、批量删除返回处理的行数
+            rows.addAndGet((Long) result);
+        }
+    }
+
+    private static void count(HBaseData row, AtomicLong rows, AtomicLong cells, AtomicLong bytes) {
+        if (row == null) {
+            return;
+        }
+        rows.incrementAndGet();
+        cells.addAndGet(row.getCells().length);
+        long size = 0;
+        for (Cell cell : row.getCells()) {
+            size += cell.getSerializedSize();
+        }
+        bytes.addAndGet(size);
+    }
+
+    private static String tableOf(String[] names, Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg instanceof ImportRequest) {
+                return ((ImportRequest) arg).getTable();
+            }
+            if (arg instanceof RangeDeleteRequest) {
+                return ((RangeDeleteRequest) arg).getTable();
+            }
+            if (arg instanceof String && names != null
+                    && ("tableName".equals(names[i]) || "table".equals(names[i]))) {
+                return (String) arg;
+            }
+        }
+        return null;
+    }
+
+    private static String dataSourceOf(String[] names, Object[] args) {
+        if (names != null) {
+            for (int i = 0; i < names.length; i++) {
+                if ("dataSourceId".equals(names[i]) && args[i] instanceof String) {
+                    return (String) args[i];
+                }
+            }
+        }
+        return DataSourceContext.getCurrentDataSourceId();
+    }
+}
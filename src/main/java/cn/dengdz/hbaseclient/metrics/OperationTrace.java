@@ -0,0 +1,119 @@
+package cn.dengdz.hbaseclient.metrics;
+
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 一次查询的分阶段耗时（获取表、RPC、解码、序列化）及扫描指标。
+ * 异步查询的各阶段在不同线程上记录，因此修改方法均加锁。
+ */
+public class OperationTrace {
+
+    /**
+     * 未开启跟踪时使用，所有记录操作均为空操作。
+     */
+    static final OperationTrace DISABLED = new OperationTrace(null, null, null, false, false);
+
+    private final String operation;
+    private final String dataSourceId;
+    private final String table;
+    private final boolean enabled;
+    private final boolean detailed;
+    private final long startTime = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+    private ScanMetrics scanMetrics;
+    private long rows;
+    private long durationNanos = -1;
+    private String error;
+
+    OperationTrace(String operation, String dataSourceId, String table, boolean enabled, boolean detailed) {
+        this.operation = operation;
+        this.dataSourceId = dataSourceId;
+        this.table = table;
+        this.enabled = enabled;
+        this.detailed = detailed;
+    }
+
+    /**
+     * 请求方是否要求详细跟踪：开启扫描指标采集并在响应头中返回跟踪结果。
+     */
+    public boolean isDetailed() {
+        return detailed;
+    }
+
+    /**
+     * 记录从 startNanos 到现在的耗时，同名阶段累加。
+     */
+    public void phase(String name, long startNanos) {
+        addPhase(name, System.nanoTime() - startNanos);
+    }
+
+    public synchronized void addPhase(String name, long nanos) {
+        if (enabled) {
+            phases.merge(name, nanos, Long::sum);
+        }
+    }
+
+    public synchronized void scanMetrics(ScanMetrics metrics) {
+        if (enabled) {
+            this.scanMetrics = metrics;
+        }
+    }
+
+    public synchronized void rows(long count) {
+        if (enabled) {
+            rows += count;
+        }
+    }
+
+    synchronized void finish(Throwable failure) {
+        if (enabled && durationNanos < 0) {
+            durationNanos = System.nanoTime() - startNanos;
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+            error = cause != null ? cause.getMessage() : null;
+        }
+    }
+
+    long getDurationNanos() {
+        return durationNanos >= 0 ? durationNanos : System.nanoTime() - startNanos;
+    }
+
+    /**
+     * 返回耗时和扫描指标，不含表名、错误信息等可能包含非 ASCII 字符的字段，可直接放入响应头。
+     */
+    public synchronized Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("durationMs", toMillis(getDurationNanos()));
+        Map<String, Object> phaseMillis = new LinkedHashMap<>();
+        phases.forEach((name, nanos) -> phaseMillis.put(name, toMillis(nanos)));
+        summary.put("phasesMs", phaseMillis);
+        summary.put("rows", rows);
+        if (scanMetrics != null) {
+            summary.put("scanMetrics", scanMetrics.getMetricsMap(false));
+        }
+        return summary;
+    }
+
+    public synchronized Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("operation", operation);
+        map.put("dataSourceId", dataSourceId);
+        map.put("table", table);
+        map.put("startTime", startTime);
+        map.putAll(summary());
+        if (error != null) {
+            map.put("error", error);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1000.0) / 1000.0;
+    }
+}
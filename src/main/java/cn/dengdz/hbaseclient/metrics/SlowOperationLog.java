@@ -0,0 +1,69 @@
+package cn.dengdz.hbaseclient.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 保存最近的慢查询。环形缓冲区只保留最近 capacity 条超过阈值的记录，读取时按耗时倒序。
+ */
+@Component
+public class SlowOperationLog {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowOperationLog.class);
+
+    private final long thresholdNanos;
+    private final OperationTrace[] buffer;
+    private int next;
+
+    public SlowOperationLog(@Value("${hbase-client.trace.slow-threshold-ms:500}") long thresholdMs,
+                            @Value("${hbase-client.trace.slow-log-size:100}") int capacity) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.buffer = new OperationTrace[Math.max(1, capacity)];
+    }
+
+    /**
+     * 结束跟踪，耗时超过阈值时写入缓冲区。
+     */
+    public void finish(OperationTrace trace, Throwable error) {
+        trace.finish(error);
+        if (trace.getDurationNanos() < thresholdNanos) {
+            return;
+        }
+        log.warn("慢查询：{}", trace.toMap());
+        synchronized (this) {
+            buffer[next] = trace;
+            next = (next + 1) % buffer.length;
+        }
+    }
+
+    public List<Map<String, Object>> list() {
+        List<OperationTrace> traces = new ArrayList<>();
+        synchronized (this) {
+            for (OperationTrace trace : buffer) {
+                if (trace != null) {
+                    traces.add(trace);
+                }
+            }
+        }
+        traces.sort(Comparator.comparingLong(OperationTrace::getDurationNanos).reversed());
+        List<Map<String, Object>> result = new ArrayList<>(traces.size());
+        for (OperationTrace trace : traces) {
+            result.add(trace.toMap());
+        }
+        return result;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(buffer, null);
+        next = 0;
+    }
+}
@@ -0,0 +1,26 @@
+package cn.dengdz.hbaseclient.metrics;
+
+/**
+ * 当前线程正在跟踪的查询。Mapper 在发起异步调用前读取，之后在回调中继续使用同一个对象。
+ */
+public class TraceContext {
+    private static final ThreadLocal<OperationTrace> currentTrace = new ThreadLocal<>();
+
+    public static OperationTrace start(String operation, String dataSourceId, String table, boolean detailed) {
+        OperationTrace trace = new OperationTrace(operation, dataSourceId, table, true, detailed);
+        currentTrace.set(trace);
+        return trace;
+    }
+
+    /**
+     * 未开启跟踪时返回空实现，调用方无需判空。
+     */
+    public static OperationTrace current() {
+        OperationTrace trace = currentTrace.get();
+        return trace != null ? trace : OperationTrace.DISABLED;
+    }
+
+    public static void clear() {
+        currentTrace.remove();
+    }
+}
@@ -0,0 +1,50 @@
+package cn.dengdz.hbaseclient.model;
+
+public class CellData {
+    private String rowKey;
+    private String columnFamily;
+    private String column;
+    private String value;
+
+    public CellData() {
+    }
+
+    public CellData(String rowKey, String columnFamily, String column, String value) {
+        this.rowKey = rowKey;
+        this.columnFamily = columnFamily;
+        this.column = column;
+        this.value = value;
+    }
+
+    public String getRowKey() {
+        return rowKey;
+    }
+
+    public void setRowKey(String rowKey) {
+        this.rowKey = rowKey;
+    }
+
+    public String getColumnFamily() {
+        return columnFamily;
+    }
+
+    public void setColumnFamily(String columnFamily) {
+        this.columnFamily = columnFamily;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public void setColumn(String column) {
+        this.column = column;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,59 @@
+package cn.dengdz.hbaseclient.model;
+
+import cn.dengdz.hbaseclient.config.ClientPolicyProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 持久化在数据源配置目录下的数据源定义，服务重启后据此自动重连。
+ */
+public class DataSourceDefinition {
+    private String id;
+    private String zkQuorum;
+    // 通过接口修改的客户端策略，为空时使用配置文件中的策略
+    private ClientPolicyProperties.Policy policy;
+    // 最近访问的表，最近的在前，启动时预取这些表的 Region 位置
+    private List<String> recentTables = new ArrayList<>();
+    private long lastConnectedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getZkQuorum() {
+        return zkQuorum;
+    }
+
+    public void setZkQuorum(String zkQuorum) {
+        this.zkQuorum = zkQuorum;
+    }
+
+    public ClientPolicyProperties.Policy getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(ClientPolicyProperties.Policy policy) {
+        this.policy = policy;
+    }
+
+    public List<String> getRecentTables() {
+        return recentTables;
+    }
+
+    public void setRecentTables(List<String> recentTables) {
+        this.recentTables = recentTables;
+    }
+
+    public long getLastConnectedAt() {
+        return lastConnectedAt;
+    }
+
+    public void setLastConnectedAt(long lastConnectedAt) {
+        this.lastConnectedAt = lastConnectedAt;
+    }
+}
@@ -0,0 +1,129 @@
+package cn.dengdz.hbaseclient.model;
+
+import cn.dengdz.hbaseclient.service.export.ExportCompression;
+import cn.dengdz.hbaseclient.service.export.ExportFormat;
+
+import java.util.List;
+
+public class ExportRequest {
+    private String table;
+    private String startRow;
+    private String stopRow;
+    private List<String> columns;
+    private ExportFormat format = ExportFormat.NDJSON;
+    private ExportCompression compression = ExportCompression.NONE;
+    // CSV、NDJSON 中单元格值的编码，Parquet 始终保存原始字节
+    private ValueEncoding encoding = ValueEncoding.UTF8;
+    private boolean parallel;
+    // 0 表示不限行数
+    private int limit;
+    // 基于快照导出，不经过 RegionServer
+    private boolean snapshot;
+    private String snapshotName;
+
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public String getStartRow() {
+        return startRow;
+    }
+
+    public void setStartRow(String startRow) {
+        this.startRow = startRow;
+    }
+
+    public String getStopRow() {
+        return stopRow;
+    }
+
+    public void setStopRow(String stopRow) {
+        this.stopRow = stopRow;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public void setColumns(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public ExportFormat getFormat() {
+        return format;
+    }
+
+    public void setFormat(ExportFormat format) {
+        this.format = format;
+    }
+
+    public ExportCompression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(ExportCompression compression) {
+        this.compression = compression;
+    }
+
+    public ValueEncoding getEncoding() {
+        return encoding;
+    }
+
+    public void setEncoding(ValueEncoding encoding) {
+        this.encoding = encoding;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public String getSnapshotName() {
+        return snapshotName;
+    }
+
+    public void setSnapshotName(String snapshotName) {
+        this.snapshotName = snapshotName;
+    }
+
+    /**
+     * 整体压缩后的文本格式按压缩文件类型返回，由客户端自行解压。
+     */
+    public String getContentType() {
+        if (format == ExportFormat.PARQUET || compression == ExportCompression.NONE) {
+            return format.getContentType();
+        }
+        return compression == ExportCompression.GZIP ? "application/gzip" : "application/zstd";
+    }
+
+    /**
+     * 下载或本地保存时使用的文件名，如 user.csv.gz。
+     */
+    public String getFileName() {
+        String name = table.replace(':', '_') + "." + format.getExtension();
+        return format == ExportFormat.PARQUET ? name : name + compression.getExtension();
+    }
+}
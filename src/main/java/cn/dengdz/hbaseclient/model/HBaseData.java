@@ -1,24 +1,86 @@
 package cn.dengdz.hbaseclient.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * 一行数据，直接持有 Result 中按列族、列、时间戳倒序排好的 Cell 数组，
+ * 序列化时逐个输出，不再为每个单元格构造 Map 和字符串。
+ */
+@JsonSerialize(using = HBaseDataSerializer.class)
 public class HBaseData {
-    private String rowKey;
-    private Map<String, Map<String, String>> familyMap;
+    private static final Cell[] EMPTY = new Cell[0];
+
+    private final String rowKey;
+    private final Cell[] cells;
+    private final ValueEncoding encoding;
+
+    public HBaseData(String rowKey, Cell[] cells) {
+        this(rowKey, cells, ValueEncoding.UTF8);
+    }
+
+    private HBaseData(String rowKey, Cell[] cells, ValueEncoding encoding) {
+        this.rowKey = rowKey;
+        this.cells = cells == null ? EMPTY : cells;
+        this.encoding = encoding;
+    }
 
     public String getRowKey() {
         return rowKey;
     }
 
-    public void setRowKey(String rowKey) {
-        this.rowKey = rowKey;
+    public Cell[] getCells() {
+        return cells;
     }
 
-    public Map<String, Map<String, String>> getFamilyMap() {
-        return familyMap;
+    public ValueEncoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * 以指定编码输出的视图，与原对象共享 Cell 数组。
+     */
+    public HBaseData withEncoding(ValueEncoding encoding) {
+        return encoding == this.encoding ? this : new HBaseData(rowKey, cells, encoding);
+    }
+
+    public boolean isEmpty() {
+        return cells.length == 0;
     }
 
-    public void setFamilyMap(Map<String, Map<String, String>> familyMap) {
-        this.familyMap = familyMap;
+    /**
+     * 估算占用的堆内存，供缓存计算权重。
+     */
+    public long heapSize() {
+        long size = 64 + rowKey.length() * 2L;
+        for (Cell cell : cells) {
+            size += cell.heapSize();
+        }
+        return size;
+    }
+
+    /**
+     * 按列族、列解码为嵌套 Map，每列只取最新版本。仅用于需要 Map 结构的场景，序列化不经过此方法。
+     */
+    public Map<String, Map<String, String>> getFamilyMap() {
+        Map<String, Map<String, String>> familyMap = new HashMap<>();
+        Cell previous = null;
+        for (Cell cell : cells) {
+            if (previous != null && CellUtil.matchingColumn(previous, cell)) {
+                continue;
+            }
+            previous = cell;
+            familyMap.computeIfAbsent(
+                    Bytes.toString(cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength()),
+                    family -> new HashMap<>())
+                .put(Bytes.toString(cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength()),
+                    encoding.decode(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength()));
+        }
+        return familyMap;
     }
-} 
\ No newline at end of file
+}
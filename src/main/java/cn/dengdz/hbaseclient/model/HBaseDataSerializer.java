@@ -0,0 +1,65 @@
+package cn.dengdz.hbaseclient.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+
+/**
+ * 将 HBaseData 输出为 {列族: {列: 值}}。
+ * 查询了多个版本的列输出为 [{"timestamp": ..., "value": ...}, ...]，按时间倒序。
+ */
+public class HBaseDataSerializer extends StdSerializer<HBaseData> {
+
+    public HBaseDataSerializer() {
+        super(HBaseData.class);
+    }
+
+    @Override
+    public void serialize(HBaseData data, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        Cell[] cells = data.getCells();
+        ValueEncoding encoding = data.getEncoding();
+
+        gen.writeStartObject();
+        int i = 0;
+        while (i < cells.length) {
+            Cell familyCell = cells[i];
+            gen.writeFieldName(Bytes.toString(
+                    familyCell.getFamilyArray(), familyCell.getFamilyOffset(), familyCell.getFamilyLength()));
+            gen.writeStartObject();
+            while (i < cells.length && CellUtil.matchingFamily(familyCell, cells[i])) {
+                Cell cell = cells[i];
+                int end = i + 1;
+                while (end < cells.length && CellUtil.matchingColumn(cell, cells[end])) {
+                    end++;
+                }
+                gen.writeFieldName(Bytes.toString(
+                        cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength()));
+                if (end - i == 1) {
+                    writeValue(gen, encoding, cell);
+                } else {
+                    gen.writeStartArray();
+                    for (int v = i; v < end; v++) {
+                        gen.writeStartObject();
+                        gen.writeNumberField("timestamp", cells[v].getTimestamp());
+                        gen.writeFieldName("value");
+                        writeValue(gen, encoding, cells[v]);
+                        gen.writeEndObject();
+                    }
+                    gen.writeEndArray();
+                }
+                i = end;
+            }
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeValue(JsonGenerator gen, ValueEncoding encoding, Cell cell) throws IOException {
+        encoding.write(gen, cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
+    }
+}
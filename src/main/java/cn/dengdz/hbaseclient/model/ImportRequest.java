@@ -0,0 +1,72 @@
+package cn.dengdz.hbaseclient.model;
+
+import org.apache.hadoop.hbase.client.Durability;
+
+public class ImportRequest {
+    private String table;
+    private String format;
+    // 作为 RowKey 的列（CSV 表头名或 NDJSON 字段名）
+    private String rowKeyColumn = "rowkey";
+    // 列名不是 "列族:列" 形式时使用的默认列族
+    private String family;
+    private long writeBufferSize = 8L * 1024 * 1024;
+    // 同时向 RegionServer 提交写请求的线程数
+    private int parallelism = 4;
+    private Durability durability = Durability.USE_DEFAULT;
+
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public String getRowKeyColumn() {
+        return rowKeyColumn;
+    }
+
+    public void setRowKeyColumn(String rowKeyColumn) {
+        this.rowKeyColumn = rowKeyColumn;
+    }
+
+    public String getFamily() {
+        return family;
+    }
+
+    public void setFamily(String family) {
+        this.family = family;
+    }
+
+    public long getWriteBufferSize() {
+        return writeBufferSize;
+    }
+
+    public void setWriteBufferSize(long writeBufferSize) {
+        this.writeBufferSize = writeBufferSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public Durability getDurability() {
+        return durability;
+    }
+
+    public void setDurability(Durability durability) {
+        this.durability = durability;
+    }
+}
@@ -0,0 +1,91 @@
+package cn.dengdz.hbaseclient.model;
+
+public class RangeDeleteRequest {
+    private String table;
+    // 指定前缀时忽略 startRow、stopRow
+    private String prefix;
+    private String startRow;
+    private String stopRow;
+    // 只删除 RowKey 匹配该正则的行
+    private String rowKeyRegex;
+    // 只统计匹配的行数，不删除
+    private boolean dryRun;
+    private int batchSize;
+    // 每秒最多删除的行数，0 使用默认配置
+    private int maxRowsPerSecond;
+
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public String getStartRow() {
+        return startRow;
+    }
+
+    public void setStartRow(String startRow) {
+        this.startRow = startRow;
+    }
+
+    public String getStopRow() {
+        return stopRow;
+    }
+
+    public void setStopRow(String stopRow) {
+        this.stopRow = stopRow;
+    }
+
+    public String getRowKeyRegex() {
+        return rowKeyRegex;
+    }
+
+    public void setRowKeyRegex(String rowKeyRegex) {
+        this.rowKeyRegex = rowKeyRegex;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxRowsPerSecond() {
+        return maxRowsPerSecond;
+    }
+
+    public void setMaxRowsPerSecond(int maxRowsPerSecond) {
+        this.maxRowsPerSecond = maxRowsPerSecond;
+    }
+
+    /**
+     * 至少指定一个条件，避免空请求误删整表。
+     */
+    public boolean hasCondition() {
+        return notEmpty(prefix) || notEmpty(startRow) || notEmpty(stopRow) || notEmpty(rowKeyRegex);
+    }
+
+    private static boolean notEmpty(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
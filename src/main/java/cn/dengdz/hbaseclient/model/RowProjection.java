@@ -0,0 +1,46 @@
+package cn.dengdz.hbaseclient.model;
+
+import java.util.List;
+
+/**
+ * 查询时下推到 RegionServer 的列、时间范围和版本数限定。
+ */
+public class RowProjection {
+    // "列族" 或 "列族:列"
+    private List<String> columns;
+    private Long minTimestamp;
+    private Long maxTimestamp;
+    private int maxVersions = 1;
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public void setColumns(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public Long getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    public void setMinTimestamp(Long minTimestamp) {
+        this.minTimestamp = minTimestamp;
+    }
+
+    public Long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    public void setMaxTimestamp(Long maxTimestamp) {
+        this.maxTimestamp = maxTimestamp;
+    }
+
+    public int getMaxVersions() {
+        return maxVersions;
+    }
+
+    public void setMaxVersions(int maxVersions) {
+        this.maxVersions = maxVersions;
+    }
+}
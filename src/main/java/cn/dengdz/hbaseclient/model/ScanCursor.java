@@ -0,0 +1,70 @@
+package cn.dengdz.hbaseclient.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * 分页扫描的续扫游标，记录上一页最后一个 RowKey 及扫描状态，对外编码为不透明字符串。
+ */
+public class ScanCursor {
+    private static final byte VERSION = 1;
+
+    private final byte[] lastRow;
+    private final byte[] stopRow;
+    private final boolean reversed;
+
+    public ScanCursor(byte[] lastRow, byte[] stopRow, boolean reversed) {
+        this.lastRow = lastRow;
+        this.stopRow = stopRow == null ? new byte[0] : stopRow;
+        this.reversed = reversed;
+    }
+
+    public byte[] getLastRow() {
+        return lastRow;
+    }
+
+    public byte[] getStopRow() {
+        return stopRow;
+    }
+
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    public String encode() {
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeBoolean(reversed);
+            out.writeInt(lastRow.length);
+            out.write(lastRow);
+            out.writeInt(stopRow.length);
+            out.write(stopRow);
+            out.flush();
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static ScanCursor decode(String cursor) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("不支持的游标版本");
+            }
+            boolean reversed = in.readBoolean();
+            byte[] lastRow = new byte[in.readInt()];
+            in.readFully(lastRow);
+            byte[] stopRow = new byte[in.readInt()];
+            in.readFully(stopRow);
+            return new ScanCursor(lastRow, stopRow, reversed);
+        } catch (IOException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("无效的游标: " + cursor);
+        }
+    }
+}
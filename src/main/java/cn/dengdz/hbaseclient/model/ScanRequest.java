@@ -0,0 +1,156 @@
+package cn.dengdz.hbaseclient.model;
+
+import java.util.List;
+
+public class ScanRequest {
+    private String startRow;
+    private String stopRow;
+    private boolean reversed;
+    private int caching;
+    private int limit = 100;
+    private String cursor;
+    private boolean keysOnly;
+    // 按 Region 并行扫描，ordered 为 false 时结果不保证按 RowKey 排序
+    private boolean parallel;
+    private boolean ordered = true;
+    // 列族或 "列族:列"，为空时返回整行
+    private List<String> columns;
+    // 批量导出等一次性扫描应关闭，避免冲掉 BlockCache 中的热点数据
+    private boolean cacheBlocks = true;
+    // 过滤表达式，语法见 FilterExpression
+    private String filter;
+    // 只返回时间戳在 [minTimestamp, maxTimestamp) 内的单元格，与过滤表达式中的时间范围取交集
+    private Long minTimestamp;
+    private Long maxTimestamp;
+    // 基于快照直接读取 HFile，不经过 RegionServer；指定 snapshotName 时使用已有快照，否则创建临时快照
+    private boolean snapshot;
+    private String snapshotName;
+
+    public String getStartRow() {
+        return startRow;
+    }
+
+    public void setStartRow(String startRow) {
+        this.startRow = startRow;
+    }
+
+    public String getStopRow() {
+        return stopRow;
+    }
+
+    public void setStopRow(String stopRow) {
+        this.stopRow = stopRow;
+    }
+
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    public void setReversed(boolean reversed) {
+        this.reversed = reversed;
+    }
+
+    public int getCaching() {
+        return caching;
+    }
+
+    public void setCaching(int caching) {
+        this.caching = caching;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public boolean isKeysOnly() {
+        return keysOnly;
+    }
+
+    public void setKeysOnly(boolean keysOnly) {
+        this.keysOnly = keysOnly;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public void setOrdered(boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public void setColumns(List<String> columns) {
+        this.columns = columns;
+    }
+
+    public boolean isCacheBlocks() {
+        return cacheBlocks;
+    }
+
+    public void setCacheBlocks(boolean cacheBlocks) {
+        this.cacheBlocks = cacheBlocks;
+    }
+
+    public String getFilter() {
+        return filter;
+    }
+
+    public void setFilter(String filter) {
+        this.filter = filter;
+    }
+
+    public Long getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    public void setMinTimestamp(Long minTimestamp) {
+        this.minTimestamp = minTimestamp;
+    }
+
+    public Long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    public void setMaxTimestamp(Long maxTimestamp) {
+        this.maxTimestamp = maxTimestamp;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public String getSnapshotName() {
+        return snapshotName;
+    }
+
+    public void setSnapshotName(String snapshotName) {
+        this.snapshotName = snapshotName;
+    }
+}
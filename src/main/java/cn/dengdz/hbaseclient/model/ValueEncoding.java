@@ -0,0 +1,113 @@
+package cn.dengdz.hbaseclient.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * 单元格值输出编码。数值编码在长度不匹配时退回十六进制，避免误读二进制值。
+ */
+public enum ValueEncoding {
+    UTF8 {
+        @Override
+        public void write(JsonGenerator gen, byte[] array, int offset, int length) throws IOException {
+            gen.writeString(Bytes.toString(array, offset, length));
+        }
+
+        @Override
+        public String decode(byte[] array, int offset, int length) {
+            return Bytes.toString(array, offset, length);
+        }
+    },
+    HEX {
+        @Override
+        public void write(JsonGenerator gen, byte[] array, int offset, int length) throws IOException {
+            gen.writeString(decode(array, offset, length));
+        }
+
+        @Override
+        public String decode(byte[] array, int offset, int length) {
+            return Bytes.toHex(array, offset, length);
+        }
+    },
+    BASE64 {
+        @Override
+        public void write(JsonGenerator gen, byte[] array, int offset, int length) throws IOException {
+            // JSON 下输出 Base64 字符串，二进制格式下直接输出原始字节
+            gen.writeBinary(array, offset, length);
+        }
+
+        @Override
+        public String decode(byte[] array, int offset, int length) {
+            byte[] value = new byte[length];
+            System.arraycopy(array, offset, value, 0, length);
+            return Base64.getEncoder().encodeToString(value);
+        }
+    },
+    LONG {
+        @Override
+        public void write(JsonGenerator gen, byte[] array, int offset, int length) throws IOException {
+            if (length == Bytes.SIZEOF_LONG) {
+                gen.writeNumber(Bytes.toLong(array, offset, length));
+            } else {
+                HEX.write(gen, array, offset, length);
+            }
+        }
+
+        @Override
+        public String decode(byte[] array, int offset, int length) {
+            return length == Bytes.SIZEOF_LONG
+                    ? String.valueOf(Bytes.toLong(array, offset, length)) : HEX.decode(array, offset, length);
+        }
+    },
+    INT {
+        @Override
+        public void write(JsonGenerator gen, byte[] array, int offset, int length) throws IOException {
+            if (length == Bytes.SIZEOF_INT) {
+                gen.writeNumber(Bytes.toInt(array, offset, length));
+            } else {
+                HEX.write(gen, array, offset, length);
+            }
+        }
+
+        @Override
+        public String decode(byte[] array, int offset, int length) {
+            return length == Bytes.SIZEOF_INT
+                    ? String.valueOf(Bytes.toInt(array, offset, length)) : HEX.decode(array, offset, length);
+        }
+    },
+    DOUBLE {
+        @Override
+        public void write(JsonGenerator gen, byte[] array, int offset, int length) throws IOException {
+            if (length == Bytes.SIZEOF_DOUBLE) {
+                gen.writeNumber(Bytes.toDouble(array, offset));
+            } else {
+                HEX.write(gen, array, offset, length);
+            }
+        }
+
+        @Override
+        public String decode(byte[] array, int offset, int length) {
+            return length == Bytes.SIZEOF_DOUBLE
+                    ? String.valueOf(Bytes.toDouble(array, offset)) : HEX.decode(array, offset, length);
+        }
+    };
+
+    public abstract void write(JsonGenerator gen, byte[] array, int offset, int length) throws IOException;
+
+    public abstract String decode(byte[] array, int offset, int length);
+
+    public static ValueEncoding of(String name) {
+        if (name == null || name.isEmpty()) {
+            return UTF8;
+        }
+        try {
+            return valueOf(name.replace("-", "").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的编码: " + name);
+        }
+    }
+}
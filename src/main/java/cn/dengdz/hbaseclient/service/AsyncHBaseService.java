@@ -0,0 +1,17 @@
+package cn.dengdz.hbaseclient.service;
+
+import cn.dengdz.hbaseclient.model.CellData;
+import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.RowProjection;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncHBaseService {
+    CompletableFuture<HBaseData> getRow(String tableName, String rowKey, RowProjection projection);
+    CompletableFuture<List<HBaseData>> getRows(String tableName, List<String> rowKeys, RowProjection projection);
+    CompletableFuture<List<String>> listRows(String tableName, int limit);
+    CompletableFuture<List<String>> searchRows(String tableName, String rowkey);
+    CompletableFuture<Void> addData(String table, List<CellData> cells);
+    CompletableFuture<Void> deleteData(String table, String rowKey);
+}
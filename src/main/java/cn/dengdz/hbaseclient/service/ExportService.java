@@ -0,0 +1,18 @@
+package cn.dengdz.hbaseclient.service;
+
+import cn.dengdz.hbaseclient.model.ExportRequest;
+import cn.dengdz.hbaseclient.service.job.Job;
+
+import java.io.OutputStream;
+
+public interface ExportService {
+    /**
+     * 在当前线程中把扫描结果写到输出流，返回结束后的任务状态。
+     */
+    Job export(ExportRequest request, OutputStream out) throws Exception;
+
+    /**
+     * 提交后台任务，导出到服务端本地文件。
+     */
+    Job startExport(ExportRequest request) throws Exception;
+}
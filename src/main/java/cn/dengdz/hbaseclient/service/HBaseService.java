@@ -1,7 +1,16 @@
 package cn.dengdz.hbaseclient.service;
 
+import cn.dengdz.hbaseclient.config.ClientPolicyProperties;
+import cn.dengdz.hbaseclient.mapper.RowHandler;
+import cn.dengdz.hbaseclient.model.CellData;
+import cn.dengdz.hbaseclient.model.DataSourceDefinition;
 import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.RangeDeleteRequest;
+import cn.dengdz.hbaseclient.model.RowProjection;
+import cn.dengdz.hbaseclient.model.ScanRequest;
+import cn.dengdz.hbaseclient.service.job.Job;
 import java.util.List;
+import java.util.Map;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import org.apache.hadoop.hbase.TableName;
@@ -14,14 +23,26 @@ public interface HBaseService {
     void connect(String zkQuorum) throws Exception;
     List<String> listTables() throws Exception;
     HBaseData getRow(String tableName, String rowKey) throws Exception;
+    HBaseData getRow(String tableName, String rowKey, RowProjection projection) throws Exception;
+    List<HBaseData> getRows(String tableName, List<String> rowKeys, RowProjection projection) throws Exception;
     void close() throws Exception;
     void uploadConfig(MultipartFile coreSite, MultipartFile hbaseSite) throws Exception;
     boolean checkConfigExists() throws Exception;
     List<String> listRows(String tableName, int limit) throws Exception;
     void deleteConfig(String dataSourceId) throws Exception;
     void reconnect(String dataSourceId, String zkQuorum) throws Exception;
+    List<DataSourceDefinition> listDataSources();
     List<String> searchRows(String tableName, String rowkey) throws Exception;
+    String scanRows(String tableName, ScanRequest request, RowHandler handler) throws Exception;
+    Job startCount(String tableName, String startRow, String stopRow, boolean snapshot, String snapshotName) throws Exception;
+    Job startDeleteRows(RangeDeleteRequest request) throws Exception;
     void addData(String table, String rowKey, String columnFamily, String column, String value) throws Exception;
+    void addData(String table, List<CellData> cells) throws Exception;
     void deleteData(String table, String rowKey) throws Exception;
     void addColumnFamily(String tableName, String familyName) throws Exception;
+    Map<String, Object> getTableSchema(String tableName) throws Exception;
+    List<Map<String, Object>> getRegions(String tableName) throws Exception;
+    Map<String, Object> getRowCacheStats(String dataSourceId) throws Exception;
+    ClientPolicyProperties.Policy getClientPolicy(String dataSourceId) throws Exception;
+    void updateClientPolicy(String dataSourceId, ClientPolicyProperties.Policy policy) throws Exception;
 } 
\ No newline at end of file
@@ -0,0 +1,12 @@
+package cn.dengdz.hbaseclient.service;
+
+import cn.dengdz.hbaseclient.model.ImportRequest;
+import cn.dengdz.hbaseclient.service.job.Job;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ImportService {
+    /**
+     * 保存上传文件后提交后台导入任务。
+     */
+    Job startImport(ImportRequest request, MultipartFile file) throws Exception;
+}
@@ -0,0 +1,64 @@
+package cn.dengdz.hbaseclient.service.export;
+
+import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.ValueEncoding;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 每个单元格（含多版本）输出一行：rowkey,family,qualifier,timestamp,value。
+ * HBase 表没有固定列，宽表形式需要先扫描全表才能确定表头，因此采用这种长表形式。
+ */
+public class CsvRowWriter implements RowWriter {
+
+    private final Writer writer;
+    private final ValueEncoding encoding;
+
+    public CsvRowWriter(OutputStream out, ValueEncoding encoding) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.encoding = encoding;
+        writer.write("rowkey,family,qualifier,timestamp,value\n");
+    }
+
+    @Override
+    public void write(HBaseData row) throws IOException {
+        String rowKey = escape(row.getRowKey());
+        for (Cell cell : row.getCells()) {
+            writer.write(rowKey);
+            writer.write(',');
+            writer.write(escape(Bytes.toString(cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength())));
+            writer.write(',');
+            writer.write(escape(Bytes.toString(
+                    cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength())));
+            writer.write(',');
+            writer.write(Long.toString(cell.getTimestamp()));
+            writer.write(',');
+            writer.write(escape(encoding.decode(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength())));
+            writer.write('\n');
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * 按 RFC 4180 转义：含逗号、引号或换行时用双引号包裹，内部引号加倍。
+     */
+    private static String escape(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
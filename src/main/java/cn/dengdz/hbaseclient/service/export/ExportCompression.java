@@ -0,0 +1,64 @@
+package cn.dengdz.hbaseclient.service.export;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 导出压缩方式。CSV、NDJSON 对整个输出流压缩，Parquet 使用格式自带的页压缩。
+ */
+public enum ExportCompression {
+    NONE("", CompressionCodecName.UNCOMPRESSED) {
+        @Override
+        public OutputStream wrap(OutputStream out) {
+            return out;
+        }
+    },
+    GZIP(".gz", CompressionCodecName.GZIP) {
+        @Override
+        public OutputStream wrap(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+    },
+    ZSTD(".zst", CompressionCodecName.ZSTD) {
+        @Override
+        public OutputStream wrap(OutputStream out) throws IOException {
+            return new ZstdOutputStream(out);
+        }
+    };
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String extension;
+    private final CompressionCodecName parquetCodec;
+
+    ExportCompression(String extension, CompressionCodecName parquetCodec) {
+        this.extension = extension;
+        this.parquetCodec = parquetCodec;
+    }
+
+    public abstract OutputStream wrap(OutputStream out) throws IOException;
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public CompressionCodecName getParquetCodec() {
+        return parquetCodec;
+    }
+
+    public static ExportCompression of(String name) {
+        if (name == null || name.isEmpty()) {
+            return NONE;
+        }
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的压缩方式: " + name);
+        }
+    }
+}
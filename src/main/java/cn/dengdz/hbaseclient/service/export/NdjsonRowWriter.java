@@ -0,0 +1,39 @@
+package cn.dengdz.hbaseclient.service.export;
+
+import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.ValueEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 每行输出 {"rowkey": ..., "data": {...}}，与流式扫描接口的行格式一致。
+ */
+public class NdjsonRowWriter implements RowWriter {
+
+    private final JsonGenerator generator;
+    private final ValueEncoding encoding;
+
+    public NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper, ValueEncoding encoding) throws IOException {
+        // 行之间由 write 自行换行，不使用默认的空格分隔
+        this.generator = objectMapper.getFactory().createGenerator(out).setRootValueSeparator(null);
+        this.encoding = encoding;
+    }
+
+    @Override
+    public void write(HBaseData row) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("rowkey", row.getRowKey());
+        generator.writeFieldName("data");
+        generator.writeObject(row.withEncoding(encoding));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,129 @@
+package cn.dengdz.hbaseclient.service.export;
+
+import cn.dengdz.hbaseclient.model.HBaseData;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 以与 CSV 相同的长表结构输出 Parquet，值保留原始字节。
+ * 内存占用由行组大小限制，行组写满后整体刷出到输出流。
+ */
+public class ParquetRowWriter implements RowWriter {
+
+    private static final MessageType SCHEMA = MessageTypeParser.parseMessageType(
+            "message hbase_cell {\n"
+                    + "  required binary rowkey (UTF8);\n"
+                    + "  required binary family (UTF8);\n"
+                    + "  required binary qualifier (UTF8);\n"
+                    + "  required int64 timestamp;\n"
+                    + "  required binary value;\n"
+                    + "}");
+
+    private final ParquetWriter<Group> writer;
+    private final SimpleGroupFactory groupFactory = new SimpleGroupFactory(SCHEMA);
+
+    public ParquetRowWriter(OutputStream out, CompressionCodecName codec, int rowGroupSize) throws IOException {
+        this.writer = ExampleParquetWriter.builder(new StreamOutputFile(out))
+                .withType(SCHEMA)
+                .withConf(new Configuration())
+                .withCompressionCodec(codec)
+                .withRowGroupSize((long) rowGroupSize)
+                .build();
+    }
+
+    @Override
+    public void write(HBaseData row) throws IOException {
+        Binary rowKey = Binary.fromString(row.getRowKey());
+        for (Cell cell : row.getCells()) {
+            Group group = groupFactory.newGroup()
+                    .append("rowkey", rowKey)
+                    .append("family", Bytes.toString(
+                            cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength()))
+                    .append("qualifier", Bytes.toString(
+                            cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength()))
+                    .append("timestamp", cell.getTimestamp())
+                    .append("value", Binary.fromConstantByteArray(
+                            cell.getValueArray(), cell.getValueOffset(), cell.getValueLength()));
+            writer.write(group);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    /**
+     * 只追加写入的 OutputFile，使 Parquet 可以直接写到 HTTP 响应或本地文件流。
+     */
+    private static final class StreamOutputFile implements OutputFile {
+        private final OutputStream out;
+
+        StreamOutputFile(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public PositionOutputStream create(long blockSizeHint) {
+            return new PositionOutputStream() {
+                private long position;
+
+                @Override
+                public long getPos() {
+                    return position;
+                }
+
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    position++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    position += len;
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.close();
+                }
+            };
+        }
+
+        @Override
+        public PositionOutputStream createOrOverwrite(long blockSizeHint) {
+            return create(blockSizeHint);
+        }
+
+        @Override
+        public boolean supportsBlockSize() {
+            return false;
+        }
+
+        @Override
+        public long defaultBlockSize() {
+            return 0;
+        }
+    }
+}
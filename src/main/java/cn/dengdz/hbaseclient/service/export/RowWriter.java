@@ -0,0 +1,13 @@
+package cn.dengdz.hbaseclient.service.export;
+
+import cn.dengdz.hbaseclient.model.HBaseData;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 按导出格式逐行写出，close 时写完文件尾并关闭底层输出流。
+ */
+public interface RowWriter extends Closeable {
+    void write(HBaseData row) throws IOException;
+}
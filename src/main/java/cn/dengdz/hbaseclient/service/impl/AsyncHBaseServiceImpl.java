@@ -0,0 +1,49 @@
+package cn.dengdz.hbaseclient.service.impl;
+
+import cn.dengdz.hbaseclient.mapper.AsyncHBaseMapper;
+import cn.dengdz.hbaseclient.model.CellData;
+import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.RowProjection;
+import cn.dengdz.hbaseclient.service.AsyncHBaseService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Service
+public class AsyncHBaseServiceImpl implements AsyncHBaseService {
+
+    @Autowired
+    private AsyncHBaseMapper asyncHBaseMapper;
+
+    @Override
+    public CompletableFuture<HBaseData> getRow(String tableName, String rowKey, RowProjection projection) {
+        return asyncHBaseMapper.getRow(tableName, rowKey, projection);
+    }
+
+    @Override
+    public CompletableFuture<List<HBaseData>> getRows(String tableName, List<String> rowKeys, RowProjection projection) {
+        return asyncHBaseMapper.getRows(tableName, rowKeys, projection);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> listRows(String tableName, int limit) {
+        return asyncHBaseMapper.listRows(tableName, limit);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> searchRows(String tableName, String rowkey) {
+        return asyncHBaseMapper.searchRows(tableName, rowkey);
+    }
+
+    @Override
+    public CompletableFuture<Void> addData(String table, List<CellData> cells) {
+        return asyncHBaseMapper.addData(table, cells);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteData(String table, String rowKey) {
+        return asyncHBaseMapper.deleteData(table, rowKey);
+    }
+}
@@ -0,0 +1,137 @@
+package cn.dengdz.hbaseclient.service.impl;
+
+import cn.dengdz.hbaseclient.mapper.HBaseMapper;
+import cn.dengdz.hbaseclient.model.ExportRequest;
+import cn.dengdz.hbaseclient.model.ScanRequest;
+import cn.dengdz.hbaseclient.service.ExportService;
+import cn.dengdz.hbaseclient.service.export.CsvRowWriter;
+import cn.dengdz.hbaseclient.service.export.ExportFormat;
+import cn.dengdz.hbaseclient.service.export.NdjsonRowWriter;
+import cn.dengdz.hbaseclient.service.export.ParquetRowWriter;
+import cn.dengdz.hbaseclient.service.export.RowWriter;
+import cn.dengdz.hbaseclient.service.job.Job;
+import cn.dengdz.hbaseclient.service.job.JobManager;
+import cn.dengdz.hbaseclient.util.DataSourceContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.ProxyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    @Autowired
+    private HBaseMapper hbaseMapper;
+
+    @Autowired
+    private JobManager jobManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${hbase-client.export.directory:${user.dir}/.tmp/exports}")
+    private String exportDirectory;
+
+    @Value("${hbase-client.export.caching:1000}")
+    private int caching;
+
+    @Value("${hbase-client.export.parquet-row-group-size:16777216}")
+    private int parquetRowGroupSize;
+
+    @Override
+    public Job export(ExportRequest request, OutputStream out) throws Exception {
+        String dataSourceId = getCurrentDataSourceId();
+        // 下载的输出流由容器负责关闭
+        return jobManager.execute("export", dataSourceId, request.getTable(),
+                job -> write(request, CloseShieldOutputStream.wrap(out), job));
+    }
+
+    @Override
+    public Job startExport(ExportRequest request) throws Exception {
+        String dataSourceId = getCurrentDataSourceId();
+        Path directory = Paths.get(exportDirectory, dataSourceId);
+        Files.createDirectories(directory);
+        return jobManager.submit("export-file", dataSourceId, request.getTable(), job -> {
+            Path target = directory.resolve(job.getId() + "-" + request.getFileName());
+            // 先写临时文件，成功后再改名，避免留下不完整的导出文件
+            Path part = directory.resolve(target.getFileName() + ".part");
+            try {
+                write(request, new BufferedOutputStream(Files.newOutputStream(part), 64 * 1024), job);
+                Files.move(part, target, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(part);
+            }
+            job.putResult("path", target.toAbsolutePath().toString());
+            job.putResult("size", Files.size(target));
+        });
+    }
+
+    private void write(ExportRequest request, OutputStream out, Job job) throws Exception {
+        ScanRequest scanRequest = new ScanRequest();
+        scanRequest.setStartRow(request.getStartRow());
+        scanRequest.setStopRow(request.getStopRow());
+        scanRequest.setColumns(request.getColumns());
+        scanRequest.setLimit(request.getLimit());
+        scanRequest.setCaching(caching);
+        scanRequest.setCacheBlocks(false);
+        // 并行导出不保证行序，换取最大吞吐
+        scanRequest.setParallel(request.isParallel());
+        scanRequest.setOrdered(false);
+        scanRequest.setSnapshot(request.isSnapshot());
+        scanRequest.setSnapshotName(request.getSnapshotName());
+
+        // 统计压缩后实际写出的字节数
+        OutputStream counting = new ProxyOutputStream(out) {
+            @Override
+            protected void afterWrite(int n) {
+                job.addBytes(n);
+            }
+        };
+        // 写出阻塞时扫描随之暂停，并行扫描的队列有界，内存占用不随导出量增长
+        try (RowWriter writer = openWriter(request, counting)) {
+            hbaseMapper.scanRows(request.getTable(), scanRequest, row -> {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("导出已取消");
+                }
+                writer.write(row);
+                job.addRows(1);
+            });
+        }
+        log.info("表 {} 导出完成，行数：{}，字节数：{}，耗时：{} ms",
+                request.getTable(), job.getRows(), job.getBytes(), job.getElapsedMs());
+    }
+
+    private RowWriter openWriter(ExportRequest request, OutputStream out) throws IOException {
+        if (request.getFormat() == ExportFormat.PARQUET) {
+            return new ParquetRowWriter(out, request.getCompression().getParquetCodec(), parquetRowGroupSize);
+        }
+        OutputStream compressed = request.getCompression().wrap(out);
+        if (request.getFormat() == ExportFormat.CSV) {
+            return new CsvRowWriter(compressed, request.getEncoding());
+        }
+        return new NdjsonRowWriter(compressed, objectMapper, request.getEncoding());
+    }
+
+    private String getCurrentDataSourceId() {
+        String dataSourceId = DataSourceContext.getCurrentDataSourceId();
+        if (dataSourceId == null) {
+            throw new IllegalStateException("未设置当前数据源ID");
+        }
+        return dataSourceId;
+    }
+}
@@ -1,8 +1,19 @@
 package cn.dengdz.hbaseclient.service.impl;
 
+import cn.dengdz.hbaseclient.config.ClientPolicyProperties;
+import cn.dengdz.hbaseclient.config.DataSourceStore;
 import cn.dengdz.hbaseclient.mapper.HBaseMapper;
+import cn.dengdz.hbaseclient.mapper.RowHandler;
+import cn.dengdz.hbaseclient.model.CellData;
+import cn.dengdz.hbaseclient.model.DataSourceDefinition;
 import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.RangeDeleteRequest;
+import cn.dengdz.hbaseclient.model.RowProjection;
+import cn.dengdz.hbaseclient.model.ScanRequest;
 import cn.dengdz.hbaseclient.service.HBaseService;
+import cn.dengdz.hbaseclient.service.job.Job;
+import cn.dengdz.hbaseclient.service.job.JobManager;
+import cn.dengdz.hbaseclient.service.startup.DataSourceBootstrap;
 import cn.dengdz.hbaseclient.util.DataSourceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,6 +22,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.io.IOException;
 import org.apache.hadoop.hbase.HBaseConfiguration;
 import org.apache.hadoop.hbase.client.Admin;
@@ -32,6 +46,15 @@ public class HBaseServiceImpl implements HBaseService {
     @Autowired
     private HBaseMapper hbaseMapper;
 
+    @Autowired
+    private JobManager jobManager;
+
+    @Autowired
+    private DataSourceStore dataSourceStore;
+
+    @Autowired
+    private DataSourceBootstrap dataSourceBootstrap;
+
     @Override
     public void connect(String zkQuorum) throws Exception {
         String dataSourceId = DataSourceContext.getCurrentDataSourceId();
@@ -53,6 +76,16 @@ public class HBaseServiceImpl implements HBaseService {
         return hbaseMapper.getRow(tableName, rowKey);
     }
 
+    @Override
+    public HBaseData getRow(String tableName, String rowKey, RowProjection projection) throws Exception {
+        return hbaseMapper.getRow(tableName, rowKey, projection);
+    }
+
+    @Override
+    public List<HBaseData> getRows(String tableName, List<String> rowKeys, RowProjection projection) throws Exception {
+        return hbaseMapper.getRows(tableName, rowKeys, projection);
+    }
+
     @Override
     public void close() throws Exception {
         hbaseMapper.closeConnection();
@@ -83,6 +116,12 @@ public class HBaseServiceImpl implements HBaseService {
     @Override
     public void reconnect(String dataSourceId, String zkQuorum) throws Exception {
         hbaseMapper.reconnect(dataSourceId, zkQuorum);
+        dataSourceBootstrap.prefetchAsync(dataSourceId);
+    }
+
+    @Override
+    public List<DataSourceDefinition> listDataSources() {
+        return dataSourceStore.list();
     }
 
     @Override
@@ -90,11 +129,54 @@ public class HBaseServiceImpl implements HBaseService {
         return hbaseMapper.searchRows(tableName, rowkey);
     }
 
+    @Override
+    public String scanRows(String tableName, ScanRequest request, RowHandler handler) throws Exception {
+        return hbaseMapper.scanRows(tableName, request, handler);
+    }
+
+    @Override
+    public Job startCount(String tableName, String startRow, String stopRow, boolean snapshot, String snapshotName)
+            throws Exception {
+        String dataSourceId = getCurrentDataSourceId();
+        return jobManager.submit("count", dataSourceId, tableName, job -> {
+            long count = hbaseMapper.countRows(tableName, startRow, stopRow, snapshot, snapshotName, job::addRows);
+            job.putResult("count", count);
+        });
+    }
+
+    @Override
+    public Job startDeleteRows(RangeDeleteRequest request) throws Exception {
+        String dataSourceId = getCurrentDataSourceId();
+        if (request.getTable() == null || request.getTable().isEmpty()) {
+            throw new IllegalArgumentException("表名不能为空");
+        }
+        if (!request.hasCondition()) {
+            throw new IllegalArgumentException("必须指定前缀、范围或 RowKey 正则");
+        }
+        if (request.getRowKeyRegex() != null && !request.getRowKeyRegex().isEmpty()) {
+            try {
+                Pattern.compile(request.getRowKeyRegex());
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("RowKey 正则格式错误: " + e.getDescription());
+            }
+        }
+        String type = request.isDryRun() ? "delete-dry-run" : "delete";
+        return jobManager.submit(type, dataSourceId, request.getTable(), job -> {
+            long rows = hbaseMapper.deleteRows(request, job::addRows);
+            job.putResult(request.isDryRun() ? "matched" : "deleted", rows);
+        });
+    }
+
     @Override
     public void addData(String table, String rowKey, String columnFamily, String column, String value) throws Exception {
         hbaseMapper.addData(table, rowKey, columnFamily, column, value);
     }
 
+    @Override
+    public void addData(String table, List<CellData> cells) throws Exception {
+        hbaseMapper.addData(table, cells);
+    }
+
     @Override
     public void deleteData(String table, String rowKey) throws Exception {
         hbaseMapper.deleteData(table, rowKey);
@@ -105,6 +187,31 @@ public class HBaseServiceImpl implements HBaseService {
         hbaseMapper.addColumnFamily(tableName, familyName);
     }
 
+    @Override
+    public Map<String, Object> getTableSchema(String tableName) throws Exception {
+        return hbaseMapper.getTableSchema(tableName);
+    }
+
+    @Override
+    public List<Map<String, Object>> getRegions(String tableName) throws Exception {
+        return hbaseMapper.getRegions(tableName);
+    }
+
+    @Override
+    public Map<String, Object> getRowCacheStats(String dataSourceId) throws Exception {
+        return hbaseMapper.getRowCacheStats(dataSourceId);
+    }
+
+    @Override
+    public ClientPolicyProperties.Policy getClientPolicy(String dataSourceId) throws Exception {
+        return hbaseMapper.getClientPolicy(dataSourceId);
+    }
+
+    @Override
+    public void updateClientPolicy(String dataSourceId, ClientPolicyProperties.Policy policy) throws Exception {
+        hbaseMapper.updateClientPolicy(dataSourceId, policy);
+    }
+
     private String getCurrentDataSourceId() {
         String dataSourceId = DataSourceContext.getCurrentDataSourceId();
         if (dataSourceId == null) {
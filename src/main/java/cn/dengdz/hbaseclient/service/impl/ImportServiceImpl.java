@@ -0,0 +1,122 @@
+package cn.dengdz.hbaseclient.service.impl;
+
+import cn.dengdz.hbaseclient.mapper.HBaseMapper;
+import cn.dengdz.hbaseclient.mapper.RowSource;
+import cn.dengdz.hbaseclient.model.CellData;
+import cn.dengdz.hbaseclient.model.ImportRequest;
+import cn.dengdz.hbaseclient.service.ImportService;
+import cn.dengdz.hbaseclient.service.importer.CsvRowSource;
+import cn.dengdz.hbaseclient.service.importer.ImportErrors;
+import cn.dengdz.hbaseclient.service.importer.ImportFormat;
+import cn.dengdz.hbaseclient.service.importer.NdjsonRowSource;
+import cn.dengdz.hbaseclient.service.job.Job;
+import cn.dengdz.hbaseclient.service.job.JobManager;
+import cn.dengdz.hbaseclient.util.DataSourceContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.input.ProxyInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportServiceImpl.class);
+
+    @Autowired
+    private HBaseMapper hbaseMapper;
+
+    @Autowired
+    private JobManager jobManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${hbase-client.import.directory:${user.dir}/.tmp/imports}")
+    private String importDirectory;
+
+    @Value("${hbase-client.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    @Override
+    public Job startImport(ImportRequest request, MultipartFile file) throws Exception {
+        String dataSourceId = getCurrentDataSourceId();
+        if (request.getTable() == null || request.getTable().isEmpty()) {
+            throw new IllegalArgumentException("表名不能为空");
+        }
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("导入文件为空");
+        }
+        ImportFormat format = ImportFormat.of(request.getFormat(), file.getOriginalFilename());
+
+        // 上传的临时文件在请求结束后即被删除，先转存再交给后台任务；大文件由容器落盘，transferTo 不经过内存
+        Path directory = Paths.get(importDirectory, dataSourceId);
+        Files.createDirectories(directory);
+        Path upload = Files.createTempFile(directory, "import-", "." + format.name().toLowerCase());
+        try {
+            file.transferTo(upload);
+        } catch (Exception e) {
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+        long fileSize = Files.size(upload);
+
+        return jobManager.submit("import", dataSourceId, request.getTable(), job -> {
+            ImportErrors errors = new ImportErrors(maxReportedErrors);
+            job.putResult("fileName", String.valueOf(file.getOriginalFilename()));
+            job.putResult("fileSize", fileSize);
+            job.putResult("errors", errors);
+            try (InputStream in = new ProxyInputStream(Files.newInputStream(upload)) {
+                    @Override
+                    protected void afterRead(int n) {
+                        if (n > 0) {
+                            job.addBytes(n);
+                        }
+                    }
+                 };
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024)) {
+                RowSource parser = format == ImportFormat.CSV
+                        ? new CsvRowSource(reader, request.getRowKeyColumn(), request.getFamily(), errors)
+                        : new NdjsonRowSource(reader, objectMapper, request.getRowKeyColumn(), request.getFamily(), errors);
+                RowSource source = () -> {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("导入已取消");
+                    }
+                    List<CellData> cells = parser.next();
+                    if (cells != null) {
+                        job.addRows(1);
+                    }
+                    return cells;
+                };
+                long submitted = hbaseMapper.importRows(request, source, errors::rowFailed);
+                long written = submitted - errors.getWriteFailureCount();
+                job.putResult("written", written);
+                log.info("表 {} 导入完成，写入行数：{}，错误数：{}，耗时：{} ms",
+                        request.getTable(), written, errors.getCount(), job.getElapsedMs());
+            } finally {
+                Files.deleteIfExists(upload);
+            }
+        });
+    }
+
+    private String getCurrentDataSourceId() {
+        String dataSourceId = DataSourceContext.getCurrentDataSourceId();
+        if (dataSourceId == null) {
+            throw new IllegalStateException("未设置当前数据源ID");
+        }
+        return dataSourceId;
+    }
+}
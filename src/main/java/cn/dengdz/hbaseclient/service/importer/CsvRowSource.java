@@ -0,0 +1,143 @@
+package cn.dengdz.hbaseclient.service.importer;
+
+import cn.dengdz.hbaseclient.mapper.RowSource;
+import cn.dengdz.hbaseclient.model.CellData;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 逐条读取带表头的 CSV（RFC 4180，允许引号内换行），每条记录转换为一行的单元格。
+ * 表头中的列名为 "列族:列" 或列名（使用默认列族），空值不写入。
+ */
+public class CsvRowSource implements RowSource {
+
+    private final BufferedReader reader;
+    private final ImportErrors errors;
+    private final int rowKeyIndex;
+    private final String[] families;
+    private final String[] qualifiers;
+    private long lineNumber;
+    private long recordLine;
+
+    public CsvRowSource(BufferedReader reader, String rowKeyColumn, String defaultFamily,
+                        ImportErrors errors) throws IOException {
+        this.reader = reader;
+        this.errors = errors;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IOException("CSV 文件为空");
+        }
+        // Excel 导出的 UTF-8 文件带 BOM
+        if (header.get(0).startsWith("\uFEFF")) {
+            header.set(0, header.get(0).substring(1));
+        }
+        rowKeyIndex = header.indexOf(rowKeyColumn);
+        if (rowKeyIndex < 0) {
+            throw new IOException("CSV 表头中缺少行键列: " + rowKeyColumn);
+        }
+        families = new String[header.size()];
+        qualifiers = new String[header.size()];
+        for (int i = 0; i < header.size(); i++) {
+            if (i == rowKeyIndex) {
+                continue;
+            }
+            String column = header.get(i);
+            int separator = column.indexOf(':');
+            if (separator > 0) {
+                families[i] = column.substring(0, separator);
+                qualifiers[i] = column.substring(separator + 1);
+            } else if (defaultFamily != null && !defaultFamily.isEmpty()) {
+                families[i] = defaultFamily;
+                qualifiers[i] = column;
+            } else {
+                throw new IOException("列 " + column + " 未指定列族，请使用 列族:列 形式或指定默认列族");
+            }
+        }
+    }
+
+    @Override
+    public List<CellData> next() throws IOException {
+        List<String> record;
+        while ((record = readRecord()) != null) {
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue;
+            }
+            if (record.size() != families.length) {
+                errors.lineFailed(recordLine, "字段数 " + record.size() + " 与表头字段数 " + families.length + " 不一致");
+                continue;
+            }
+            String rowKey = record.get(rowKeyIndex);
+            if (rowKey.isEmpty()) {
+                errors.lineFailed(recordLine, "行键为空");
+                continue;
+            }
+            List<CellData> cells = new ArrayList<>(record.size() - 1);
+            for (int i = 0; i < record.size(); i++) {
+                if (i != rowKeyIndex && !record.get(i).isEmpty()) {
+                    cells.add(new CellData(rowKey, families[i], qualifiers[i], record.get(i)));
+                }
+            }
+            if (cells.isEmpty()) {
+                errors.lineFailed(recordLine, "没有需要写入的列");
+                continue;
+            }
+            return cells;
+        }
+        return null;
+    }
+
+    private List<String> readRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineNumber++;
+        recordLine = lineNumber;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                // 引号内的换行属于字段内容，继续读下一行
+                line = reader.readLine();
+                if (line == null) {
+                    throw new IOException("第 " + recordLine + " 行的引号未闭合");
+                }
+                lineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"') {
+                    if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,65 @@
+package cn.dengdz.hbaseclient.service.importer;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 导入过程中的逐行错误。全部计数，只保留前若干条明细，避免错误过多时占满内存。
+ */
+public class ImportErrors {
+
+    private final int maxReported;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong writeFailureCount = new AtomicLong();
+    private final List<Map<String, Object>> details = new CopyOnWriteArrayList<>();
+
+    public ImportErrors(int maxReported) {
+        this.maxReported = maxReported;
+    }
+
+    /**
+     * 解析失败的行，按文件行号记录。
+     */
+    public void lineFailed(long line, String message) {
+        add(line, null, message);
+    }
+
+    /**
+     * 写入失败的行，BufferedMutator 只返回失败的变更，按 RowKey 记录。
+     */
+    public void rowFailed(String rowKey, String message) {
+        writeFailureCount.incrementAndGet();
+        add(null, rowKey, message);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getWriteFailureCount() {
+        return writeFailureCount.get();
+    }
+
+    public List<Map<String, Object>> getDetails() {
+        return Collections.unmodifiableList(details);
+    }
+
+    private void add(Long line, String rowKey, String message) {
+        if (count.incrementAndGet() > maxReported) {
+            return;
+        }
+        Map<String, Object> detail = new LinkedHashMap<>();
+        if (line != null) {
+            detail.put("line", line);
+        }
+        if (rowKey != null) {
+            detail.put("rowKey", rowKey);
+        }
+        detail.put("message", message);
+        details.add(detail);
+    }
+}
@@ -0,0 +1,22 @@
+package cn.dengdz.hbaseclient.service.importer;
+
+import java.util.Locale;
+
+/**
+ * 导入文件格式。未指定时按文件扩展名判断。
+ */
+public enum ImportFormat {
+    CSV, NDJSON;
+
+    public static ImportFormat of(String name, String fileName) {
+        if (name == null || name.isEmpty()) {
+            String lower = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+            return lower.endsWith(".json") || lower.endsWith(".ndjson") || lower.endsWith(".jsonl") ? NDJSON : CSV;
+        }
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("不支持的导入格式: " + name);
+        }
+    }
+}
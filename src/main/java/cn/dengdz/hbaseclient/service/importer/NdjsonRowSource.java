@@ -0,0 +1,117 @@
+package cn.dengdz.hbaseclient.service.importer;
+
+import cn.dengdz.hbaseclient.mapper.RowSource;
+import cn.dengdz.hbaseclient.model.CellData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 逐行读取 NDJSON，支持两种行格式：
+ * 与导出一致的 {"rowkey": ..., "data": {列族: {列: 值}}}，
+ * 以及扁平的 {"rowkey": ..., "列族:列": 值, "列": 值}，后者中的列名使用默认列族。
+ */
+public class NdjsonRowSource implements RowSource {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final String rowKeyField;
+    private final String defaultFamily;
+    private final ImportErrors errors;
+    private long lineNumber;
+
+    public NdjsonRowSource(BufferedReader reader, ObjectMapper objectMapper, String rowKeyField,
+                           String defaultFamily, ImportErrors errors) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+        this.rowKeyField = rowKeyField;
+        this.defaultFamily = defaultFamily;
+        this.errors = errors;
+    }
+
+    @Override
+    public List<CellData> next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                List<CellData> cells = parse(objectMapper.readTree(line));
+                if (cells.isEmpty()) {
+                    errors.lineFailed(lineNumber, "没有需要写入的列");
+                    continue;
+                }
+                return cells;
+            } catch (JsonProcessingException e) {
+                errors.lineFailed(lineNumber, "JSON 格式错误: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                errors.lineFailed(lineNumber, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private List<CellData> parse(JsonNode node) {
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("每行必须是 JSON 对象");
+        }
+        JsonNode rowKeyNode = node.get(rowKeyField);
+        if (rowKeyNode == null || !rowKeyNode.isValueNode() || rowKeyNode.asText().isEmpty()) {
+            throw new IllegalArgumentException("缺少行键字段: " + rowKeyField);
+        }
+        String rowKey = rowKeyNode.asText();
+
+        List<CellData> cells = new ArrayList<>();
+        JsonNode data = node.get("data");
+        if (data != null && data.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> families = data.fields();
+            while (families.hasNext()) {
+                Map.Entry<String, JsonNode> family = families.next();
+                Iterator<Map.Entry<String, JsonNode>> columns = family.getValue().fields();
+                while (columns.hasNext()) {
+                    Map.Entry<String, JsonNode> column = columns.next();
+                    addCell(cells, rowKey, family.getKey(), column.getKey(), column.getValue());
+                }
+            }
+            return cells;
+        }
+
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getKey().equals(rowKeyField)) {
+                continue;
+            }
+            int separator = field.getKey().indexOf(':');
+            if (separator > 0) {
+                addCell(cells, rowKey, field.getKey().substring(0, separator),
+                        field.getKey().substring(separator + 1), field.getValue());
+            } else if (defaultFamily != null && !defaultFamily.isEmpty()) {
+                addCell(cells, rowKey, defaultFamily, field.getKey(), field.getValue());
+            } else {
+                throw new IllegalArgumentException("字段 " + field.getKey() + " 未指定列族");
+            }
+        }
+        return cells;
+    }
+
+    private static void addCell(List<CellData> cells, String rowKey, String family, String qualifier, JsonNode value) {
+        // 导出的多版本列为 [{"timestamp", "value"}, ...]，按时间倒序，只导入最新版本
+        if (value.isArray() && value.size() > 0 && value.get(0).has("value")) {
+            value = value.get(0).get("value");
+        }
+        if (value == null || value.isNull()) {
+            return;
+        }
+        cells.add(new CellData(rowKey, family, qualifier, value.isValueNode() ? value.asText() : value.toString()));
+    }
+}
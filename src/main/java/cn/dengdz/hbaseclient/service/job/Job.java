@@ -0,0 +1,150 @@
+package cn.dengdz.hbaseclient.service.job;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 后台任务的状态与进度，直接序列化后返回给前端。
+ */
+public class Job {
+
+    public enum State {
+        PENDING, RUNNING, SUCCEEDED, FAILED, CANCELLED
+    }
+
+    private final String id;
+    private final String type;
+    private final String dataSourceId;
+    private final String table;
+    private final long createTime = System.currentTimeMillis();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final Map<String, Object> result = new ConcurrentHashMap<>();
+    private volatile State state = State.PENDING;
+    private volatile long startTime;
+    private volatile long endTime;
+    private volatile String error;
+    private volatile Future<?> future;
+
+    public Job(String id, String type, String dataSourceId, String table) {
+        this.id = id;
+        this.type = type;
+        this.dataSourceId = dataSourceId;
+        this.table = table;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getDataSourceId() {
+        return dataSourceId;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getEndTime() {
+        return endTime;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getRows() {
+        return rows.get();
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    public Map<String, Object> getResult() {
+        return result;
+    }
+
+    public long getElapsedMs() {
+        if (startTime == 0) {
+            return 0;
+        }
+        return (endTime > 0 ? endTime : System.currentTimeMillis()) - startTime;
+    }
+
+    public double getRowsPerSecond() {
+        long elapsed = getElapsedMs();
+        return elapsed == 0 ? 0 : rows.get() * 1000.0 / elapsed;
+    }
+
+    public double getBytesPerSecond() {
+        long elapsed = getElapsedMs();
+        return elapsed == 0 ? 0 : bytes.get() * 1000.0 / elapsed;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return state == State.SUCCEEDED || state == State.FAILED || state == State.CANCELLED;
+    }
+
+    public void addRows(long delta) {
+        rows.addAndGet(delta);
+    }
+
+    public void addBytes(long delta) {
+        bytes.addAndGet(delta);
+    }
+
+    public void putResult(String key, Object value) {
+        result.put(key, value);
+    }
+
+    void started(Future<?> future) {
+        this.future = future;
+    }
+
+    void running() {
+        this.startTime = System.currentTimeMillis();
+        this.state = State.RUNNING;
+    }
+
+    void finish(State state, String error) {
+        this.endTime = System.currentTimeMillis();
+        this.error = error;
+        this.state = state;
+    }
+
+    boolean cancel() {
+        if (isFinished()) {
+            return false;
+        }
+        Future<?> current = future;
+        if (current != null) {
+            current.cancel(true);
+        }
+        if (state == State.PENDING) {
+            finish(State.CANCELLED, null);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,121 @@
+package cn.dengdz.hbaseclient.service.job;
+
+import cn.dengdz.hbaseclient.util.DataSourceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 在独立线程池中执行计数、导入导出等长时间任务，提供进度查询和取消。
+ */
+@Component
+public class JobManager {
+
+    private static final Logger log = LoggerFactory.getLogger(JobManager.class);
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final long retentionMs;
+
+    public JobManager(@Value("${hbase-client.job.max-concurrent:4}") int maxConcurrent,
+                      @Value("${hbase-client.job.retention-ms:3600000}") long retentionMs) {
+        this.retentionMs = retentionMs;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrent, r -> {
+            Thread thread = new Thread(r, "hbase-job-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 提交任务，任务线程中会设置好对应的数据源上下文。
+     */
+    public Job submit(String type, String dataSourceId, String table, JobTask task) {
+        Job job = new Job(UUID.randomUUID().toString(), type, dataSourceId, table);
+        jobs.put(job.getId(), job);
+        job.started(executor.submit(() -> run(job, task)));
+        return job;
+    }
+
+    /**
+     * 在调用线程中执行任务并登记进度，用于流式下载等必须在请求线程中完成的任务，返回时任务已结束。
+     */
+    public Job execute(String type, String dataSourceId, String table, JobTask task) {
+        Job job = new Job(UUID.randomUUID().toString(), type, dataSourceId, table);
+        jobs.put(job.getId(), job);
+        FutureTask<Void> future = new FutureTask<>(() -> run(job, task), null);
+        job.started(future);
+        future.run();
+        // 取消时中断的是调用线程，清除中断标记以免影响容器线程的后续使用
+        Thread.interrupted();
+        return job;
+    }
+
+    public Job get(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    public List<Job> list() {
+        List<Job> result = new ArrayList<>(jobs.values());
+        result.sort(Comparator.comparingLong(Job::getCreateTime).reversed());
+        return result;
+    }
+
+    public boolean cancel(String jobId) {
+        Job job = jobs.get(jobId);
+        return job != null && job.cancel();
+    }
+
+    private void run(Job job, JobTask task) {
+        if (job.isFinished()) {
+            return;
+        }
+        job.running();
+        DataSourceContext.setCurrentDataSourceId(job.getDataSourceId());
+        try {
+            task.run(job);
+            job.finish(Thread.currentThread().isInterrupted() ? Job.State.CANCELLED : Job.State.SUCCEEDED, null);
+        } catch (InterruptedException | InterruptedIOException e) {
+            job.finish(Job.State.CANCELLED, null);
+        } catch (Exception e) {
+            if (Thread.currentThread().isInterrupted()) {
+                job.finish(Job.State.CANCELLED, null);
+            } else {
+                log.error("任务 {}({}) 执行失败：{}", job.getId(), job.getType(), e.getMessage());
+                job.finish(Job.State.FAILED, e.getMessage());
+            }
+        } finally {
+            DataSourceContext.clear();
+            log.info("任务 {}({}) 结束，状态：{}，处理行数：{}，耗时：{} ms",
+                    job.getId(), job.getType(), job.getState(), job.getRows(), job.getElapsedMs());
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void purgeFinished() {
+        long now = System.currentTimeMillis();
+        jobs.values().removeIf(job -> job.isFinished() && now - job.getEndTime() > retentionMs);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(Job::cancel);
+        executor.shutdownNow();
+    }
+}
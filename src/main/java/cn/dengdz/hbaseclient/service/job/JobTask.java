@@ -0,0 +1,6 @@
+package cn.dengdz.hbaseclient.service.job;
+
+@FunctionalInterface
+public interface JobTask {
+    void run(Job job) throws Exception;
+}
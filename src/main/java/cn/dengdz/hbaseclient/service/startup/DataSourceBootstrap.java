@@ -0,0 +1,152 @@
+package cn.dengdz.hbaseclient.service.startup;
+
+import cn.dengdz.hbaseclient.config.DataSourceStore;
+import cn.dengdz.hbaseclient.mapper.HBaseMapper;
+import cn.dengdz.hbaseclient.model.DataSourceDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 启动时并行重连已保存的数据源，并预取最近访问的表的 Region 位置。
+ * 在 Web 服务器开始监听之前执行，部署后的首个请求不再承担建连和查询 hbase:meta 的开销；
+ * 超过 timeout-ms 仍未完成时不再等待，剩余的在后台继续。
+ */
+@Component
+public class DataSourceBootstrap implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceBootstrap.class);
+
+    @Autowired
+    private DataSourceStore dataSourceStore;
+
+    @Autowired
+    private HBaseMapper hbaseMapper;
+
+    @Value("${hbase-client.startup.reconnect:true}")
+    private boolean reconnectOnStartup;
+
+    @Value("${hbase-client.startup.parallelism:4}")
+    private int parallelism;
+
+    @Value("${hbase-client.startup.timeout-ms:30000}")
+    private long timeoutMs;
+
+    private ExecutorService executor;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "hbase-bootstrap-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+
+        List<DataSourceDefinition> definitions = dataSourceStore.list();
+        for (DataSourceDefinition definition : definitions) {
+            if (definition.getPolicy() != null) {
+                try {
+                    hbaseMapper.restoreClientPolicy(definition.getId(), definition.getPolicy());
+                } catch (Exception e) {
+                    log.warn("恢复数据源 {} 的客户端策略失败：{}", definition.getId(), e.getMessage());
+                }
+            }
+        }
+        if (!reconnectOnStartup || definitions.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (DataSourceDefinition definition : definitions) {
+            if (definition.getZkQuorum() != null) {
+                futures.add(CompletableFuture.runAsync(() -> restore(definition), executor));
+            }
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(timeoutMs, TimeUnit.MILLISECONDS);
+            log.info("已恢复 {} 个数据源的连接，耗时 {} ms", futures.size(), System.currentTimeMillis() - start);
+        } catch (TimeoutException e) {
+            log.warn("恢复数据源连接超过 {} ms，剩余的在后台继续", timeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("恢复数据源连接失败：{}", e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * 在后台预取数据源最近访问的表，重连后调用。
+     */
+    public void prefetchAsync(String dataSourceId) {
+        if (!running) {
+            return;
+        }
+        for (DataSourceDefinition definition : dataSourceStore.list()) {
+            if (definition.getId().equals(dataSourceId)) {
+                executor.execute(() -> prefetch(definition));
+            }
+        }
+    }
+
+    private void restore(DataSourceDefinition definition) {
+        try {
+            if (!hbaseMapper.checkConfigExists(definition.getId())) {
+                return;
+            }
+            hbaseMapper.reconnect(definition.getId(), definition.getZkQuorum());
+        } catch (Exception e) {
+            log.warn("重连数据源 {} 失败：{}", definition.getId(), e.getMessage());
+            return;
+        }
+        prefetch(definition);
+    }
+
+    private void prefetch(DataSourceDefinition definition) {
+        long start = System.currentTimeMillis();
+        try {
+            hbaseMapper.prefetch(definition.getId(), definition.getRecentTables());
+            log.info("数据源 {} 已预取 {} 张表的 Region 位置，耗时 {} ms", definition.getId(),
+                    definition.getRecentTables().size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("预取数据源 {} 的 Region 位置失败：{}", definition.getId(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 早于 Web 服务器（Integer.MAX_VALUE - 1）启动。
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
@@ -0,0 +1,242 @@
+package cn.dengdz.hbaseclient.service.tail;
+
+import cn.dengdz.hbaseclient.mapper.HBaseMapper;
+import cn.dengdz.hbaseclient.model.HBaseData;
+import cn.dengdz.hbaseclient.model.ScanRequest;
+import cn.dengdz.hbaseclient.model.ValueEncoding;
+import cn.dengdz.hbaseclient.util.DataSourceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 实时跟踪表的新写入，通过 SSE 推送给订阅者。
+ * 每张表只有一个轮询任务，所有订阅者共用：每次按 Region 并行扫描时间戳落在 [上次水位, 当前时间 - lag) 内的单元格，
+ * 只推送新增或修改的单元格。lag 用于等待时间戳已分配但尚未可见的写入；客户端自行指定了较早时间戳的写入不会被推送。
+ */
+@Component
+public class TailManager {
+
+    private static final Logger log = LoggerFactory.getLogger(TailManager.class);
+
+    private final HBaseMapper hbaseMapper;
+    private final ScheduledExecutorService scheduler;
+    private final Map<String, TablePoller> pollers = new ConcurrentHashMap<>();
+
+    @Value("${hbase-client.tail.interval-ms:1000}")
+    private long intervalMs;
+
+    @Value("${hbase-client.tail.lag-ms:2000}")
+    private long lagMs;
+
+    @Value("${hbase-client.tail.max-rows-per-poll:1000}")
+    private int maxRowsPerPoll;
+
+    @Value("${hbase-client.tail.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${hbase-client.tail.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+
+    @Autowired
+    public TailManager(HBaseMapper hbaseMapper, @Value("${hbase-client.tail.threads:2}") int threads) {
+        this.hbaseMapper = hbaseMapper;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "hbase-tail-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 订阅表的新写入，第一个订阅者创建轮询任务，最后一个订阅者断开后停止轮询。
+     */
+    public SseEmitter subscribe(String dataSourceId, String table, ValueEncoding encoding) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, encoding);
+        String key = dataSourceId + "/" + table;
+        pollers.compute(key, (k, poller) -> {
+            if (poller == null) {
+                poller = new TablePoller(key, dataSourceId, table);
+                poller.start();
+            }
+            poller.subscribers.add(subscriber);
+            return poller;
+        });
+        Runnable remove = () -> unsubscribe(key, subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    /**
+     * 当前轮询中的表及订阅者数量。
+     */
+    public List<Map<String, Object>> list() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (TablePoller poller : pollers.values()) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("datasource", poller.dataSourceId);
+            item.put("table", poller.table);
+            item.put("subscribers", poller.subscribers.size());
+            item.put("watermark", poller.watermark);
+            result.add(item);
+        }
+        return result;
+    }
+
+    private void unsubscribe(String key, Subscriber subscriber) {
+        pollers.computeIfPresent(key, (k, poller) -> {
+            poller.subscribers.remove(subscriber);
+            if (poller.subscribers.isEmpty()) {
+                poller.stop();
+                return null;
+            }
+            return poller;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (TablePoller poller : pollers.values()) {
+            poller.stop();
+            for (Subscriber subscriber : poller.subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        pollers.clear();
+        scheduler.shutdownNow();
+    }
+
+    private final class TablePoller {
+        private final String key;
+        private final String dataSourceId;
+        private final String table;
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        // 已推送到的时间戳（不含），只推送之后写入的单元格
+        private volatile long watermark = System.currentTimeMillis() - lagMs;
+        private long lastSentAt = System.currentTimeMillis();
+        private ScheduledFuture<?> future;
+
+        TablePoller(String key, String dataSourceId, String table) {
+            this.key = key;
+            this.dataSourceId = dataSourceId;
+            this.table = table;
+        }
+
+        void start() {
+            log.info("开始跟踪表 {}", key);
+            future = scheduler.scheduleWithFixedDelay(this::poll, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+        }
+
+        void stop() {
+            log.info("停止跟踪表 {}", key);
+            future.cancel(false);
+        }
+
+        private void poll() {
+            long upper = System.currentTimeMillis() - lagMs;
+            if (upper <= watermark) {
+                return;
+            }
+            ScanRequest request = new ScanRequest();
+            request.setMinTimestamp(watermark);
+            request.setMaxTimestamp(upper);
+            request.setParallel(true);
+            request.setOrdered(false);
+            request.setLimit(maxRowsPerPoll);
+            // 每次都是全表范围的扫描，不应冲掉在线业务的热点数据；时间范围之外的 HFile 会被直接跳过
+            request.setCacheBlocks(false);
+
+            List<HBaseData> rows = new ArrayList<>();
+            DataSourceContext.setCurrentDataSourceId(dataSourceId);
+            try {
+                hbaseMapper.scanRows(table, request, rows::add);
+            } catch (Exception e) {
+                // 不推进水位，下次轮询重试同一时间段
+                log.warn("跟踪表 {} 失败：{}", key, e.getMessage());
+                broadcast("error", encoding -> Collections.singletonMap("error", e.getMessage()));
+                return;
+            } finally {
+                DataSourceContext.clear();
+            }
+
+            long from = watermark;
+            watermark = upper;
+            for (HBaseData row : rows) {
+                broadcast("row", encoding -> {
+                    Map<String, Object> event = new LinkedHashMap<>();
+                    event.put("rowkey", row.getRowKey());
+                    event.put("data", row.withEncoding(encoding));
+                    return event;
+                });
+            }
+            if (rows.size() >= maxRowsPerPoll) {
+                // 超出部分不再补发，通知客户端重新加载
+                Map<String, Object> overflow = new LinkedHashMap<>();
+                overflow.put("from", from);
+                overflow.put("to", upper);
+                overflow.put("limit", maxRowsPerPoll);
+                broadcast("overflow", encoding -> overflow);
+            }
+            long now = System.currentTimeMillis();
+            if (!rows.isEmpty()) {
+                lastSentAt = now;
+            } else if (now - lastSentAt >= heartbeatMs) {
+                // 定期发送水位，及时发现已断开的连接
+                lastSentAt = now;
+                broadcast("watermark", encoding -> Collections.singletonMap("watermark", upper));
+            }
+        }
+
+        private void broadcast(String name, EventBody body) {
+            for (Subscriber subscriber : subscribers) {
+                try {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name(name)
+                            .data(body.build(subscriber.encoding), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    // 连接已断开
+                    subscriber.emitter.completeWithError(e);
+                    unsubscribe(key, subscriber);
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface EventBody {
+        Object build(ValueEncoding encoding);
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final ValueEncoding encoding;
+
+        Subscriber(SseEmitter emitter, ValueEncoding encoding) {
+            this.emitter = emitter;
+            this.encoding = encoding;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package cn.dengdz.hbaseclient.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌桶限流，按每秒许可数匀速补充，最多积攒一秒的许可。
+ * 申请时先预支许可再在锁外等待，多个线程按申请顺序依次放行。
+ */
+public class TokenBucket {
+
+    private final double permitsPerSecond;
+    private double available;
+    private long lastRefillNanos = System.nanoTime();
+
+    /**
+     * @param permitsPerSecond 每秒许可数，小于等于 0 表示不限流
+     */
+    public TokenBucket(double permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+        this.available = permitsPerSecond;
+    }
+
+    public void acquire(int permits) throws InterruptedException {
+        if (permitsPerSecond <= 0) {
+            return;
+        }
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            available = Math.min(permitsPerSecond,
+                    available + (now - lastRefillNanos) * permitsPerSecond / TimeUnit.SECONDS.toNanos(1));
+            lastRefillNanos = now;
+            available -= permits;
+            waitNanos = available >= 0 ? 0 : (long) (-available / permitsPerSecond * TimeUnit.SECONDS.toNanos(1));
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
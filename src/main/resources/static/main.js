@@ -263,6 +263,7 @@ document.addEventListener('DOMContentLoaded', function() {
             }
 
             const data = await response.json();
+            stopTail();
             activeDataSource = dataSource;
             renderDataSources();
             
@@ -282,77 +283,83 @@ document.addEventListener('DOMContentLoaded', function() {
         }
     }
 
+    // 创建 RowKey 列表项
+    function createRowKeyItem(tableName, rowkey) {
+        const rowkeyList = document.getElementById('rowkeyList');
+        const item = document.createElement('div');
+        item.className = 'rowkey-item';
+        item.innerHTML = `
+            <div class="rowkey-content">
+                <i class="mdi mdi-key-variant"></i>
+                <span data-rowkey="${rowkey}">${rowkey}</span>
+            </div>
+            <div class="rowkey-actions">
+                <button class="icon-button delete-btn" title="删除">
+                    <i class="mdi mdi-delete-outline"></i>
+                </button>
+            </div>
+        `;
+
+        // 添加悬停显示功能
+        const rowkeySpan = item.querySelector('.rowkey-content span');
+        rowkeySpan.addEventListener('mouseenter', (e) => {
+            if (e.target.offsetWidth < e.target.scrollWidth) {
+                const tooltip = document.createElement('div');
+                tooltip.className = 'rowkey-tooltip';
+                tooltip.textContent = rowkey;
+                document.body.appendChild(tooltip);
+                
+                const updateTooltipPosition = (event) => {
+                    tooltip.style.left = `${event.pageX + 10}px`;
+                    tooltip.style.top = `${event.pageY + 10}px`;
+                };
+                
+                updateTooltipPosition(e);
+                // 强制重绘
+                tooltip.offsetHeight;
+                tooltip.classList.add('show');
+                
+                rowkeySpan.addEventListener('mousemove', updateTooltipPosition);
+                
+                rowkeySpan.addEventListener('mouseleave', () => {
+                    tooltip.remove();
+                    rowkeySpan.removeEventListener('mousemove', updateTooltipPosition);
+                });
+            }
+        });
+
+        // 点击 RowKey 加载数据
+        item.querySelector('.rowkey-content').addEventListener('click', () => {
+            // 移除其他项的活动状态
+            rowkeyList.querySelectorAll('.rowkey-item').forEach(i => i.classList.remove('active'));
+            item.classList.add('active');
+            loadRowData(tableName, rowkey);
+        });
+
+        // 点击删除按钮
+        item.querySelector('.delete-btn').addEventListener('click', (e) => {
+            e.stopPropagation(); // 阻止事件冒泡
+            if (confirm(`确定要删除 RowKey "${rowkey}" 吗？`)) {
+                deleteRowKey(tableName, rowkey);
+            }
+        });
+
+        return item;
+    }
+
     // 加载 RowKey 列表
     async function loadRowKeys(tableName, searchKey = '') {
         try {
-            const response = await fetch(`/api/datasource/${activeDataSource.id}/list-rows?table=${encodeURIComponent(tableName)}${searchKey ? '&rowkey=' + encodeURIComponent(searchKey) : ''}`);
-            if (!response.ok) {
+            const { ok, data } = await fetchData(`/api/datasource/${activeDataSource.id}/list-rows?table=${encodeURIComponent(tableName)}${searchKey ? '&rowkey=' + encodeURIComponent(searchKey) : ''}`);
+            if (!ok) {
                 throw new Error('加载RowKey列表失败');
             }
 
-            const data = await response.json();
             const rowkeyList = document.getElementById('rowkeyList');
             rowkeyList.innerHTML = '';
 
             data.rowkeys.forEach((rowkey, index) => {
-                const item = document.createElement('div');
-                item.className = 'rowkey-item';
-                item.innerHTML = `
-                    <div class="rowkey-content">
-                        <i class="mdi mdi-key-variant"></i>
-                        <span data-rowkey="${rowkey}">${rowkey}</span>
-                    </div>
-                    <div class="rowkey-actions">
-                        <button class="icon-button delete-btn" title="删除">
-                            <i class="mdi mdi-delete-outline"></i>
-                        </button>
-                    </div>
-                `;
-
-                // 添加悬停显示功能
-                const rowkeySpan = item.querySelector('.rowkey-content span');
-                rowkeySpan.addEventListener('mouseenter', (e) => {
-                    if (e.target.offsetWidth < e.target.scrollWidth) {
-                        const tooltip = document.createElement('div');
-                        tooltip.className = 'rowkey-tooltip';
-                        tooltip.textContent = rowkey;
-                        document.body.appendChild(tooltip);
-                        
-                        const updateTooltipPosition = (event) => {
-                            tooltip.style.left = `${event.pageX + 10}px`;
-                            tooltip.style.top = `${event.pageY + 10}px`;
-                        };
-                        
-                        updateTooltipPosition(e);
-                        // 强制重绘
-                        tooltip.offsetHeight;
-                        tooltip.classList.add('show');
-                        
-                        rowkeySpan.addEventListener('mousemove', updateTooltipPosition);
-                        
-                        rowkeySpan.addEventListener('mouseleave', () => {
-                            tooltip.remove();
-                            rowkeySpan.removeEventListener('mousemove', updateTooltipPosition);
-                        });
-                    }
-                });
-
-                // 点击 RowKey 加载数据
-                item.querySelector('.rowkey-content').addEventListener('click', () => {
-                    // 移除其他项的活动状态
-                    rowkeyList.querySelectorAll('.rowkey-item').forEach(i => i.classList.remove('active'));
-                    item.classList.add('active');
-                    loadRowData(tableName, rowkey);
-                });
-
-                // 点击删除按钮
-                item.querySelector('.delete-btn').addEventListener('click', (e) => {
-                    e.stopPropagation(); // 阻止事件冒泡
-                    if (confirm(`确定要删除 RowKey "${rowkey}" 吗？`)) {
-                        deleteRowKey(tableName, rowkey);
-                    }
-                });
-
+                const item = createRowKeyItem(tableName, rowkey);
                 rowkeyList.appendChild(item);
                 
                 // 添加延迟动画效果
@@ -403,12 +410,11 @@ document.addEventListener('DOMContentLoaded', function() {
             // 更新选中的 rowkey 显示
             document.getElementById('selectedRowkey').textContent = rowkey;
 
-            const response = await fetch(`/api/datasource/${activeDataSource.id}/query?table=${encodeURIComponent(tableName)}&rowkey=${encodeURIComponent(rowkey)}`);
-            if (!response.ok) {
+            const { ok, data } = await fetchData(`/api/datasource/${activeDataSource.id}/query?table=${encodeURIComponent(tableName)}&rowkey=${encodeURIComponent(rowkey)}`);
+            if (!ok) {
                 throw new Error('加载数据失败');
             }
 
-            const data = await response.json();
             const dataDetail = document.getElementById('dataDetail');
             dataDetail.innerHTML = '';
 
@@ -550,9 +556,63 @@ document.addEventListener('DOMContentLoaded', function() {
         }
     }
 
+    // 实时跟踪：订阅表的新写入，新增或修改的行移到列表顶部，不必反复刷新
+    const tailToggleBtn = document.getElementById('tailToggleBtn');
+    let tailSource = null;
+
+    function stopTail() {
+        if (tailSource) {
+            tailSource.close();
+            tailSource = null;
+        }
+        tailToggleBtn.classList.remove('active');
+    }
+
+    function startTail(tableName) {
+        stopTail();
+        tailSource = new EventSource(`/api/datasource/${activeDataSource.id}/tail?table=${encodeURIComponent(tableName)}`);
+        tailToggleBtn.classList.add('active');
+
+        tailSource.addEventListener('row', (e) => {
+            const { rowkey } = JSON.parse(e.data);
+            const rowkeyList = document.getElementById('rowkeyList');
+            const existing = Array.from(rowkeyList.querySelectorAll('.rowkey-content span'))
+                .find(span => span.dataset.rowkey === rowkey);
+            const wasActive = existing && existing.closest('.rowkey-item').classList.contains('active');
+            if (existing) {
+                existing.closest('.rowkey-item').remove();
+            }
+            const item = createRowKeyItem(tableName, rowkey);
+            item.classList.add('show', 'updated');
+            rowkeyList.prepend(item);
+            if (wasActive) {
+                item.classList.add('active');
+                loadRowData(tableName, rowkey);
+            }
+        });
+        // 单次轮询的新行超过上限，重新加载列表
+        tailSource.addEventListener('overflow', () => loadRowKeys(tableName));
+        // 服务端的 error 事件带有数据；连接断开时浏览器会自动重连
+        tailSource.addEventListener('error', (e) => {
+            if (e.data) {
+                showMessage('实时跟踪失败: ' + JSON.parse(e.data).error, 'error');
+            }
+        });
+    }
+
+    tailToggleBtn.addEventListener('click', () => {
+        const tableName = document.getElementById('tableSelect').value;
+        if (tailSource) {
+            stopTail();
+        } else if (tableName) {
+            startTail(tableName);
+        }
+    });
+
     // 修改表选择事件
     document.getElementById('tableSelect').addEventListener('change', () => {
         const tableSelect = document.getElementById('tableSelect');
+        stopTail();
         if (tableSelect.value) {
             // 清空搜索框
             document.getElementById('rowkeySearch').value = '';
@@ -837,4 +897,90 @@ function showMessage(message, type = 'info') {
             document.body.removeChild(messageDiv);
         }, 300);
     }, 3000);
-} 
\ No newline at end of file
+} 
+// 数据接口优先请求 MessagePack，体积比 JSON 小、解析更快；服务端不支持时仍按 JSON 解析
+const MSGPACK_ACCEPT = 'application/x-msgpack, application/json;q=0.9';
+
+async function fetchData(url, options = {}) {
+    const headers = Object.assign({ 'Accept': MSGPACK_ACCEPT }, options.headers || {});
+    const response = await fetch(url, Object.assign({}, options, { headers }));
+    const contentType = response.headers.get('Content-Type') || '';
+    const data = contentType.includes('msgpack')
+        ? decodeMsgPack(new Uint8Array(await response.arrayBuffer()))
+        : await response.json();
+    return { ok: response.ok, status: response.status, data };
+}
+
+// 解码单个 MessagePack 值，不支持扩展类型；bin 类型（base64 编码查询时的单元格值）解码为 Uint8Array
+function decodeMsgPack(bytes) {
+    const view = new DataView(bytes.buffer, bytes.byteOffset, bytes.byteLength);
+    const textDecoder = new TextDecoder();
+    let pos = 0;
+
+    function str(length) {
+        const value = textDecoder.decode(bytes.subarray(pos, pos + length));
+        pos += length;
+        return value;
+    }
+
+    function bin(length) {
+        const value = bytes.slice(pos, pos + length);
+        pos += length;
+        return value;
+    }
+
+    function array(length) {
+        const value = new Array(length);
+        for (let i = 0; i < length; i++) {
+            value[i] = read();
+        }
+        return value;
+    }
+
+    function map(length) {
+        const value = {};
+        for (let i = 0; i < length; i++) {
+            const key = read();
+            value[key] = read();
+        }
+        return value;
+    }
+
+    function read() {
+        const type = bytes[pos++];
+        if (type <= 0x7f) return type;
+        if (type <= 0x8f) return map(type & 0x0f);
+        if (type <= 0x9f) return array(type & 0x0f);
+        if (type <= 0xbf) return str(type & 0x1f);
+        if (type >= 0xe0) return type - 0x100;
+        let value;
+        switch (type) {
+            case 0xc0: return null;
+            case 0xc2: return false;
+            case 0xc3: return true;
+            case 0xc4: value = view.getUint8(pos); pos += 1; return bin(value);
+            case 0xc5: value = view.getUint16(pos); pos += 2; return bin(value);
+            case 0xc6: value = view.getUint32(pos); pos += 4; return bin(value);
+            case 0xca: value = view.getFloat32(pos); pos += 4; return value;
+            case 0xcb: value = view.getFloat64(pos); pos += 8; return value;
+            case 0xcc: value = view.getUint8(pos); pos += 1; return value;
+            case 0xcd: value = view.getUint16(pos); pos += 2; return value;
+            case 0xce: value = view.getUint32(pos); pos += 4; return value;
+            case 0xcf: value = Number(view.getBigUint64(pos)); pos += 8; return value;
+            case 0xd0: value = view.getInt8(pos); pos += 1; return value;
+            case 0xd1: value = view.getInt16(pos); pos += 2; return value;
+            case 0xd2: value = view.getInt32(pos); pos += 4; return value;
+            case 0xd3: value = Number(view.getBigInt64(pos)); pos += 8; return value;
+            case 0xd9: value = view.getUint8(pos); pos += 1; return str(value);
+            case 0xda: value = view.getUint16(pos); pos += 2; return str(value);
+            case 0xdb: value = view.getUint32(pos); pos += 4; return str(value);
+            case 0xdc: value = view.getUint16(pos); pos += 2; return array(value);
+            case 0xdd: value = view.getUint32(pos); pos += 4; return array(value);
+            case 0xde: value = view.getUint16(pos); pos += 2; return map(value);
+            case 0xdf: value = view.getUint32(pos); pos += 4; return map(value);
+            default: throw new Error('不支持的 MessagePack 类型: 0x' + type.toString(16));
+        }
+    }
+
+    return read();
+}